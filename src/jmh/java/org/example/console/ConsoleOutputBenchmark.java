@@ -0,0 +1,76 @@
+package org.example.console;
+
+import org.example.core.GameListener;
+import org.example.core.Player;
+import org.example.core.SquaresGame;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+// Партия компьютера против компьютера с разным выводом: прежняя печать по клеткам,
+// буферизованный ConsoleRenderer и партия без слушателей. Вывод уходит в пустой поток,
+// так что измеряется форматирование и блокировки PrintStream, а не сам терминал
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConsoleOutputBenchmark {
+    @Param({"10", "20", "50"})
+    int size;
+
+    @Param({"unbuffered", "buffered", "headless"})
+    String output;
+
+    private PrintStream originalOut;
+    private long seed;
+
+    @Setup
+    public void setUp() {
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream(), true));
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public boolean compVsComp() {
+        SquaresGame game = new SquaresGame(seed++);
+        ConsoleRenderer renderer = null;
+        switch (output) {
+            case "unbuffered" -> game.addListener(new UnbufferedPrinter());
+            case "buffered" -> game.addListener(renderer = new ConsoleRenderer());
+            default -> {
+            }
+        }
+        game.startNewGame(size, new Player("comp", 'W'), new Player("comp", 'B'));
+        if (renderer != null) renderer.flush();
+        return game.isGameStarted();
+    }
+
+    // Вывод в том виде, в каком ядро печатало его до появления слушателей
+    private static final class UnbufferedPrinter implements GameListener {
+        @Override
+        public void gameStarted(SquaresGame game) {
+            System.out.println("New game started");
+        }
+
+        @Override
+        public void movePlaced(SquaresGame game, char color, int x, int y) {
+            System.out.printf("%c (%d, %d)%n", color, x, y);
+            game.getBoard().printBoard();
+        }
+
+        @Override
+        public void gameWon(SquaresGame game, char color, int[][] square) {
+            for (int[] cell : square) System.out.print("(" + cell[0] + "," + cell[1] + ") ");
+            System.out.println();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.core;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Отдельные этапы каскада эвристик на фиксированных позициях
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AiStageBenchmark {
+    @Param({"3", "10", "20", "50"})
+    int size;
+
+    @Param({"0.1", "0.3", "0.6"})
+    double fill;
+
+    private SquaresGame[] games;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        games = BenchmarkPositions.games(size, fill);
+    }
+
+    private SquaresGame nextGame() {
+        return games[next++ & (BenchmarkPositions.CORPUS_SIZE - 1)];
+    }
+
+    @Benchmark
+    public int immediateWin() {
+        SquaresGame game = nextGame();
+        return game.findWinningCell(game.getCurrentPlayer().getColor());
+    }
+
+    @Benchmark
+    public int doubleThreat() {
+        SquaresGame game = nextGame();
+        return game.findDoubleThreatCell(game.getCurrentPlayer().getColor());
+    }
+
+    @Benchmark
+    public int strategicMove() {
+        SquaresGame game = nextGame();
+        return game.findStrategicMove(game.getCurrentPlayer().getColor(), game.getOpponentColor());
+    }
+
+    @Benchmark
+    public int weightedRandomMove() {
+        return nextGame().findWeightedRandomMove();
+    }
+
+    @Benchmark
+    public int findNextMove() {
+        return nextGame().findNextMoveCell();
+    }
+}
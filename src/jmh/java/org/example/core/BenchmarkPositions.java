@@ -0,0 +1,84 @@
+package org.example.core;
+
+import java.util.Random;
+
+// Фиксированные наборы позиций для бенчмарков. Позиции строятся из постоянных зёрен,
+// поэтому результаты сравнимы между коммитами. Фишки ставятся поочерёдно, ходы,
+// замыкающие квадрат, пропускаются — каждая позиция остаётся незавершённой
+public final class BenchmarkPositions {
+    public static final int CORPUS_SIZE = 16;
+
+    private BenchmarkPositions() {
+    }
+
+    // Строки доски в формате loadBoard; очередь хода — за белыми при равном числе фишек
+    public static String[] corpus(int size, double fill) {
+        String[] positions = new String[CORPUS_SIZE];
+        for (int i = 0; i < CORPUS_SIZE; i++) {
+            positions[i] = generate(size, fill, size * 1_000_003L + Math.round(fill * 1000) * 31 + i);
+        }
+        return positions;
+    }
+
+    public static char nextPlayer(String data) {
+        int white = 0, black = 0;
+        for (int i = 0; i < data.length(); i++) {
+            if (data.charAt(i) == 'W') white++;
+            else if (data.charAt(i) == 'B') black++;
+        }
+        return white == black ? 'W' : 'B';
+    }
+
+    public static SquaresGame[] games(int size, double fill) {
+        return games(size, corpus(size, fill));
+    }
+
+    public static SquaresGame[] games(int size, String[] positions) {
+        SquaresGame[] games = new SquaresGame[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            games[i] = new SquaresGame(i);
+            games[i].loadBoard(size, positions[i], nextPlayer(positions[i]));
+        }
+        return games;
+    }
+
+    static String generate(int size, double fill, long seed) {
+        Random random = new Random(seed);
+        int cells = size * size;
+        int[] order = new int[cells];
+        for (int i = 0; i < cells; i++) order[i] = i;
+        for (int i = cells - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = order[i];
+            order[i] = order[j];
+            order[j] = t;
+        }
+
+        // Для досок без геометрии квадратов (слишком большие) проверка квадратов пропускается
+        Board board = Board.create(size);
+        SquareIndex index = SquareGeometry.isSupported(size) ? new SquareIndex(board) : null;
+        int target = (int) Math.round(cells * fill);
+        int placed = 0;
+        char color = 'W';
+        for (int i = 0; i < cells && placed < target; i++) {
+            int x = order[i] / size, y = order[i] % size;
+            if (index == null) {
+                board.setCellUnchecked(x, y, color);
+            } else {
+                index.set(x, y, color);
+                if (index.hasSquare(color)) {
+                    index.set(x, y, '.');
+                    continue;
+                }
+            }
+            placed++;
+            color = color == 'W' ? 'B' : 'W';
+        }
+
+        StringBuilder data = new StringBuilder(cells);
+        for (int x = 0; x < size; x++)
+            for (int y = 0; y < size; y++)
+                data.append(board.getCellUnchecked(x, y));
+        return data.toString();
+    }
+}
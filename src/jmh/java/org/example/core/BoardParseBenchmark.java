@@ -0,0 +1,60 @@
+package org.example.core;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Разбор текстовой доски из запроса: прежний путь replaceAll + loadBoard против однопроходного parseText.
+// Данные разбиты на строки переводами строк, как их присылают клиенты
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardParseBenchmark {
+    @Param({"10", "100"})
+    int size;
+
+    private String data;
+
+    @Setup
+    public void setUp() {
+        String position = BenchmarkPositions.generate(size, 0.3, size);
+        StringBuilder text = new StringBuilder();
+        for (int x = 0; x < size; x++) text.append(position, x * size, (x + 1) * size).append('\n');
+        data = text.toString();
+    }
+
+    @Benchmark
+    public Board regexParse() {
+        String stripped = data.replaceAll("\\s+", "");
+        Board board = Board.create(size);
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                char cell = stripped.charAt(i * size + j);
+                if (cell != '.') board.setCell(i, j, Character.toUpperCase(cell));
+            }
+        }
+        return board;
+    }
+
+    @Benchmark
+    public Board singlePassParse() {
+        return BoardCodec.parseText(size, data);
+    }
+
+    @Benchmark
+    public SquaresGame regexLoad() {
+        SquaresGame game = new SquaresGame(0);
+        game.loadBoard(size, data.replaceAll("\\s+", ""), 'W');
+        return game;
+    }
+
+    @Benchmark
+    public SquaresGame singlePassLoad() {
+        SquaresGame game = new SquaresGame(0);
+        game.loadBoard(BoardCodec.parseText(size, data), 'W');
+        return game;
+    }
+}
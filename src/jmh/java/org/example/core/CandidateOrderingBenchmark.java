@@ -0,0 +1,68 @@
+package org.example.core;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Каскад эвристик и перебор с отбором кандидатов и без него. Кроме времени сообщает объём работы
+// на ход: просмотренные квадраты и узлы перебора фиксированной глубины
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CandidateOrderingBenchmark {
+    @Param({"10", "20", "50"})
+    int size;
+
+    @Param({"0.02", "0.05"})
+    double fill;
+
+    @Param({"true", "false"})
+    boolean pruning;
+
+    private SquaresGame[] games;
+    private AlphaBetaEngine engine;
+    private int next;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Work {
+        public long squares;
+        public long nodes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            squares = 0;
+            nodes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        games = BenchmarkPositions.games(size, fill);
+        for (SquaresGame game : games) game.setCandidatePruning(pruning);
+        engine = new AlphaBetaEngine(1 << 16, 8, 3);
+    }
+
+    private SquaresGame nextGame() {
+        return games[next++ & (BenchmarkPositions.CORPUS_SIZE - 1)];
+    }
+
+    @Benchmark
+    public int heuristicMove(Work work) {
+        SquaresGame game = nextGame();
+        int move = game.findNextMoveCell();
+        work.squares += game.getSearchStats().getSquaresExamined();
+        return move;
+    }
+
+    @Benchmark
+    public int searchDepth3(Work work) {
+        SquaresGame game = nextGame();
+        int move = engine.findMove(game, 60_000);
+        work.nodes += engine.getNodes();
+        return move;
+    }
+}
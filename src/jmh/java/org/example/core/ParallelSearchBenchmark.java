@@ -0,0 +1,46 @@
+package org.example.core;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// Ускорение параллельного перебора: одна и та же работа (фиксированная глубина, 16 корневых кандидатов)
+// на пуле из threads потоков. Ускорение — отношение времени при threads = 1 ко времени при threads = N
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelSearchBenchmark {
+    @Param({"1", "2", "4", "8"})
+    int threads;
+
+    @Param({"10", "20"})
+    int size;
+
+    private ForkJoinPool pool;
+    private SquaresGame[] games;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        pool = new ForkJoinPool(threads);
+        games = BenchmarkPositions.games(size, 0.02);
+        for (SquaresGame game : games) {
+            game.setEngine(new ParallelSearchEngine(pool, threads, ParallelSearchEngine.DEFAULT_ROOT_CANDIDATES, 3));
+            game.setTimeBudgetMs(60_000);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public int searchDepth3() {
+        return games[next++ & (BenchmarkPositions.CORPUS_SIZE - 1)].findNextMoveCell();
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.core;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Взвешенный случайный ход с прежним генератором java.util.Random и с SplittableRandom
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RandomGeneratorBenchmark {
+    @Param({"random", "splittable"})
+    String generator;
+
+    @Param({"10", "50"})
+    int size;
+
+    private SquaresGame[] games;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        String[] positions = BenchmarkPositions.corpus(size, 0.3);
+        games = new SquaresGame[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            games[i] = generator.equals("random") ? new SquaresGame(new Random(i)) : new SquaresGame(new SplittableRandom(i));
+            games[i].loadBoard(size, positions[i], BenchmarkPositions.nextPlayer(positions[i]));
+        }
+    }
+
+    @Benchmark
+    public int weightedRandomMove() {
+        return games[next++ & (BenchmarkPositions.CORPUS_SIZE - 1)].findWeightedRandomMove();
+    }
+
+    // Копия для задачи параллельного перебора: ветвь генератора вместо нового зерна
+    @Benchmark
+    public SquaresGame copy() {
+        return games[next++ & (BenchmarkPositions.CORPUS_SIZE - 1)].copy();
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.core;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Полная партия эвристики против самой себя с пустой доски; зерно фиксировано
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SelfPlayBenchmark {
+    @Param({"3", "10", "20", "50"})
+    int size;
+
+    private String empty;
+
+    @Setup
+    public void setUp() {
+        empty = ".".repeat(size * size);
+    }
+
+    // Возвращает число сделанных ходов
+    @Benchmark
+    public int selfPlay() {
+        SquaresGame game = new SquaresGame(42);
+        game.loadBoard(size, empty, 'W');
+        int moves = 0;
+        while (game.isGameStarted()) {
+            int cell = game.findNextMoveCell();
+            if (cell < 0) break;
+            game.applyMove(cell / size, cell % size);
+            moves++;
+        }
+        return moves;
+    }
+}
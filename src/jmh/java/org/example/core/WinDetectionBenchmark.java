@@ -0,0 +1,54 @@
+package org.example.core;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Проверка победы и статуса партии на фиксированных позициях
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WinDetectionBenchmark {
+    // 100 и 200 — доски без индекса квадратов, победу ищет сканирование масок
+    @Param({"3", "10", "20", "50", "100", "200"})
+    int size;
+
+    @Param({"0.1", "0.3", "0.6", "0.95"})
+    double fill;
+
+    private SquaresGame[] games;
+    private String[] positions;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        positions = BenchmarkPositions.corpus(size, fill);
+        games = BenchmarkPositions.games(size, positions);
+    }
+
+    private SquaresGame nextGame() {
+        return games[next++ & (BenchmarkPositions.CORPUS_SIZE - 1)];
+    }
+
+    @Benchmark
+    public boolean checkWinner() {
+        return nextGame().hasSquare('W');
+    }
+
+    @Benchmark
+    public String getGameStatus() {
+        return nextGame().getGameStatus();
+    }
+
+    // Загрузка позиции из строки: разбор и построение индекса квадратов
+    @Benchmark
+    public SquaresGame loadBoard() {
+        String data = positions[next++ & (BenchmarkPositions.CORPUS_SIZE - 1)];
+        SquaresGame game = new SquaresGame(0);
+        game.loadBoard(size, data, BenchmarkPositions.nextPlayer(data));
+        return game;
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.core.BenchmarkPositions;
+import org.example.core.OpeningBook;
+import org.example.web.cache.MoveCache;
+import org.example.web.controller.GameController;
+import org.example.web.controller.SearchLimits;
+import org.example.web.dto.BoardDto;
+import org.example.web.metrics.SearchMetrics;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// Путь /api/nextMove без HTTP: разбор JSON, контроллер с передачей в вычислительный пул и сериализация ответа
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NextMoveBenchmark {
+    @Param({"3", "10", "20", "50"})
+    int size;
+
+    @Param({"0.1", "0.3", "0.6"})
+    double fill;
+
+    // Стоимость метрик на пути запроса: false — замеры выключены
+    @Param({"false", "true"})
+    boolean metrics;
+
+    private ObjectMapper mapper;
+    private ForkJoinPool searchPool;
+    private ExecutorService batchExecutor;
+    private ExecutorService computeExecutor;
+    private GameController controller;
+    private byte[][] requests;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = new ObjectMapper();
+        searchPool = new ForkJoinPool(1);
+        batchExecutor = Executors.newSingleThreadExecutor();
+        computeExecutor = Executors.newSingleThreadExecutor();
+        controller = new GameController(searchPool, 1, batchExecutor, computeExecutor, 1, mapper,
+                new SearchLimits(size, 1000, 5000), new MoveCache(0), OpeningBook.EMPTY,
+                new SearchMetrics(new SimpleMeterRegistry(), metrics));
+
+        String[] positions = BenchmarkPositions.corpus(size, fill);
+        requests = new byte[positions.length][];
+        for (int i = 0; i < positions.length; i++) {
+            BoardDto dto = new BoardDto();
+            dto.setSize(size);
+            dto.setData(positions[i]);
+            dto.setNextPlayerColor(String.valueOf(BenchmarkPositions.nextPlayer(positions[i])).toLowerCase());
+            requests[i] = mapper.writeValueAsBytes(dto);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        searchPool.shutdown();
+        batchExecutor.shutdown();
+        computeExecutor.shutdown();
+    }
+
+    @Benchmark
+    public byte[] nextMove() throws IOException {
+        BoardDto dto = mapper.readValue(requests[next++ & (BenchmarkPositions.CORPUS_SIZE - 1)], BoardDto.class);
+        return mapper.writeValueAsBytes(controller.nextMove(dto).getBody());
+    }
+}
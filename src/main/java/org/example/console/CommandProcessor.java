@@ -5,12 +5,23 @@ import org.example.core.SquaresGame;
 
 public class CommandProcessor {
     private final SquaresGame game;
+    private final ConsoleRenderer renderer = new ConsoleRenderer();
 
     public CommandProcessor(SquaresGame game) {
         this.game = game;
+        game.addListener(renderer);
     }
 
+    // Вывод партии, накопленный за команду, печатается одной записью в конце
     public void process(String command) {
+        try {
+            execute(command);
+        } finally {
+            renderer.flush();
+        }
+    }
+
+    private void execute(String command) {
         if (command == null || command.trim().isEmpty()) {
             System.out.println("Incorrect command");
             return;
@@ -51,6 +62,7 @@ public class CommandProcessor {
 
                     game.startNewGame(size, p1, p2);
                 } catch (Exception e) {
+                    renderer.flush();
                     System.out.println("Invalid parameters: " + e.getMessage());
                 }
                 break;
@@ -71,6 +83,7 @@ public class CommandProcessor {
                     int y = Integer.parseInt(moveParts[1].trim());
                     game.makeMove(x, y);
                 } catch (Exception e) {
+                    renderer.flush();
                     System.out.println("Invalid move: " + e.getMessage());
                 }
                 break;
@@ -0,0 +1,59 @@
+package org.example.console;
+
+import org.example.core.Board;
+import org.example.core.GameListener;
+import org.example.core.SquaresGame;
+
+// Вывод партии в консоль: события собираются в буфер и выводятся одной записью в flush(),
+// вместо отдельного вызова System.out на каждую клетку доски
+public class ConsoleRenderer implements GameListener {
+    private final StringBuilder buffer = new StringBuilder();
+
+    @Override
+    public void gameStarted(SquaresGame game) {
+        buffer.append("New game started\n");
+    }
+
+    @Override
+    public void movePlaced(SquaresGame game, char color, int x, int y) {
+        buffer.append(color).append(" (").append(x).append(", ").append(y).append(")\n");
+        appendBoard(game.getBoard());
+    }
+
+    @Override
+    public void gameWon(SquaresGame game, char color, int[][] square) {
+        buffer.append("Game finished. ").append(color).append(" wins!\n");
+        buffer.append("Winning square coordinates: ");
+        for (int[] cell : square) buffer.append('(').append(cell[0]).append(',').append(cell[1]).append(") ");
+        buffer.append('\n');
+    }
+
+    @Override
+    public void gameDrawn(SquaresGame game) {
+        buffer.append("Game finished. Draw\n");
+    }
+
+    // Поток берётся в момент записи, чтобы учитывать перенаправление System.out
+    public void flush() {
+        if (buffer.length() == 0) return;
+        System.out.print(buffer);
+        System.out.flush();
+        buffer.setLength(0);
+    }
+
+    private void appendBoard(Board board) {
+        int size = board.getSize();
+        int width = Integer.toString(size - 1).length();
+        buffer.append("Current board state:\n");
+        buffer.append(" ".repeat(width + 2));
+        for (int j = 0; j < size; j++) buffer.append(j).append(' ');
+        buffer.append('\n');
+
+        for (int i = 0; i < size; i++) {
+            String row = Integer.toString(i);
+            buffer.append(" ".repeat(width - row.length())).append(row).append(' ');
+            for (int j = 0; j < size; j++) buffer.append(board.getCellUnchecked(i, j)).append(' ');
+            buffer.append('\n');
+        }
+    }
+}
@@ -0,0 +1,377 @@
+package org.example.console;
+
+import org.example.core.AlphaBetaEngine;
+import org.example.core.MctsEngine;
+import org.example.core.MoveEngine;
+import org.example.core.MoveEngines;
+import org.example.core.OpeningBook;
+import org.example.core.OpeningBookEngine;
+import org.example.core.ParallelSearchEngine;
+import org.example.core.Player;
+import org.example.core.SquaresGame;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+
+// Партии компьютера против компьютера без вывода ходов: N партий на каждую пару движков и размер доски,
+// партии идут параллельно на всех ядрах. Итог — JSON с партиями и ходами в секунду, перцентилями
+// времени хода и долей побед. Зерно каждой партии выводится из --seed, так что при движках с
+// ограничением работы (alphabeta:4, mcts:2000) результаты совпадают между сборками.
+// Запуск: gradle tournament --args="--engines heuristic,alphabeta:3 --sizes 5,8 --games 100"
+public final class Tournament {
+    private static final String USAGE = """
+            Usage: Tournament [options]
+              --engines E1,E2,...  engines: heuristic, alphabeta[:depth], parallel[:depth], mcts[:playouts]
+                                   (default heuristic); every pair plays, one engine plays itself
+              --sizes N1,N2,...    board sizes (default 5)
+              --games N            games per pair and board size (default 100)
+              --threads N          games played at once (default: number of cores)
+              --seed N             base seed (default 1)
+              --budget MS          time budget per move for engines without a limit (default 100)
+              --book               answer opening positions from the opening book
+              --output FILE        write JSON to FILE instead of stdout""";
+
+    private final List<EngineSpec> engines;
+    private final int[] sizes;
+    private final int games;
+    private final int threads;
+    private final long seed;
+    private final long budgetMs;
+    private final OpeningBook book;
+
+    public Tournament(List<EngineSpec> engines, int[] sizes, int games, int threads, long seed, long budgetMs,
+                      OpeningBook book) {
+        if (engines.isEmpty()) throw new IllegalArgumentException("No engines");
+        if (sizes.length == 0) throw new IllegalArgumentException("No board sizes");
+        for (int size : sizes) if (size <= 2) throw new IllegalArgumentException("Size must be > 2");
+        if (games <= 0) throw new IllegalArgumentException("Games must be > 0");
+        if (threads <= 0) throw new IllegalArgumentException("Threads must be > 0");
+        if (budgetMs <= 0) throw new IllegalArgumentException("Budget must be > 0");
+        this.engines = engines;
+        this.sizes = sizes;
+        this.games = games;
+        this.threads = threads;
+        this.seed = seed;
+        this.budgetMs = budgetMs;
+        this.book = book;
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<EngineSpec> engines = List.of(EngineSpec.parse(MoveEngines.HEURISTIC));
+        int[] sizes = {5};
+        int games = 100;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = 1;
+        long budgetMs = 100;
+        boolean useBook = false;
+        Path output = null;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--engines" -> engines = Arrays.stream(value(args, ++i).split(","))
+                            .map(String::trim).map(EngineSpec::parse).toList();
+                    case "--sizes" -> sizes = Arrays.stream(value(args, ++i).split(","))
+                            .map(String::trim).mapToInt(Integer::parseInt).toArray();
+                    case "--games" -> games = Integer.parseInt(value(args, ++i));
+                    case "--threads" -> threads = Integer.parseInt(value(args, ++i));
+                    case "--seed" -> seed = Long.parseLong(value(args, ++i));
+                    case "--budget" -> budgetMs = Long.parseLong(value(args, ++i));
+                    case "--book" -> useBook = true;
+                    case "--output" -> output = Path.of(value(args, ++i));
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+
+        String json = new Tournament(engines, sizes, games, threads, seed, budgetMs,
+                useBook ? loadBook() : OpeningBook.EMPTY).run().toJson();
+        if (output != null) Files.writeString(output, json);
+        else System.out.println(json);
+    }
+
+    private static String value(String[] args, int i) {
+        if (i >= args.length) throw new IllegalArgumentException("Missing value for " + args[i - 1]);
+        return args[i];
+    }
+
+    private static OpeningBook loadBook() throws IOException {
+        try (InputStream in = Tournament.class.getResourceAsStream("/opening-book.bin")) {
+            return in != null ? OpeningBook.read(in) : OpeningBook.EMPTY;
+        }
+    }
+
+    // Пары движков по всем размерам; каждая партия — отдельная задача пула
+    public Report run() throws InterruptedException {
+        List<Matchup> matchups = new ArrayList<>();
+        for (int size : sizes) {
+            if (engines.size() == 1) matchups.add(new Matchup(size, engines.get(0), engines.get(0)));
+            for (int i = 0; i < engines.size(); i++)
+                for (int j = i + 1; j < engines.size(); j++)
+                    matchups.add(new Matchup(size, engines.get(i), engines.get(j)));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        try {
+            List<List<Future<GameResult>>> futures = new ArrayList<>();
+            for (int m = 0; m < matchups.size(); m++) {
+                Matchup matchup = matchups.get(m);
+                List<Future<GameResult>> results = new ArrayList<>(games);
+                for (int g = 0; g < games; g++) {
+                    long gameSeed = gameSeed(seed, m, g);
+                    // Цвета чередуются: в чётных партиях первый движок играет белыми и ходит первым
+                    boolean firstIsWhite = g % 2 == 0;
+                    results.add(executor.submit(() -> play(matchup, firstIsWhite, gameSeed)));
+                }
+                futures.add(results);
+            }
+            for (int m = 0; m < matchups.size(); m++) {
+                for (Future<GameResult> future : futures.get(m)) matchups.get(m).add(future.get());
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Game failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return new Report(this, matchups, System.nanoTime() - start);
+    }
+
+    static long gameSeed(long seed, int matchup, int game) {
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + ((long) matchup << 32 | game)).nextLong();
+    }
+
+    private GameResult play(Matchup matchup, boolean firstIsWhite, long gameSeed) {
+        SquaresGame game = new SquaresGame(gameSeed);
+        // Ходы выбирает цикл ниже, поэтому оба игрока заводятся как user: игра сама не отвечает
+        game.startNewGame(matchup.size, new Player("user", 'W'), new Player("user", 'B'));
+        game.setTimeBudgetMs(budgetMs);
+        MoveEngine white = create(firstIsWhite ? matchup.first : matchup.second, gameSeed);
+        MoveEngine black = create(firstIsWhite ? matchup.second : matchup.first, ~gameSeed);
+
+        long[] firstLatency = new long[matchup.size * matchup.size];
+        long[] secondLatency = new long[matchup.size * matchup.size];
+        int firstMoves = 0, secondMoves = 0;
+        while (game.isGameStarted()) {
+            char color = game.getCurrentPlayer().getColor();
+            game.setEngine(color == 'W' ? white : black);
+            long moveStart = System.nanoTime();
+            int cell = game.findNextMoveCell();
+            long elapsed = System.nanoTime() - moveStart;
+            if (cell < 0) break;
+            if ((color == 'W') == firstIsWhite) firstLatency[firstMoves++] = elapsed;
+            else secondLatency[secondMoves++] = elapsed;
+            game.applyMove(cell / matchup.size, cell % matchup.size);
+        }
+
+        String status = game.getGameStatus();
+        int winner = status.equals("DRAW") || status.equals("ACTIVE") ? 0
+                : (status.charAt(0) == 'W') == firstIsWhite ? 1 : 2;
+        return new GameResult(winner, Arrays.copyOf(firstLatency, firstMoves),
+                Arrays.copyOf(secondLatency, secondMoves));
+    }
+
+    // Свой экземпляр на партию: движки поиска хранят таблицы и не делятся между потоками
+    private MoveEngine create(EngineSpec spec, long engineSeed) {
+        MoveEngine engine;
+        if (spec.name.equals(MoveEngines.MCTS)) {
+            engine = new MctsEngine(MctsEngine.DEFAULT_MAX_NODES, MctsEngine.DEFAULT_PLAYOUTS_PER_LEAF, spec.limit,
+                    new SplittableRandom(engineSeed));
+        } else if (spec.name.equals(MoveEngines.ALPHA_BETA) && spec.limit > 0) {
+            engine = new AlphaBetaEngine(AlphaBetaEngine.DEFAULT_TABLE_SIZE, AlphaBetaEngine.DEFAULT_BRANCHING,
+                    (int) spec.limit);
+        } else if (spec.name.equals(MoveEngines.PARALLEL) && spec.limit > 0) {
+            engine = new ParallelSearchEngine(ForkJoinPool.commonPool(), 1,
+                    ParallelSearchEngine.DEFAULT_ROOT_CANDIDATES, (int) spec.limit);
+        } else {
+            // Партии уже занимают все ядра, параллельный движок делит корень на одну задачу
+            engine = MoveEngines.create(spec.name, ForkJoinPool.commonPool(), 1);
+        }
+        return book.size() > 0 ? new OpeningBookEngine(book, engine) : engine;
+    }
+
+    // Движок и его ограничение работы: глубина перебора или число доигрываний MCTS, 0 — только время
+    public static final class EngineSpec {
+        private final String name;
+        private final long limit;
+
+        private EngineSpec(String name, long limit) {
+            this.name = name;
+            this.limit = limit;
+        }
+
+        public static EngineSpec parse(String text) {
+            int colon = text.indexOf(':');
+            String name = (colon >= 0 ? text.substring(0, colon) : text).toLowerCase(Locale.ROOT);
+            long limit = colon >= 0 ? Long.parseLong(text.substring(colon + 1)) : 0;
+            if (MoveEngines.isHeuristic(name)) {
+                if (limit != 0) throw new IllegalArgumentException("Heuristic engine has no limit");
+                name = MoveEngines.HEURISTIC;
+            } else if (!name.equals(MoveEngines.ALPHA_BETA) && !name.equals(MoveEngines.PARALLEL)
+                    && !name.equals(MoveEngines.MCTS)) {
+                throw new IllegalArgumentException("Unknown engine: " + name);
+            }
+            if (limit < 0) throw new IllegalArgumentException("Invalid engine limit: " + text);
+            return new EngineSpec(name, limit);
+        }
+
+        @Override
+        public String toString() {
+            return limit > 0 ? name + ":" + limit : name;
+        }
+    }
+
+    // winner: 0 — ничья, 1 — первый движок пары, 2 — второй; время ходов каждого движка в наносекундах
+    static final class GameResult {
+        final int winner;
+        final long[] firstLatency;
+        final long[] secondLatency;
+
+        GameResult(int winner, long[] firstLatency, long[] secondLatency) {
+            this.winner = winner;
+            this.firstLatency = firstLatency;
+            this.secondLatency = secondLatency;
+        }
+    }
+
+    static final class Matchup {
+        final int size;
+        final EngineSpec first;
+        final EngineSpec second;
+        final List<GameResult> results = new ArrayList<>();
+
+        Matchup(int size, EngineSpec first, EngineSpec second) {
+            this.size = size;
+            this.first = first;
+            this.second = second;
+        }
+
+        void add(GameResult result) {
+            results.add(result);
+        }
+
+        int count(int winner) {
+            int count = 0;
+            for (GameResult result : results) if (result.winner == winner) count++;
+            return count;
+        }
+
+        long[] latencies(boolean first) {
+            return results.stream().flatMapToLong(r -> Arrays.stream(first ? r.firstLatency : r.secondLatency))
+                    .sorted().toArray();
+        }
+    }
+
+    public static final class Report {
+        private final Tournament tournament;
+        private final List<Matchup> matchups;
+        private final long elapsedNanos;
+
+        private Report(Tournament tournament, List<Matchup> matchups, long elapsedNanos) {
+            this.tournament = tournament;
+            this.matchups = matchups;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public int getGames() {
+            return matchups.size() * tournament.games;
+        }
+
+        public long getMoves() {
+            long moves = 0;
+            for (Matchup matchup : matchups)
+                for (GameResult result : matchup.results) moves += result.firstLatency.length + result.secondLatency.length;
+            return moves;
+        }
+
+        // Итоги партий без времени: совпадают при одинаковом зерне и движках с ограничением работы
+        public List<int[]> getOutcomes() {
+            List<int[]> outcomes = new ArrayList<>();
+            for (Matchup matchup : matchups) {
+                int[] winners = new int[matchup.results.size()];
+                for (int i = 0; i < winners.length; i++) winners[i] = matchup.results.get(i).winner;
+                outcomes.add(winners);
+            }
+            return outcomes;
+        }
+
+        public String toJson() {
+            double seconds = elapsedNanos / 1e9;
+            long[] all = matchups.stream()
+                    .flatMapToLong(m -> LongStream.concat(Arrays.stream(m.latencies(true)), Arrays.stream(m.latencies(false))))
+                    .sorted().toArray();
+
+            StringBuilder json = new StringBuilder();
+            json.append("{\n");
+            json.append("  \"seed\": ").append(tournament.seed).append(",\n");
+            json.append("  \"threads\": ").append(tournament.threads).append(",\n");
+            json.append("  \"budgetMs\": ").append(tournament.budgetMs).append(",\n");
+            json.append("  \"book\": ").append(tournament.book.size() > 0).append(",\n");
+            json.append("  \"games\": ").append(getGames()).append(",\n");
+            json.append("  \"moves\": ").append(getMoves()).append(",\n");
+            json.append("  \"elapsedMs\": ").append(elapsedNanos / 1_000_000).append(",\n");
+            json.append("  \"gamesPerSec\": ").append(format(getGames() / seconds)).append(",\n");
+            json.append("  \"movesPerSec\": ").append(format(getMoves() / seconds)).append(",\n");
+            json.append("  \"moveLatencyUs\": ");
+            appendPercentiles(json, all);
+            json.append(",\n  \"matchups\": [");
+            for (int i = 0; i < matchups.size(); i++) {
+                Matchup m = matchups.get(i);
+                int played = m.results.size();
+                json.append(i == 0 ? "\n" : ",\n");
+                json.append("    {\"size\": ").append(m.size)
+                        .append(", \"first\": \"").append(m.first).append('"')
+                        .append(", \"second\": \"").append(m.second).append('"')
+                        .append(", \"games\": ").append(played)
+                        .append(", \"firstWins\": ").append(m.count(1))
+                        .append(", \"secondWins\": ").append(m.count(2))
+                        .append(", \"draws\": ").append(m.count(0))
+                        .append(", \"firstWinRate\": ").append(format((double) m.count(1) / played))
+                        .append(", \"secondWinRate\": ").append(format((double) m.count(2) / played))
+                        .append(", \"drawRate\": ").append(format((double) m.count(0) / played))
+                        .append(",\n     \"firstLatencyUs\": ");
+                appendPercentiles(json, m.latencies(true));
+                json.append(",\n     \"secondLatencyUs\": ");
+                appendPercentiles(json, m.latencies(false));
+                json.append('}');
+            }
+            json.append("\n  ]\n}");
+            return json.toString();
+        }
+
+        // Перцентили по отсортированному массиву наносекунд, в микросекундах
+        private static void appendPercentiles(StringBuilder json, long[] sorted) {
+            json.append("{\"p50\": ").append(format(percentile(sorted, 0.50)))
+                    .append(", \"p90\": ").append(format(percentile(sorted, 0.90)))
+                    .append(", \"p99\": ").append(format(percentile(sorted, 0.99)))
+                    .append(", \"max\": ").append(format(percentile(sorted, 1.0))).append('}');
+        }
+
+        static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) return 0;
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1000.0;
+        }
+
+        private static String format(double value) {
+            return String.format(Locale.ROOT, "%.2f", value);
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package org.example.core;
+
+import java.util.Arrays;
+
+// Итеративное углубление с альфа-бета отсечением и таблицей транспозиций.
+// Листья оцениваются через evaluateMoveStrategic по кандидатам хода, на каждом узле рассматриваются
+// первые кандидаты из MoveCandidates; ходы, давшие отсечение, поднимаются в истории кандидатов.
+public class AlphaBetaEngine implements MoveEngine {
+    public static final long DEFAULT_TIME_BUDGET_MS = 1000;
+    public static final int DEFAULT_TABLE_SIZE = 1 << 16;
+    public static final int DEFAULT_BRANCHING = 12;
+
+    static final int ABORTED = Integer.MIN_VALUE;
+    static final int MAX_PLY = 64;
+
+    private static final int WIN_SCORE = 1_000_000;
+    private static final int EXACT = 0, LOWER = 1, UPPER = 2;
+    // Собственный бюджет каскада эвристик, когда первая итерация не успела: доля бюджета поиска, но не меньше
+    // FALLBACK_MIN_BUDGET_MS — на больших досках без индекса проверки выигрыша и блокировки занимают миллисекунды
+    private static final int FALLBACK_BUDGET_SHARE = 4;
+    private static final long FALLBACK_MIN_BUDGET_MS = 20;
+    // Проверка времени раз в столько узлов на маленьких досках; начиная с CLOCK_EVERY_NODE_SIZE узел стоит
+    // десятки микросекунд и больше (на досках без индекса — миллисекунды), и время проверяется в каждом узле
+    private static final int CLOCK_MASK = 255;
+    private static final int CLOCK_EVERY_NODE_SIZE = 16;
+
+    private final int branching;
+    private final int maxDepth;
+    private final int tableMask;
+    private final long[] tableKeys;
+    private final int[] tableScores;
+    private final int[] tableMoves;
+    private final byte[] tableDepths;
+    private final byte[] tableFlags;
+    private final int[][] moveBuffers;
+
+    private SquaresGame game;
+    private Board board;
+    private int size;
+    private long deadline;
+    private int clockMask;
+    private long nodes;
+    private boolean aborted;
+    private int rootScore;
+
+    public AlphaBetaEngine() {
+        this(DEFAULT_TABLE_SIZE, DEFAULT_BRANCHING);
+    }
+
+    public AlphaBetaEngine(int tableSize, int branching) {
+        this(tableSize, branching, MAX_PLY);
+    }
+
+    // maxDepth < MAX_PLY ограничивает углубление: ход зависит только от позиции, а не от скорости машины
+    public AlphaBetaEngine(int tableSize, int branching, int maxDepth) {
+        if (tableSize <= 0) throw new IllegalArgumentException("Table size must be > 0");
+        if (branching <= 0) throw new IllegalArgumentException("Branching must be > 0");
+        if (maxDepth <= 0 || maxDepth > MAX_PLY) throw new IllegalArgumentException("Invalid max depth");
+        int capacity = Integer.highestOneBit(tableSize);
+        this.branching = branching;
+        this.maxDepth = maxDepth;
+        this.tableMask = capacity - 1;
+        this.tableKeys = new long[capacity];
+        this.tableScores = new int[capacity];
+        this.tableMoves = new int[capacity];
+        this.tableDepths = new byte[capacity];
+        this.tableFlags = new byte[capacity];
+        this.moveBuffers = new int[MAX_PLY + 1][branching];
+    }
+
+    @Override
+    public int findMove(SquaresGame game, long timeBudgetMs) {
+        long budget = timeBudgetMs > 0 ? timeBudgetMs : DEFAULT_TIME_BUDGET_MS;
+        begin(game, System.nanoTime() + budget * 1_000_000);
+
+        char me = game.getCurrentPlayer().getColor();
+        char opp = game.getOpponentColor();
+
+        int bestMove = -1;
+        int depthLimit = Math.min(maxDepth, game.countEmptyCells());
+        for (int depth = 1; depth <= depthLimit; depth++) {
+            int move = searchRoot(depth, me, opp);
+            if (aborted) break;
+            bestMove = move;
+            // Найден форсированный результат — углубляться дальше незачем
+            if (isDecisive(rootScore)) break;
+        }
+
+        game.getSearchStats().addNodes(nodes);
+        end();
+        if (bestMove >= 0) return game.found(bestMove, MoveStage.SEARCH);
+
+        // Время вышло до конца первой итерации: каскад получает свой срок, иначе он пропустил бы блокировку
+        return HeuristicEngine.INSTANCE.findMove(game, Math.max(FALLBACK_MIN_BUDGET_MS, budget / FALLBACK_BUDGET_SHARE));
+    }
+
+    // Оценка позиции для стороны toMove на фиксированную глубину; ABORTED, если вышло время
+    int search(SquaresGame game, int depth, char toMove, char other, long deadline) {
+        if (System.nanoTime() - deadline > 0) return ABORTED;
+        begin(game, deadline);
+        int score = negamax(depth, 1, -WIN_SCORE - 1, WIN_SCORE + 1, toMove, other);
+        boolean timedOut = aborted;
+        end();
+        return timedOut ? ABORTED : score;
+    }
+
+    static boolean isDecisive(int score) {
+        return Math.abs(score) >= WIN_SCORE - MAX_PLY;
+    }
+
+    private void begin(SquaresGame game, long deadline) {
+        this.game = game;
+        this.board = game.getBoard();
+        this.size = board.getSize();
+        this.deadline = deadline;
+        this.clockMask = size < CLOCK_EVERY_NODE_SIZE ? CLOCK_MASK : 0;
+        this.nodes = 0;
+        this.aborted = false;
+    }
+
+    private void end() {
+        this.game = null;
+        this.board = null;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    // Забывает таблицу транспозиций: записи с нулевой глубиной не читаются, так что хватает сброса глубин.
+    // Движок, переиспользуемый между поисками, после этого ведёт себя как новый
+    void clearTable() {
+        Arrays.fill(tableDepths, (byte) 0);
+    }
+
+    private int searchRoot(int depth, char me, char opp) {
+        int count = generateMoves(0, me, opp);
+        int alpha = -WIN_SCORE - 1;
+        int bestMove = -1;
+        int[] moves = moveBuffers[0];
+
+        for (int i = 0; i < count; i++) {
+            int cell = moves[i];
+            game.play(cell, me);
+            int score = -negamax(depth - 1, 1, -WIN_SCORE - 1, -alpha, opp, me);
+            game.undo(cell);
+            if (aborted) return bestMove;
+            if (score > alpha) {
+                alpha = score;
+                bestMove = cell;
+            }
+        }
+        rootScore = alpha;
+        store(hash(me), depth, 0, alpha, EXACT, bestMove);
+        return bestMove;
+    }
+
+    private int negamax(int depth, int ply, int alpha, int beta, char me, char opp) {
+        if ((++nodes & clockMask) == 0 && System.nanoTime() - deadline > 0) aborted = true;
+        if (aborted) return 0;
+
+        // Соперник только что походил и замкнул квадрат
+        if (game.hasSquare(opp)) return -(WIN_SCORE - ply);
+        if (game.findWinningCell(me) >= 0) return WIN_SCORE - ply - 1;
+        if (board.isFull()) return 0;
+        if (depth == 0 || ply >= MAX_PLY) return evaluate(me, opp);
+
+        long key = hash(me);
+        int slot = slot(key);
+        int hashMove = -1;
+        if (tableKeys[slot] == key && tableDepths[slot] > 0) {
+            hashMove = tableMoves[slot];
+            if (tableDepths[slot] >= depth) {
+                int stored = fromTable(tableScores[slot], ply);
+                byte flag = tableFlags[slot];
+                if (flag == EXACT) return stored;
+                if (flag == LOWER && stored >= beta) return stored;
+                if (flag == UPPER && stored <= alpha) return stored;
+            }
+        }
+
+        int count = generateMoves(ply, me, opp);
+        int[] moves = moveBuffers[ply];
+        moveToFront(moves, count, hashMove);
+
+        int originalAlpha = alpha;
+        int best = -WIN_SCORE - 1;
+        int bestMove = -1;
+        for (int i = 0; i < count; i++) {
+            int cell = moves[i];
+            game.play(cell, me);
+            int score = -negamax(depth - 1, ply + 1, -beta, -alpha, opp, me);
+            game.undo(cell);
+            if (aborted) return 0;
+
+            if (score > best) {
+                best = score;
+                bestMove = cell;
+            }
+            if (score > alpha) alpha = score;
+            if (alpha >= beta) {
+                game.getCandidates().recordCutoff(cell, depth);
+                break;
+            }
+        }
+
+        int flag = best <= originalAlpha ? UPPER : best >= beta ? LOWER : EXACT;
+        store(key, depth, ply, best, flag, bestMove);
+        return best;
+    }
+
+    // Первые кандидаты позиции; при своём выигрыше или угрозе соперника — единственный ход
+    private int generateMoves(int ply, char me, char opp) {
+        int[] moves = moveBuffers[ply];
+
+        int forced = game.findWinningCell(me);
+        if (forced < 0) forced = game.findWinningCell(opp);
+        if (forced >= 0) {
+            moves[0] = forced;
+            return 1;
+        }
+
+        MoveCandidates candidates = game.getCandidates();
+        int count = Math.min(branching, candidates.build(game, me, opp));
+        for (int i = 0; i < count; i++) moves[i] = candidates.cell(i);
+        return count;
+    }
+
+    private int evaluate(char me, char opp) {
+        int myBest = 0;
+        int oppBest = 0;
+        MoveCandidates candidates = game.getCandidates();
+        int count = candidates.collect(game);
+        for (int i = 0; i < count; i++) {
+            int x = candidates.cell(i) / size, y = candidates.cell(i) % size;
+            myBest = Math.max(myBest, game.evaluateMoveStrategic(x, y, me, opp));
+            oppBest = Math.max(oppBest, game.evaluateMoveStrategic(x, y, opp, me));
+        }
+        return myBest - oppBest;
+    }
+
+    private void moveToFront(int[] moves, int count, int move) {
+        if (move < 0) return;
+        for (int i = 0; i < count; i++) {
+            if (moves[i] == move) {
+                System.arraycopy(moves, 0, moves, 1, i);
+                moves[0] = move;
+                return;
+            }
+        }
+    }
+
+    private long hash(char toMove) {
+        return game.getHash() ^ (toMove == 'B' ? Zobrist.BLACK_TO_MOVE : 0);
+    }
+
+    private int slot(long key) {
+        return (int) (key ^ (key >>> 32)) & tableMask;
+    }
+
+    // Замена всегда: в ограниченной таблице свежие записи полезнее старых
+    private void store(long key, int depth, int ply, int score, int flag, int move) {
+        int slot = slot(key);
+        tableKeys[slot] = key;
+        tableScores[slot] = toTable(score, ply);
+        tableMoves[slot] = move;
+        tableDepths[slot] = (byte) depth;
+        tableFlags[slot] = (byte) flag;
+    }
+
+    // Оценка выигрыша WIN_SCORE - ply хранится как расстояние до выигрыша от узла, а не от корня:
+    // та же позиция встречается на разной глубине
+    private static int toTable(int score, int ply) {
+        if (score >= WIN_SCORE - MAX_PLY) return score + ply;
+        if (score <= -(WIN_SCORE - MAX_PLY)) return score - ply;
+        return score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (score >= WIN_SCORE - MAX_PLY) return score - ply;
+        if (score <= -(WIN_SCORE - MAX_PLY)) return score + ply;
+        return score;
+    }
+}
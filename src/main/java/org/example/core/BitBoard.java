@@ -0,0 +1,106 @@
+package org.example.core;
+
+public class BitBoard implements Board {
+    private final int size;
+    private final long[] white;
+    private final long[] black;
+    private int occupied;
+
+    public BitBoard(int size) {
+        if (size <= 2) throw new IllegalArgumentException("Size must be > 2");
+        this.size = size;
+        int words = (size * size + 63) >>> 6;
+        this.white = new long[words];
+        this.black = new long[words];
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public char getCell(int x, int y) {
+        if (!isInside(x, y)) throw new IllegalArgumentException("Coordinates out of bounds");
+        return getCellUnchecked(x, y);
+    }
+
+    @Override
+    public void setCell(int x, int y, char color) {
+        if (!isInside(x, y)) throw new IllegalArgumentException("Coordinates out of bounds");
+        if (color != '.' && color != 'W' && color != 'B') {
+            throw new IllegalArgumentException("Invalid cell value: must be '.', 'W', or 'B'");
+        }
+        setCellUnchecked(x, y, color);
+    }
+
+    @Override
+    public boolean isInside(int x, int y) {
+        return x >= 0 && x < size && y >= 0 && y < size;
+    }
+
+    @Override
+    public boolean isFull() {
+        return occupied == size * size;
+    }
+
+    @Override
+    public char getCellUnchecked(int x, int y) {
+        int index = x * size + y;
+        int word = index >>> 6;
+        long mask = 1L << index;
+        if ((white[word] & mask) != 0) return 'W';
+        if ((black[word] & mask) != 0) return 'B';
+        return '.';
+    }
+
+    @Override
+    public void setCellUnchecked(int x, int y, char color) {
+        int index = x * size + y;
+        int word = index >>> 6;
+        long mask = 1L << index;
+        boolean wasOccupied = ((white[word] | black[word]) & mask) != 0;
+
+        white[word] &= ~mask;
+        black[word] &= ~mask;
+        if (color == 'W') white[word] |= mask;
+        else if (color == 'B') black[word] |= mask;
+
+        boolean isOccupied = color == 'W' || color == 'B';
+        if (wasOccupied != isOccupied) occupied += isOccupied ? 1 : -1;
+    }
+
+    // Фишка в заведомо пустую клетку по индексу x * size + y — для быстрой загрузки доски
+    void place(int cell, char color) {
+        long mask = 1L << cell;
+        if (color == 'W') white[cell >>> 6] |= mask;
+        else black[cell >>> 6] |= mask;
+        occupied++;
+    }
+
+    // Слово из 64 клеток целиком — для быстрой загрузки доски
+    void loadWord(int word, long whiteBits, long blackBits) {
+        occupied += Long.bitCount(whiteBits | blackBits) - Long.bitCount(white[word] | black[word]);
+        white[word] = whiteBits;
+        black[word] = blackBits;
+    }
+
+    public int getOccupiedCount() {
+        return occupied;
+    }
+
+    // Копирует битовые маски цветов в переданные массивы длиной не меньше getWordCount()
+    public void copyBits(long[] whiteTarget, long[] blackTarget) {
+        System.arraycopy(white, 0, whiteTarget, 0, white.length);
+        System.arraycopy(black, 0, blackTarget, 0, black.length);
+    }
+
+    // Маска клеток цвета без копирования — только для чтения внутри ядра
+    long[] bits(char color) {
+        return color == 'W' ? white : black;
+    }
+
+    public int getWordCount() {
+        return white.length;
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.core;
+
+public interface Board {
+    int getSize();
+
+    char getCell(int x, int y);
+
+    void setCell(int x, int y, char color);
+
+    boolean isInside(int x, int y);
+
+    boolean isFull();
+
+    // Быстрый доступ без проверок границ и значения — только для внутреннего поиска
+    char getCellUnchecked(int x, int y);
+
+    void setCellUnchecked(int x, int y, char color);
+
+    default void printBoard() {
+        int size = getSize();
+        System.out.println("Current board state:");
+        int width = Integer.toString(size - 1).length();
+        System.out.print(" ".repeat(width + 2));
+        for (int j = 0; j < size; j++)
+            System.out.print(j + " ");
+        System.out.println();
+
+        for (int i = 0; i < size; i++) {
+            System.out.printf("%" + width + "d ", i);
+            for (int j = 0; j < size; j++)
+                System.out.print(getCellUnchecked(i, j) + " ");
+            System.out.println();
+        }
+    }
+
+    // С этого размера доска хранит только занятые клетки: на больших полях фишек намного меньше, чем клеток,
+    // а сканирование битовых масок растёт с площадью
+    int SPARSE_MIN_SIZE = 256;
+
+    static Board create(int size) {
+        return size >= SPARSE_MIN_SIZE ? new SparseBoard(size) : new BitBoard(size);
+    }
+}
@@ -0,0 +1,155 @@
+package org.example.core;
+
+import java.util.Arrays;
+
+// Компактные кодировки доски для передачи по сети:
+// packed — 2 бита на клетку (00 пусто, 01 белые, 10 чёрные), клетки по строкам, первая клетка в старших битах байта;
+// sparse — номера занятых клеток (x * size + y) отдельно для каждого цвета.
+// Раскодирование пишет сразу в доску, без промежуточной строки
+public final class BoardCodec {
+    public static final String INVALID_LENGTH = "Invalid board data length";
+
+    private BoardCodec() {
+    }
+
+    // Коды символов текстовой доски: биты белой и чёрной фишки, недопустимый символ, пропуск
+    private static final int WHITE = 1, BLACK = 2, INVALID = 4, SKIP = 8;
+    private static final byte[] TEXT_CODES = new byte[128];
+
+    static {
+        Arrays.fill(TEXT_CODES, (byte) INVALID);
+        TEXT_CODES['.'] = 0;
+        TEXT_CODES['W'] = TEXT_CODES['w'] = WHITE;
+        TEXT_CODES['B'] = TEXT_CODES['b'] = BLACK;
+        for (char c : new char[]{' ', '\n', '\r', '\t', '\f', 0x0B}) TEXT_CODES[c] = SKIP;
+    }
+
+    // Текстовая доска за один проход без промежуточных копий: пробельные символы пропускаются,
+    // клетки собираются в слова по 64 и пишутся сразу в доску; представление выбирает Board.create. Сообщения об ошибках те же,
+    // что у разбора через replaceAll("\\s+", "") и loadBoard: сначала проверяется длина, затем символы
+    public static Board parseText(int size, String data) {
+        if (size <= 2) throw new IllegalArgumentException("Size must be > 2");
+        // Пробелы только удлиняют строку, поэтому короткие данные отсекаются до выделения доски
+        if (data.length() < (long) size * size) throw new IllegalArgumentException(INVALID_LENGTH);
+        int cells = size * size;
+        Board board = Board.create(size);
+        int cell = 0;
+        int invalid = -1;
+        long whiteWord = 0, blackWord = 0;
+
+        for (int i = 0, n = data.length(); i < n; i++) {
+            char c = data.charAt(i);
+            int code = c < TEXT_CODES.length ? TEXT_CODES[c] : INVALID;
+            if (code == SKIP) continue;
+            if (cell < cells) {
+                if (code == INVALID && invalid < 0) invalid = c;
+                // Без ветвлений по цвету: случайная раскладка фишек плохо предсказывается
+                whiteWord |= (long) (code & WHITE) << cell;
+                blackWord |= (long) ((code & BLACK) >>> 1) << cell;
+                if ((cell & 63) == 63 || cell == cells - 1) {
+                    loadWord(board, cell >>> 6, whiteWord, blackWord);
+                    whiteWord = 0;
+                    blackWord = 0;
+                }
+            }
+            cell++;
+        }
+
+        if (cell != cells) throw new IllegalArgumentException(INVALID_LENGTH);
+        if (invalid >= 0) throw new IllegalArgumentException("Invalid character in board data: " + (char) invalid);
+        return board;
+    }
+
+    public static int packedLength(int size) {
+        return (size * size + 3) / 4;
+    }
+
+    public static Board decodePacked(int size, byte[] packed) {
+        if (size <= 2) throw new IllegalArgumentException("Size must be > 2");
+        if (packed.length != packedLength(size)) throw new IllegalArgumentException("Invalid board data length");
+
+        Board board = Board.create(size);
+        int cells = size * size;
+        for (int i = 0; i < packed.length; i++) {
+            int bits = packed[i] & 0xFF;
+            if (bits == 0) continue;
+            for (int k = 0; k < 4; k++) {
+                int code = (bits >>> (6 - 2 * k)) & 3;
+                if (code == 0) continue;
+                int cell = i * 4 + k;
+                if (code == 3 || cell >= cells) throw new IllegalArgumentException("Invalid packed cell: " + cell);
+                place(board, cell, code == 1 ? 'W' : 'B');
+            }
+        }
+        return board;
+    }
+
+    public static byte[] encodePacked(Board board) {
+        int size = board.getSize();
+        byte[] packed = new byte[packedLength(size)];
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                char c = board.getCellUnchecked(x, y);
+                if (c == '.') continue;
+                int cell = x * size + y;
+                packed[cell >> 2] |= (byte) ((c == 'W' ? 1 : 2) << (6 - 2 * (cell & 3)));
+            }
+        }
+        return packed;
+    }
+
+    public static Board decodeSparse(int size, int[] white, int[] black) {
+        if (size <= 2) throw new IllegalArgumentException("Size must be > 2");
+        Board board = Board.create(size);
+        if (white != null) place(board, white, 'W');
+        if (black != null) place(board, black, 'B');
+        return board;
+    }
+
+    // Номера клеток цвета в порядке обхода доски
+    public static int[] encodeSparse(Board board, char color) {
+        if (board instanceof SparseBoard sparse) return sparse.cells(color);
+        int size = board.getSize();
+        int count = 0;
+        for (int x = 0; x < size; x++)
+            for (int y = 0; y < size; y++)
+                if (board.getCellUnchecked(x, y) == color) count++;
+
+        int[] cells = new int[count];
+        int n = 0;
+        for (int x = 0; x < size; x++)
+            for (int y = 0; y < size; y++)
+                if (board.getCellUnchecked(x, y) == color) cells[n++] = x * size + y;
+        return cells;
+    }
+
+    private static void loadWord(Board board, int word, long whiteBits, long blackBits) {
+        if (board instanceof BitBoard bits) {
+            bits.loadWord(word, whiteBits, blackBits);
+            return;
+        }
+        // Разреженная доска получает только занятые клетки слова
+        for (long rest = whiteBits; rest != 0; rest &= rest - 1) {
+            place(board, (word << 6) + Long.numberOfTrailingZeros(rest), 'W');
+        }
+        for (long rest = blackBits; rest != 0; rest &= rest - 1) {
+            place(board, (word << 6) + Long.numberOfTrailingZeros(rest), 'B');
+        }
+    }
+
+    // Фишка в заведомо пустую клетку по индексу x * size + y
+    private static void place(Board board, int cell, char color) {
+        if (board instanceof BitBoard bits) bits.place(cell, color);
+        else board.setCellUnchecked(cell / board.getSize(), cell % board.getSize(), color);
+    }
+
+    private static void place(Board board, int[] cells, char color) {
+        int size = board.getSize();
+        for (int cell : cells) {
+            if (cell < 0 || cell >= size * size) throw new IllegalArgumentException("Coordinates out of board");
+            int x = cell / size, y = cell % size;
+            if (board.getCellUnchecked(x, y) != '.') throw new IllegalArgumentException("Cell already occupied");
+            board.setCellUnchecked(x, y, color);
+        }
+    }
+}
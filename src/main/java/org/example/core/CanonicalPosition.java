@@ -0,0 +1,141 @@
+package org.example.core;
+
+import java.util.Arrays;
+
+// Позиция, приведённая к канонической ориентации среди 8 симметрий квадрата (повороты и отражения).
+// Симметричные позиции с одним и тем же игроком на ходу дают равные объекты, а transform
+// переводит клетки канонической доски обратно в ориентацию исходной
+public final class CanonicalPosition {
+    public static final int SYMMETRIES = 8;
+
+    private final int size;
+    private final char toMove;
+    private final int transform;
+    // По 2 бита на клетку канонической доски в порядке обхода: 00 пусто, 01 белые, 10 чёрные
+    private final long[] words;
+    private final int hash;
+
+    private CanonicalPosition(int size, char toMove, int transform, long[] words) {
+        this.size = size;
+        this.toMove = toMove;
+        this.transform = transform;
+        this.words = words;
+        this.hash = 31 * (31 * size + toMove) + Arrays.hashCode(words);
+    }
+
+    public static CanonicalPosition of(Board board, char toMove) {
+        if (toMove != 'W' && toMove != 'B') throw new IllegalArgumentException("Invalid player color");
+        int size = board.getSize();
+        // Доска читается один раз, дальше все 8 ориентаций кодируются из массива кодов клеток
+        byte[] codes = new byte[size * size];
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                char c = board.getCellUnchecked(x, y);
+                codes[x * size + y] = (byte) (c == 'W' ? 1 : c == 'B' ? 2 : 0);
+            }
+        }
+
+        int length = (codes.length + 31) / 32;
+        long[] best = encode(codes, size, 0, new long[length]);
+        int bestTransform = 0;
+        long[] candidate = new long[length];
+        for (int t = 1; t < SYMMETRIES; t++) {
+            encode(codes, size, t, candidate);
+            if (Arrays.compare(candidate, best) < 0) {
+                long[] swap = best;
+                best = candidate;
+                candidate = swap;
+                bestTransform = t;
+            }
+        }
+        return new CanonicalPosition(size, toMove, bestTransform, best);
+    }
+
+    // Позиция без приведения: ключ только для самой доски в её ориентации (transform 0)
+    public static CanonicalPosition exact(Board board, char toMove) {
+        if (toMove != 'W' && toMove != 'B') throw new IllegalArgumentException("Invalid player color");
+        int size = board.getSize();
+        long[] words = new long[(size * size + 31) / 32];
+        int n = 0;
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++, n++) {
+                char c = board.getCellUnchecked(x, y);
+                long code = c == 'W' ? 1 : c == 'B' ? 2 : 0;
+                words[n >>> 5] |= code << ((n & 31) << 1);
+            }
+        }
+        return new CanonicalPosition(size, toMove, 0, words);
+    }
+
+    private static long[] encode(byte[] codes, int size, int transform, long[] words) {
+        Arrays.fill(words, 0);
+        int n = 0;
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++, n++) {
+                long code = codes[source(transform, i, j, size)];
+                words[n >>> 5] |= code << ((n & 31) << 1);
+            }
+        }
+        return words;
+    }
+
+    // Клетка исходной доски, которая при преобразовании t попадает в (i, j):
+    // бит 0 — транспонирование, бит 1 — отражение строк, бит 2 — отражение столбцов
+    private static int source(int t, int i, int j, int size) {
+        int x = (t & 1) != 0 ? j : i;
+        int y = (t & 1) != 0 ? i : j;
+        if ((t & 2) != 0) x = size - 1 - x;
+        if ((t & 4) != 0) y = size - 1 - y;
+        return x * size + y;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public char getToMove() {
+        return toMove;
+    }
+
+    public int getTransform() {
+        return transform;
+    }
+
+    // Клетка канонической доски (x * size + y) в ориентации исходной позиции
+    public int toOriginal(int canonicalCell) {
+        return source(transform, canonicalCell / size, canonicalCell % size, size);
+    }
+
+    // Клетка исходной позиции в ориентации канонической доски
+    public int toCanonical(int cell) {
+        int x = cell / size, y = cell % size;
+        if ((transform & 2) != 0) x = size - 1 - x;
+        if ((transform & 4) != 0) y = size - 1 - y;
+        return (transform & 1) != 0 ? y * size + x : x * size + y;
+    }
+
+    // 64-битный ключ позиции для внешних таблиц, например книги дебютов
+    public long getKey() {
+        long h = size * 31L + toMove;
+        for (long word : words) h = mix(h * 0x9E3779B97F4A7C15L + word);
+        return mix(h);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CanonicalPosition other)) return false;
+        return size == other.size && toMove == other.toMove && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.core;
+
+// События партии для интерфейсов. Ядро само ничего не выводит:
+// без слушателей партия идёт без ввода-вывода
+public interface GameListener {
+    default void gameStarted(SquaresGame game) {
+    }
+
+    default void movePlaced(SquaresGame game, char color, int x, int y) {
+    }
+
+    default void gameWon(SquaresGame game, char color, int[][] square) {
+    }
+
+    default void gameDrawn(SquaresGame game) {
+    }
+}
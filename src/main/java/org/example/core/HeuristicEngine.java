@@ -0,0 +1,19 @@
+package org.example.core;
+
+// Одноходовый каскад эвристик: выигрыш, блокировка, двойная угроза, стратегический и случайный ход.
+// Бюджет времени задаёт срок: после него каскад пропускает оставшиеся проверки и отдаёт лучший найденный ход
+public class HeuristicEngine implements MoveEngine {
+    public static final HeuristicEngine INSTANCE = new HeuristicEngine();
+
+    @Override
+    public int findMove(SquaresGame game, long timeBudgetMs) {
+        if (timeBudgetMs <= 0) return game.findHeuristicMove();
+
+        game.setSearchDeadline(System.nanoTime() + timeBudgetMs * 1_000_000);
+        try {
+            return game.findHeuristicMove();
+        } finally {
+            game.setSearchDeadline(0);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.core;
+
+import java.util.function.Supplier;
+
+// Движок, который создаётся при первом поиске хода. Партии, где компьютер ещё не ходил,
+// не держат таблиц перебора. Поиск в партии идёт под её блокировкой, поэтому создание не синхронизируется
+public class LazyMoveEngine implements MoveEngine {
+    private final Supplier<MoveEngine> factory;
+    private MoveEngine engine;
+
+    public LazyMoveEngine(Supplier<MoveEngine> factory) {
+        if (factory == null) throw new IllegalArgumentException("Factory must not be null");
+        this.factory = factory;
+    }
+
+    public boolean isCreated() {
+        return engine != null;
+    }
+
+    @Override
+    public int findMove(SquaresGame game, long timeBudgetMs) {
+        if (engine == null) engine = factory.get();
+        return engine.findMove(game, timeBudgetMs);
+    }
+}
@@ -0,0 +1,440 @@
+package org.example.core;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// Поиск по дереву Монте-Карло (UCT).
+// Спуск по дереву идёт по самой игре, поэтому вынужденные ходы берутся из индекса квадратов;
+// случайные доигрывания выполняются пачками на битовых масках без выделения памяти.
+// Экземпляр хранит дерево между вызовами и переиспользует его для следующих ходов той же партии.
+// Массивы дерева растут по мере раскрытия узлов до maxNodes, поэтому память следует за бюджетом поиска.
+public class MctsEngine implements MoveEngine {
+    public static final long DEFAULT_TIME_BUDGET_MS = 1000;
+    public static final int DEFAULT_MAX_NODES = 1 << 18;
+    public static final int DEFAULT_PLAYOUTS_PER_LEAF = 8;
+    static final int INITIAL_NODES = 1 << 10;
+
+    private static final double EXPLORATION = 1.4;
+    // Узел раскрывается лучшими по evaluateMoveStrategic ходами
+    private static final int EXPANSION_WIDTH = 16;
+    private static final byte LEAF = 0, EXPANDED = 1, WIN = 2, DRAW = 3;
+
+    private final int maxNodes;
+    private final int playoutsPerLeaf;
+    private final long maxPlayouts;
+    private final SplittableRandom random;
+
+    private int[] nodeMove;
+    private char[] nodeColor;
+    private long[] nodeHash;
+    private int[] nodeFirstChild;
+    private int[] nodeChildCount;
+    private int[] nodeVisits;
+    private float[] nodeWins;
+    private byte[] nodeState;
+    private int nodeCount;
+    private int root = -1;
+    private int treeSize = -1;
+    private long reusedVisits;
+
+    private SquaresGame game;
+    private Board board;
+    private int size;
+    private SquareGeometry geometry;
+    private int[] path;
+    private int[] baseWeights;
+    private int maxWeight;
+    private long[] leafWhite, leafBlack, playWhite, playBlack;
+    private int[] leafEmpty, playEmpty, playPosition;
+    // Угрозы доигрывания: клетки, замыкающие квадрат цвета (3 своих + 1 пустая); занятые отбрасываются при чтении
+    private int[] whiteThreats, blackThreats;
+    private int whiteThreatCount, blackThreatCount;
+
+    public MctsEngine() {
+        this(DEFAULT_MAX_NODES, DEFAULT_PLAYOUTS_PER_LEAF, 0, new SplittableRandom());
+    }
+
+    public MctsEngine(long seed) {
+        this(DEFAULT_MAX_NODES, DEFAULT_PLAYOUTS_PER_LEAF, 0, new SplittableRandom(seed));
+    }
+
+    // maxPlayouts > 0 ограничивает поиск числом доигрываний вместо времени
+    public MctsEngine(int maxNodes, int playoutsPerLeaf, long maxPlayouts, SplittableRandom random) {
+        if (maxNodes <= 1) throw new IllegalArgumentException("Max nodes must be > 1");
+        if (playoutsPerLeaf <= 0) throw new IllegalArgumentException("Playouts per leaf must be > 0");
+        if (maxPlayouts < 0) throw new IllegalArgumentException("Max playouts must be >= 0");
+        this.maxNodes = maxNodes;
+        this.playoutsPerLeaf = playoutsPerLeaf;
+        this.maxPlayouts = maxPlayouts;
+        this.random = random;
+        allocateNodes(Math.min(maxNodes, INITIAL_NODES));
+    }
+
+    @Override
+    public int findMove(SquaresGame game, long timeBudgetMs) {
+        char me = game.getCurrentPlayer().getColor();
+        char opp = game.getOpponentColor();
+
+        int win = game.findWinningCell(me);
+        if (win >= 0) return game.found(win, MoveStage.IMMEDIATE_WIN);
+        int block = game.findWinningCell(opp);
+        if (block >= 0) return game.found(block, MoveStage.BLOCK);
+        // Двойная угроза без угрозы соперника выигрывает: соперник закроет только одну клетку
+        int fork = game.findDoubleThreatCell(me);
+        if (fork >= 0) return game.found(fork, MoveStage.DOUBLE_THREAT);
+        if (!SquareGeometry.isSupported(game.getBoard().getSize())) return game.findHeuristicMove();
+
+        prepare(game);
+        long key = positionHash(me);
+        reuseOrReset(key, opp);
+
+        long budget = timeBudgetMs > 0 ? timeBudgetMs : DEFAULT_TIME_BUDGET_MS;
+        long deadline = System.nanoTime() + budget * 1_000_000;
+        long playouts = 0;
+        while (maxPlayouts > 0 ? playouts < maxPlayouts : System.nanoTime() - deadline < 0) {
+            playouts += iterate();
+            if (nodeChildCount[root] == 1) break;
+        }
+
+        int best = bestChild(root);
+        game.getSearchStats().addNodes(playouts);
+        this.game = null;
+        this.board = null;
+        return best >= 0 ? game.found(nodeMove[best], MoveStage.SEARCH) : game.findHeuristicMove();
+    }
+
+    // Число посещений корня, унаследованных от предыдущего поиска
+    public long getReusedVisits() {
+        return reusedVisits;
+    }
+
+    public int getRootVisits() {
+        return root >= 0 ? nodeVisits[root] : 0;
+    }
+
+    // Число узлов, под которые сейчас выделены массивы дерева
+    public int getNodeCapacity() {
+        return nodeMove.length;
+    }
+
+    private void prepare(SquaresGame game) {
+        this.game = game;
+        this.board = game.getBoard();
+        int newSize = board.getSize();
+        if (newSize == size && geometry != null) return;
+
+        this.size = newSize;
+        this.geometry = SquareGeometry.forSize(size);
+        int cells = size * size;
+        int words = (cells + 63) >>> 6;
+        this.path = new int[cells + 1];
+        this.baseWeights = new int[cells];
+        this.maxWeight = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            baseWeights[cell] = SquaresGame.centerWeight(cell / size, cell % size, size);
+            maxWeight = Math.max(maxWeight, baseWeights[cell] + 2);
+        }
+        this.leafWhite = new long[words];
+        this.leafBlack = new long[words];
+        this.playWhite = new long[words];
+        this.playBlack = new long[words];
+        this.leafEmpty = new int[cells];
+        this.playEmpty = new int[cells];
+        this.playPosition = new int[cells];
+        this.whiteThreats = new int[cells];
+        this.blackThreats = new int[cells];
+        this.root = -1;
+    }
+
+    // Ищет текущую позицию среди корня, его детей и внуков; иначе строит дерево заново
+    private void reuseOrReset(long key, char lastMover) {
+        int found = -1;
+        if (root >= 0 && treeSize == size && nodeCount < maxNodes - size * size) {
+            if (nodeHash[root] == key) found = root;
+            for (int i = 0; found < 0 && i < nodeChildCount[root]; i++) {
+                int child = nodeFirstChild[root] + i;
+                if (nodeHash[child] == key) found = child;
+                for (int j = 0; found < 0 && j < nodeChildCount[child]; j++) {
+                    int grandChild = nodeFirstChild[child] + j;
+                    if (nodeHash[grandChild] == key) found = grandChild;
+                }
+            }
+        }
+
+        if (found >= 0 && nodeState[found] != WIN && nodeState[found] != DRAW) {
+            root = found;
+            reusedVisits = nodeVisits[root];
+        } else {
+            nodeCount = 0;
+            root = newNode(-1, lastMover, key);
+            reusedVisits = 0;
+        }
+        treeSize = size;
+        if (nodeState[root] == LEAF) expand(root);
+    }
+
+    // Одна итерация: спуск, раскрытие, пачка доигрываний и обратное распространение
+    private int iterate() {
+        int depth = 0;
+        int node = root;
+        path[depth++] = node;
+        while (nodeState[node] == EXPANDED) {
+            node = selectChild(node);
+            game.play(nodeMove[node], nodeColor[node]);
+            path[depth++] = node;
+        }
+
+        if (nodeState[node] == LEAF) {
+            if (game.hasSquare(nodeColor[node])) {
+                nodeState[node] = WIN;
+            } else if (board.isFull()) {
+                nodeState[node] = DRAW;
+            } else if (nodeVisits[node] > 0 && expand(node)) {
+                node = nodeFirstChild[node];
+                game.play(nodeMove[node], nodeColor[node]);
+                path[depth++] = node;
+                if (game.hasSquare(nodeColor[node])) nodeState[node] = WIN;
+            }
+        }
+
+        int playouts = nodeState[node] == LEAF ? playoutsPerLeaf : 1;
+        float leafMoverWins;
+        if (nodeState[node] == WIN) leafMoverWins = playouts;
+        else if (nodeState[node] == DRAW || board.isFull()) leafMoverWins = playouts * 0.5f;
+        else leafMoverWins = playouts(opposite(nodeColor[node]), playouts);
+
+        for (int i = depth - 1; i >= 1; i--) game.undo(nodeMove[path[i]]);
+
+        char leafMover = nodeColor[node];
+        for (int i = 0; i < depth; i++) {
+            int n = path[i];
+            nodeVisits[n] += playouts;
+            nodeWins[n] += nodeColor[n] == leafMover ? leafMoverWins : playouts - leafMoverWins;
+        }
+        return playouts;
+    }
+
+    private int selectChild(int node) {
+        int first = nodeFirstChild[node];
+        int count = nodeChildCount[node];
+        double logParent = Math.log(Math.max(1, nodeVisits[node]));
+        int best = first;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int child = first; child < first + count; child++) {
+            int visits = nodeVisits[child];
+            if (visits == 0) return child;
+            double value = nodeWins[child] / visits + EXPLORATION * Math.sqrt(logParent / visits);
+            if (value > bestValue) {
+                bestValue = value;
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    private int bestChild(int node) {
+        int best = -1;
+        for (int child = nodeFirstChild[node]; child < nodeFirstChild[node] + nodeChildCount[node]; child++) {
+            if (best < 0 || nodeVisits[child] > nodeVisits[best]) best = child;
+        }
+        return best;
+    }
+
+    // Раскрывает узел в позиции, которая сейчас стоит на доске игры
+    private boolean expand(int node) {
+        char toMove = opposite(nodeColor[node]);
+        long hash = nodeHash[node] ^ Zobrist.BLACK_TO_MOVE;
+        int cells = size * size;
+        if (nodeCount + cells > maxNodes) return false;
+        ensureNodes(nodeCount + cells);
+
+        int first = nodeCount;
+        int forced = game.findWinningCell(toMove);
+        if (forced < 0) forced = game.findWinningCell(nodeColor[node]);
+        if (forced >= 0) {
+            newNode(forced, toMove, hash ^ Zobrist.key(forced, toMove));
+        } else {
+            // Своя двойная угроза выигрывает и становится единственным ходом; чужая идёт первой,
+            // затем лучшие стратегические ходы
+            int attack = game.findDoubleThreatCell(toMove);
+            if (attack >= 0) {
+                newNode(attack, toMove, hash ^ Zobrist.key(attack, toMove));
+            } else {
+                int defence = game.findDoubleThreatCell(nodeColor[node]);
+                if (defence >= 0) newNode(defence, toMove, hash ^ Zobrist.key(defence, toMove));
+                for (int cell : game.findStrategicCandidates(toMove, nodeColor[node], EXPANSION_WIDTH)) {
+                    if (cell != defence) newNode(cell, toMove, hash ^ Zobrist.key(cell, toMove));
+                }
+            }
+        }
+
+        nodeFirstChild[node] = first;
+        nodeChildCount[node] = nodeCount - first;
+        if (nodeChildCount[node] == 0) return false;
+        nodeState[node] = EXPANDED;
+        return true;
+    }
+
+    // Пачка доигрываний из текущей позиции игры; возвращает число побед стороны, не делающей ход.
+    // Ходы доигрывания: свой выигрыш, иначе блокировка выигрыша соперника, иначе случайная клетка по весу
+    private float playouts(char toMove, int count) {
+        loadLeaf();
+        int leafEmptyCount = collectEmpty();
+        int leafWhiteThreat = game.findWinningCell('W');
+        int leafBlackThreat = game.findWinningCell('B');
+        char lastMover = opposite(toMove);
+        float lastMoverWins = 0;
+
+        for (int p = 0; p < count; p++) {
+            System.arraycopy(leafWhite, 0, playWhite, 0, leafWhite.length);
+            System.arraycopy(leafBlack, 0, playBlack, 0, leafBlack.length);
+            System.arraycopy(leafEmpty, 0, playEmpty, 0, leafEmptyCount);
+            for (int i = 0; i < leafEmptyCount; i++) playPosition[playEmpty[i]] = i;
+            whiteThreatCount = 0;
+            blackThreatCount = 0;
+            if (leafWhiteThreat >= 0) whiteThreats[whiteThreatCount++] = leafWhiteThreat;
+            if (leafBlackThreat >= 0) blackThreats[blackThreatCount++] = leafBlackThreat;
+            int remaining = leafEmptyCount;
+            char turn = toMove;
+            char winner = '.';
+
+            while (remaining > 0) {
+                int cell = liveThreat(turn);
+                if (cell < 0) cell = liveThreat(opposite(turn));
+                if (cell < 0) {
+                    // Выборка с отклонением: вероятность клетки пропорциональна весу calculateCellWeight
+                    do {
+                        cell = playEmpty[random.nextInt(remaining)];
+                    } while (random.nextInt(maxWeight) >= baseWeights[cell] + random.nextInt(3));
+                }
+                int last = playEmpty[--remaining];
+                playEmpty[playPosition[cell]] = last;
+                playPosition[last] = playPosition[cell];
+
+                if (place(cell, turn)) {
+                    winner = turn;
+                    break;
+                }
+                turn = opposite(turn);
+            }
+
+            if (winner == lastMover) lastMoverWins += 1;
+            else if (winner == '.') lastMoverWins += 0.5f;
+        }
+        return lastMoverWins;
+    }
+
+    // Последняя ещё пустая клетка-угроза цвета или -1
+    private int liveThreat(char color) {
+        int[] threats = color == 'W' ? whiteThreats : blackThreats;
+        int count = color == 'W' ? whiteThreatCount : blackThreatCount;
+        while (count > 0 && !isEmpty(threats[count - 1])) count--;
+        if (color == 'W') whiteThreatCount = count;
+        else blackThreatCount = count;
+        return count > 0 ? threats[count - 1] : -1;
+    }
+
+    // Ставит фишку цвета в доигрывании; true — квадрат замкнут. Квадраты, где у цвета стало
+    // три фишки при пустой четвёртой вершине, добавляют эту вершину в угрозы цвета
+    private boolean place(int cell, char color) {
+        long[] own = color == 'W' ? playWhite : playBlack;
+        long[] opp = color == 'W' ? playBlack : playWhite;
+        own[cell >>> 6] |= 1L << cell;
+        int[] threats = color == 'W' ? whiteThreats : blackThreats;
+        int count = color == 'W' ? whiteThreatCount : blackThreatCount;
+
+        for (int i = geometry.incidenceStart(cell); i < geometry.incidenceEnd(cell); i++) {
+            int square = geometry.incidentSquare(i);
+            int owned = 0;
+            int empty = -1;
+            for (int k = 0; k < 4; k++) {
+                int corner = geometry.corner(square, k);
+                if ((own[corner >>> 6] & (1L << corner)) != 0) owned++;
+                else if ((opp[corner >>> 6] & (1L << corner)) == 0) empty = corner;
+            }
+            if (owned == 4) return true;
+            if (owned == 3 && empty >= 0 && count < threats.length) threats[count++] = empty;
+        }
+        if (color == 'W') whiteThreatCount = count;
+        else blackThreatCount = count;
+        return false;
+    }
+
+    private boolean isEmpty(int cell) {
+        return ((playWhite[cell >>> 6] | playBlack[cell >>> 6]) & (1L << cell)) == 0;
+    }
+
+    private void loadLeaf() {
+        if (board instanceof BitBoard bitBoard) {
+            bitBoard.copyBits(leafWhite, leafBlack);
+            return;
+        }
+        Arrays.fill(leafWhite, 0);
+        Arrays.fill(leafBlack, 0);
+        for (int cell = 0; cell < size * size; cell++) {
+            char c = board.getCellUnchecked(cell / size, cell % size);
+            if (c == 'W') leafWhite[cell >>> 6] |= 1L << cell;
+            else if (c == 'B') leafBlack[cell >>> 6] |= 1L << cell;
+        }
+    }
+
+    private int collectEmpty() {
+        int count = 0;
+        int cells = size * size;
+        for (int word = 0; word < leafWhite.length; word++) {
+            long empty = ~(leafWhite[word] | leafBlack[word]);
+            while (empty != 0) {
+                int cell = (word << 6) + Long.numberOfTrailingZeros(empty);
+                if (cell >= cells) break;
+                leafEmpty[count++] = cell;
+                empty &= empty - 1;
+            }
+        }
+        return count;
+    }
+
+    private void ensureNodes(int nodes) {
+        if (nodes <= nodeMove.length) return;
+        int capacity = (int) Math.min(maxNodes, Math.max(nodes, 2L * nodeMove.length));
+        nodeMove = Arrays.copyOf(nodeMove, capacity);
+        nodeColor = Arrays.copyOf(nodeColor, capacity);
+        nodeHash = Arrays.copyOf(nodeHash, capacity);
+        nodeFirstChild = Arrays.copyOf(nodeFirstChild, capacity);
+        nodeChildCount = Arrays.copyOf(nodeChildCount, capacity);
+        nodeVisits = Arrays.copyOf(nodeVisits, capacity);
+        nodeWins = Arrays.copyOf(nodeWins, capacity);
+        nodeState = Arrays.copyOf(nodeState, capacity);
+    }
+
+    private void allocateNodes(int capacity) {
+        nodeMove = new int[capacity];
+        nodeColor = new char[capacity];
+        nodeHash = new long[capacity];
+        nodeFirstChild = new int[capacity];
+        nodeChildCount = new int[capacity];
+        nodeVisits = new int[capacity];
+        nodeWins = new float[capacity];
+        nodeState = new byte[capacity];
+    }
+
+    private int newNode(int move, char color, long hash) {
+        int node = nodeCount++;
+        nodeMove[node] = move;
+        nodeColor[node] = color;
+        nodeHash[node] = hash;
+        nodeFirstChild[node] = -1;
+        nodeChildCount[node] = 0;
+        nodeVisits[node] = 0;
+        nodeWins[node] = 0;
+        nodeState[node] = LEAF;
+        return node;
+    }
+
+    private long positionHash(char toMove) {
+        return game.getHash() ^ (toMove == 'B' ? Zobrist.BLACK_TO_MOVE : 0);
+    }
+
+    private static char opposite(char color) {
+        return color == 'W' ? 'B' : 'W';
+    }
+}
@@ -0,0 +1,237 @@
+package org.example.core;
+
+import java.util.Arrays;
+
+// Кандидаты хода для позиции: пустые клетки, отобранные и упорядоченные один раз — общий вход этапов каскада
+// и перебора вместо отдельных проходов по доске. Отбираются клетки не дальше NEIGHBOURHOOD от фишек и клетки,
+// где по индексу квадратов есть угроза или квадрат с двумя фишками цвета (они бывают и далеко от фишек).
+// Порядок — по убыванию оценки: угрозы, стратегическая оценка клетки, соседние фишки и история;
+// при равной оценке — порядок обхода доски. Буферы и история выделяются при первом использовании
+// (партия без ходов компьютера их не держит) и дальше переиспользуются, построение не выделяет память
+final class MoveCandidates {
+    static final int NEIGHBOURHOOD = 2;
+
+    private static final int WIN_BONUS = 100_000;
+    private static final int BLOCK_BONUS = 50_000;
+    private static final int OWN_PAIR_BONUS = 30;
+    private static final int OPP_PAIR_BONUS = 20;
+    private static final int NEIGHBOUR_BONUS = 4;
+    // История: клетки, ходы в которые давали отсечения перебора; таблица общая для всех размеров,
+    // совпадения номеров по модулю её размера только слегка сдвигают порядок
+    private static final int HISTORY_SIZE = 1 << 12;
+    private static final int HISTORY_LIMIT = 1 << 16;
+
+    private static final int[] NO_CELLS = {};
+    private static final long[] NO_KEYS = {};
+
+    // Заводится первым отсечением перебора — эвристике история не нужна
+    private int[] history;
+    private boolean pruning = true;
+    private int[] cells = NO_CELLS;
+    private long[] keys = NO_KEYS;
+    // Отметки окрестности фишек на плотной доске: клетка отмечена, если в ней текущий номер построения
+    private int[] marks;
+    private int stamp;
+    private int count;
+    // Кандидат с наибольшей стратегической оценкой без бонусов отбора (первый в порядке обхода) и его оценка
+    private int strategicCell = -1;
+    private int strategicScore;
+
+    // false — все пустые клетки и только стратегическая оценка, как до отбора кандидатов (для сравнения);
+    // на SparseBoard окрестность остаётся всегда — обойти всю площадь там нельзя
+    void setPruning(boolean pruning) {
+        this.pruning = pruning;
+    }
+
+    boolean isPruning() {
+        return pruning;
+    }
+
+    int cell(int i) {
+        return cells[i];
+    }
+
+    int count() {
+        return count;
+    }
+
+    // Отбор и упорядочивание для хода цвета me; возвращает число кандидатов
+    int build(SquaresGame game, char me, char opp) {
+        collect(game);
+        Board board = game.getBoard();
+        SquareIndex index = game.getIndex();
+        int size = board.getSize();
+        ensureCapacity(count);
+        strategicCell = -1;
+
+        // Отбор возвращает клетки в порядке обхода, поэтому при равной оценке остаётся первая
+        for (int i = 0; i < count; i++) {
+            int cell = cells[i];
+            int x = cell / size, y = cell % size;
+            int score = game.evaluateMoveStrategic(x, y, me, opp);
+            if (strategicCell < 0 || score > strategicScore) {
+                strategicCell = cell;
+                strategicScore = score;
+            }
+            if (pruning) {
+                if (index != null) {
+                    if (index.threatCount(cell, me) > 0) score += WIN_BONUS;
+                    if (index.threatCount(cell, opp) > 0) score += BLOCK_BONUS;
+                    score += index.pairCount(cell, me) * OWN_PAIR_BONUS + index.pairCount(cell, opp) * OPP_PAIR_BONUS;
+                }
+                score += countNeighbours(board, x, y) * NEIGHBOUR_BONUS;
+                if (history != null) score += history[slot(cell)];
+            }
+            // Сортировка по ключу: старшая половина — оценка по убыванию, младшая — номер клетки по возрастанию
+            keys[i] = ((long) -score << 32) | cell;
+        }
+        Arrays.sort(keys, 0, count);
+        for (int i = 0; i < count; i++) cells[i] = (int) keys[i];
+        return count;
+    }
+
+    // Лучшая по одной стратегической оценке пустая клетка после build, первая в порядке обхода при равенстве.
+    // Кандидаты уже оценены. Пустая клетка плотной доски вне кандидатов дальше NEIGHBOURHOOD от всех фишек,
+    // в её квадратах 2x2 фишек нет, и её оценка — только близость к центру (size - d) * 3, где d — расстояние
+    // до центра. Такие клетки проверяются кольцами от центра, пока близость может догнать лучшую оценку;
+    // на SparseBoard, как и раньше, стратегический ход выбирается среди окрестности фишек
+    int bestStrategic(SquaresGame game) {
+        Board board = game.getBoard();
+        if (strategicCell < 0 || !pruning || board instanceof SparseBoard) return strategicCell;
+
+        SquareIndex index = game.getIndex();
+        int size = board.getSize();
+        int center = size / 2;
+        int best = strategicCell;
+        int bestScore = strategicScore;
+        for (int d = 0; d <= 2 * size && (size - d) * 3 >= bestScore; d++) {
+            int score = (size - d) * 3;
+            for (int x = Math.max(0, center - d); x <= Math.min(size - 1, center + d); x++) {
+                int rest = d - Math.abs(x - center);
+                for (int y = center - rest; y <= center + rest; y += Math.max(1, 2 * rest)) {
+                    if (y < 0 || y >= size) continue;
+                    int cell = x * size + y;
+                    if (board.getCellUnchecked(x, y) != '.' || marks[cell] == stamp) continue;
+                    if (index != null && index.hasPotential(cell)) continue;
+                    if (score > bestScore || cell < best) {
+                        best = cell;
+                        bestScore = score;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    // Только отбор, в порядке обхода доски — когда оценка кандидатов не нужна
+    int collect(SquaresGame game) {
+        Board board = game.getBoard();
+        int size = board.getSize();
+        count = 0;
+
+        if (board instanceof SparseBoard sparse) {
+            collectSparse(sparse);
+        } else if (!pruning) {
+            ensureCapacity(size * size);
+            for (int x = 0; x < size; x++)
+                for (int y = 0; y < size; y++)
+                    if (board.getCellUnchecked(x, y) == '.') cells[count++] = x * size + y;
+            return count;
+        } else {
+            collectDense(board, game.getIndex());
+        }
+
+        if (count > 0 || board.isFull()) return count;
+        // Пустая доска — центр; окрестности заняты целиком — первая пустая клетка
+        ensureCapacity(1);
+        int center = (size / 2) * size + size / 2;
+        if (board.getCellUnchecked(size / 2, size / 2) == '.') {
+            cells[count++] = center;
+            return count;
+        }
+        for (int cell = 0; ; cell++) {
+            if (board.getCellUnchecked(cell / size, cell % size) == '.') {
+                cells[count++] = cell;
+                return count;
+            }
+        }
+    }
+
+    private void collectDense(Board board, SquareIndex index) {
+        int size = board.getSize();
+        int area = size * size;
+        if (marks == null || marks.length != area) {
+            marks = new int[area];
+            stamp = 0;
+        }
+        stamp++;
+
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                if (board.getCellUnchecked(x, y) == '.') continue;
+                for (int nx = Math.max(0, x - NEIGHBOURHOOD); nx <= Math.min(size - 1, x + NEIGHBOURHOOD); nx++)
+                    for (int ny = Math.max(0, y - NEIGHBOURHOOD); ny <= Math.min(size - 1, y + NEIGHBOURHOOD); ny++)
+                        marks[nx * size + ny] = stamp;
+            }
+        }
+
+        ensureCapacity(area);
+        for (int cell = 0; cell < area; cell++) {
+            if (board.getCellUnchecked(cell / size, cell % size) != '.') continue;
+            if (marks[cell] == stamp || index != null && index.hasPotential(cell)) cells[count++] = cell;
+        }
+    }
+
+    private void collectSparse(SparseBoard sparse) {
+        int size = sparse.getSize();
+        int side = 2 * NEIGHBOURHOOD + 1;
+        ensureCapacity(sparse.getOccupiedCount() * side * side);
+        for (int slot = 0; slot < sparse.capacity(); slot++) {
+            int cell = sparse.cellAt(slot);
+            if (cell < 0) continue;
+            int x = cell / size, y = cell % size;
+            for (int nx = Math.max(0, x - NEIGHBOURHOOD); nx <= Math.min(size - 1, x + NEIGHBOURHOOD); nx++)
+                for (int ny = Math.max(0, y - NEIGHBOURHOOD); ny <= Math.min(size - 1, y + NEIGHBOURHOOD); ny++)
+                    if (sparse.getCellUnchecked(nx, ny) == '.') cells[count++] = nx * size + ny;
+        }
+
+        // Окрестности соседних фишек пересекаются — повторы убираются после сортировки
+        Arrays.sort(cells, 0, count);
+        int unique = 0;
+        for (int i = 0; i < count; i++)
+            if (unique == 0 || cells[unique - 1] != cells[i]) cells[unique++] = cells[i];
+        count = unique;
+    }
+
+    // Ход cell на глубине depth вызвал отсечение
+    void recordCutoff(int cell, int depth) {
+        if (history == null) history = new int[HISTORY_SIZE];
+        int slot = slot(cell);
+        history[slot] = Math.min(HISTORY_LIMIT, history[slot] + depth * depth);
+    }
+
+    // Перед новым поиском старая история теряет половину веса
+    void age() {
+        if (history == null) return;
+        for (int i = 0; i < HISTORY_SIZE; i++) history[i] >>= 1;
+    }
+
+    private static int countNeighbours(Board board, int x, int y) {
+        int neighbours = 0;
+        for (int nx = x - 1; nx <= x + 1; nx++)
+            for (int ny = y - 1; ny <= y + 1; ny++)
+                if (board.isInside(nx, ny) && board.getCellUnchecked(nx, ny) != '.') neighbours++;
+        return neighbours;
+    }
+
+    private static int slot(int cell) {
+        return (cell * 0x9E3779B9) >>> 20;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (cells.length >= capacity) return;
+        int length = Math.max(capacity, cells.length * 2);
+        cells = Arrays.copyOf(cells, length);
+        keys = new long[length];
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.core;
+
+public interface MoveEngine {
+    // Ход для текущего игрока в упакованном виде (x * size + y) или -1, если ходов нет.
+    // timeBudgetMs <= 0 означает бюджет по умолчанию для движка
+    int findMove(SquaresGame game, long timeBudgetMs);
+}
@@ -0,0 +1,56 @@
+package org.example.core;
+
+import java.util.concurrent.ForkJoinPool;
+
+public final class MoveEngines {
+    public static final String HEURISTIC = "heuristic";
+    public static final String ALPHA_BETA = "alphabeta";
+    public static final String PARALLEL = "parallel";
+    // MCTS пока уступает эвристике на равном времени и выбирается только в турнире движков, не через create
+    public static final String MCTS = "mcts";
+
+    private MoveEngines() {
+    }
+
+    public static MoveEngine create(String name) {
+        return create(name, ForkJoinPool.commonPool(), Runtime.getRuntime().availableProcessors());
+    }
+
+    // pool и parallelism используются только параллельным движком
+    public static MoveEngine create(String name, ForkJoinPool pool, int parallelism) {
+        if (isHeuristic(name)) return HeuristicEngine.INSTANCE;
+        if (name.equalsIgnoreCase(ALPHA_BETA)) return new AlphaBetaEngine();
+        if (name.equalsIgnoreCase(PARALLEL)) return new ParallelSearchEngine(pool, parallelism);
+        throw new IllegalArgumentException("Unknown engine: " + name);
+    }
+
+    // Тот же движок, но позиции из книги дебютов отдаются сразу
+    public static MoveEngine create(String name, ForkJoinPool pool, int parallelism, OpeningBook book) {
+        MoveEngine engine = create(name, pool, parallelism);
+        return book.size() > 0 ? new OpeningBookEngine(book, engine) : engine;
+    }
+
+    // То же, но движок перебора создаётся при первом ходе компьютера; имя проверяется сразу.
+    // Эвристика таблиц не держит и отдаётся как есть
+    public static MoveEngine createLazy(String name, ForkJoinPool pool, int parallelism, OpeningBook book) {
+        if (isHeuristic(name)) return create(name, pool, parallelism, book);
+        if (!name.equalsIgnoreCase(ALPHA_BETA) && !name.equalsIgnoreCase(PARALLEL)) {
+            throw new IllegalArgumentException("Unknown engine: " + name);
+        }
+        return new LazyMoveEngine(() -> create(name, pool, parallelism, book));
+    }
+
+    // Память, которую движок держит за партию: таблица транспозиций перебора (ключ, оценка и ход на запись).
+    // Параллельный движок перебирает на движках потоков пула и за партию памяти не держит
+    public static long estimateFootprintBytes(String name) {
+        if (name != null && name.equalsIgnoreCase(ALPHA_BETA)) {
+            return (long) AlphaBetaEngine.DEFAULT_TABLE_SIZE * (Long.BYTES + 2 * Integer.BYTES);
+        }
+        return 0;
+    }
+
+    // Имя выбирает эвристику — движок по умолчанию
+    public static boolean isHeuristic(String name) {
+        return name == null || name.isBlank() || name.equalsIgnoreCase(HEURISTIC);
+    }
+}
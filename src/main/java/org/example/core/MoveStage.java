@@ -0,0 +1,12 @@
+package org.example.core;
+
+// Источник хода: этап каскада эвристик, книга дебютов или перебор движка
+public enum MoveStage {
+    BOOK,
+    IMMEDIATE_WIN,
+    BLOCK,
+    DOUBLE_THREAT,
+    STRATEGIC,
+    RANDOM,
+    SEARCH
+}
@@ -0,0 +1,114 @@
+package org.example.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+// Книга дебютов: ход для канонических позиций маленьких досок.
+// Файл — таблица с открытой адресацией: заголовок, затем capacity ключей CanonicalPosition.getKey()
+// (0 — пустой слот) и capacity байт с ходом в канонической ориентации. Файл можно отобразить в память
+// и читать без разбора, поиск — одно вычисление ключа и несколько сравнений
+public final class OpeningBook {
+    public static final OpeningBook EMPTY = new OpeningBook(null, 0, 0, 0, 0);
+
+    private static final int MAGIC = 0x53514F42;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 24;
+
+    private final ByteBuffer buffer;
+    private final int minSize;
+    private final int maxSize;
+    private final int mask;
+    private final int count;
+
+    private OpeningBook(ByteBuffer buffer, int minSize, int maxSize, int capacity, int count) {
+        this.buffer = buffer;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.mask = capacity - 1;
+        this.count = count;
+    }
+
+    public static OpeningBook map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return of(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    // Книга из потока, например ресурса внутри jar, который нельзя отобразить в память
+    public static OpeningBook read(InputStream in) throws IOException {
+        return of(ByteBuffer.wrap(in.readAllBytes()));
+    }
+
+    private static OpeningBook of(ByteBuffer buffer) {
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC)
+            throw new IllegalArgumentException("Not an opening book");
+        if (buffer.getInt(4) != VERSION) throw new IllegalArgumentException("Unsupported opening book version");
+
+        int minSize = buffer.getInt(8);
+        int maxSize = buffer.getInt(12);
+        int capacity = buffer.getInt(16);
+        int count = buffer.getInt(20);
+        if (Integer.bitCount(capacity) != 1 || buffer.capacity() != HEADER_BYTES + (long) capacity * 9)
+            throw new IllegalArgumentException("Corrupted opening book");
+        return new OpeningBook(buffer, minSize, maxSize, capacity, count);
+    }
+
+    // entries: ключ позиции -> ход в канонической ориентации; заполнение таблицы не выше половины
+    static void write(Path file, Map<Long, Integer> entries, int minSize, int maxSize) throws IOException {
+        int capacity = Integer.highestOneBit(Math.max(1, entries.size()) * 2 - 1) << 1;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + capacity * 9);
+        buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, minSize).putInt(12, maxSize)
+                .putInt(16, capacity).putInt(20, entries.size());
+
+        int cells = HEADER_BYTES + capacity * 8;
+        for (Map.Entry<Long, Integer> entry : entries.entrySet()) {
+            long key = nonZero(entry.getKey());
+            int slot = slot(key, capacity - 1);
+            while (buffer.getLong(HEADER_BYTES + slot * 8) != 0) slot = (slot + 1) & (capacity - 1);
+            buffer.putLong(HEADER_BYTES + slot * 8, key);
+            buffer.put(cells + slot, entry.getValue().byteValue());
+        }
+        Files.write(file, buffer.array());
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public boolean covers(int size) {
+        return count > 0 && size >= minSize && size <= maxSize;
+    }
+
+    // Ход из книги в ориентации доски (x * size + y) или -1
+    public int lookup(Board board, char toMove) {
+        if (!covers(board.getSize())) return -1;
+
+        CanonicalPosition position = CanonicalPosition.of(board, toMove);
+        long key = nonZero(position.getKey());
+        int cells = HEADER_BYTES + (mask + 1) * 8;
+        for (int slot = slot(key, mask); ; slot = (slot + 1) & mask) {
+            long stored = buffer.getLong(HEADER_BYTES + slot * 8);
+            if (stored == 0) return -1;
+            if (stored == key) {
+                int cell = position.toOriginal(buffer.get(cells + slot));
+                int size = board.getSize();
+                // Совпадение 64-битных ключей разных позиций маловероятно, но занятую клетку не отдаём
+                return board.getCellUnchecked(cell / size, cell % size) == '.' ? cell : -1;
+            }
+        }
+    }
+
+    private static long nonZero(long key) {
+        return key != 0 ? key : 1;
+    }
+
+    private static int slot(long key, int mask) {
+        return (int) (key ^ (key >>> 32)) & mask;
+    }
+}
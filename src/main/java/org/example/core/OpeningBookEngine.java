@@ -0,0 +1,23 @@
+package org.example.core;
+
+// Ход из книги дебютов, если позиция в ней есть, иначе ход движка delegate
+public class OpeningBookEngine implements MoveEngine {
+    private final OpeningBook book;
+    private final MoveEngine delegate;
+
+    public OpeningBookEngine(OpeningBook book, MoveEngine delegate) {
+        if (book == null || delegate == null) throw new IllegalArgumentException("Book and engine must not be null");
+        this.book = book;
+        this.delegate = delegate;
+    }
+
+    public MoveEngine getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public int findMove(SquaresGame game, long timeBudgetMs) {
+        int cell = book.lookup(game.getBoard(), game.getCurrentPlayer().getColor());
+        return cell >= 0 ? game.found(cell, MoveStage.BOOK) : delegate.findMove(game, timeBudgetMs);
+    }
+}
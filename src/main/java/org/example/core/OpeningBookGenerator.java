@@ -0,0 +1,122 @@
+package org.example.core;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+// Построение книги дебютов: все незавершённые позиции первых полуходов, с точностью до симметрии,
+// для обоих цветов первого хода. Ход каждой позиции выбирает перебор фиксированной глубины,
+// поэтому книга не зависит от скорости машины. Запуск: gradle openingBook
+public final class OpeningBookGenerator {
+    // {размер доски, число полуходов от пустой доски, глубина перебора}; 3x3 перебирается до конца партии
+    private static final int[][] PLAN = {
+            {3, 9, AlphaBetaEngine.MAX_PLY},
+            {4, 4, 6},
+            {5, 3, 4},
+            {6, 2, 5},
+    };
+
+    private static final long SEARCH_BUDGET_MS = 3_600_000;
+
+    private OpeningBookGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: OpeningBookGenerator <output file>");
+            System.exit(2);
+        }
+
+        Map<Long, Integer> entries = new ConcurrentHashMap<>();
+        for (int[] plan : PLAN) {
+            long start = System.nanoTime();
+            List<Board> positions = new ArrayList<>();
+            List<Character> toMove = new ArrayList<>();
+            for (char first : new char[]{'W', 'B'}) {
+                for (Map.Entry<CanonicalPosition, Board> entry : enumerate(plan[0], plan[1], first).entrySet()) {
+                    positions.add(entry.getValue());
+                    toMove.add(entry.getKey().getToMove());
+                }
+            }
+
+            // Позиции независимы и считаются на всех ядрах; каждая — своей игрой и своим движком
+            ForkJoinPool.commonPool().submit(() -> IntStream.range(0, positions.size()).parallel().forEach(i -> {
+                Board board = positions.get(i);
+                char color = toMove.get(i);
+                SquaresGame game = new SquaresGame(i);
+                game.loadBoard(copy(board), color);
+                game.setEngine(new ParallelSearchEngine(ForkJoinPool.commonPool(), 1,
+                        ParallelSearchEngine.DEFAULT_ROOT_CANDIDATES, plan[2]));
+                // Бюджет заведомо больше времени перебора: ход определяет только глубина
+                game.setTimeBudgetMs(SEARCH_BUDGET_MS);
+                int cell = game.findNextMoveCell();
+
+                CanonicalPosition position = CanonicalPosition.of(board, color);
+                entries.put(position.getKey(), position.toCanonical(cell));
+            })).join();
+
+            System.out.printf("%dx%d: %d positions in %d ms%n", plan[0], plan[0], positions.size(),
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+
+        Path output = Path.of(args[0]);
+        OpeningBook.write(output, entries, PLAN[0][0], PLAN[PLAN.length - 1][0]);
+        System.out.println("Written " + entries.size() + " positions to " + output);
+    }
+
+    // Незавершённые позиции, в которых сделано не больше plies полуходов, если первым ходит first
+    static Map<CanonicalPosition, Board> enumerate(int size, int plies, char first) {
+        Map<CanonicalPosition, Board> result = new LinkedHashMap<>();
+        Map<CanonicalPosition, Board> level = new HashMap<>();
+        Board empty = Board.create(size);
+        level.put(CanonicalPosition.of(empty, first), empty);
+
+        for (int ply = 0; ply <= plies && !level.isEmpty(); ply++) {
+            char color = ply % 2 == 0 ? first : opponent(first);
+            Map<CanonicalPosition, Board> next = new HashMap<>();
+            for (Map.Entry<CanonicalPosition, Board> entry : level.entrySet()) {
+                Board board = entry.getValue();
+                if (isFinished(board, color)) continue;
+                result.put(entry.getKey(), board);
+                if (ply == plies) continue;
+
+                for (int x = 0; x < size; x++) {
+                    for (int y = 0; y < size; y++) {
+                        if (board.getCellUnchecked(x, y) != '.') continue;
+                        Board child = copy(board);
+                        child.setCellUnchecked(x, y, color);
+                        next.putIfAbsent(CanonicalPosition.of(child, opponent(color)), child);
+                    }
+                }
+            }
+            level = next;
+        }
+        return result;
+    }
+
+    private static boolean isFinished(Board board, char toMove) {
+        SquaresGame game = new SquaresGame(0);
+        game.loadBoard(copy(board), toMove);
+        return !"ACTIVE".equals(game.getGameStatus());
+    }
+
+    private static Board copy(Board board) {
+        int size = board.getSize();
+        Board copy = Board.create(size);
+        for (int x = 0; x < size; x++)
+            for (int y = 0; y < size; y++)
+                copy.setCellUnchecked(x, y, board.getCellUnchecked(x, y));
+        return copy;
+    }
+
+    private static char opponent(char color) {
+        return color == 'W' ? 'B' : 'W';
+    }
+}
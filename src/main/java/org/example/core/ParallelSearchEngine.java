@@ -0,0 +1,162 @@
+package org.example.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Параллельный перебор с разделением корневых ходов между задачами ForkJoinPool.
+// Каждая задача ведёт свою копию игры и перебирает на AlphaBetaEngine своего потока с очищенной таблицей,
+// поэтому результат при ограничении глубины не зависит от расписания потоков.
+public class ParallelSearchEngine implements MoveEngine {
+    public static final int DEFAULT_ROOT_CANDIDATES = 16;
+
+    // Движок на поток пула: таблица транспозиций (около 1 МБ) не выделяется заново на каждый ход
+    private static final ThreadLocal<AlphaBetaEngine> ENGINES = ThreadLocal.withInitial(AlphaBetaEngine::new);
+
+    private final ForkJoinPool pool;
+    private final int parallelism;
+    private final int rootCandidates;
+    private final int maxDepth;
+
+    public ParallelSearchEngine(ForkJoinPool pool, int parallelism) {
+        this(pool, parallelism, DEFAULT_ROOT_CANDIDATES, AlphaBetaEngine.MAX_PLY);
+    }
+
+    // maxDepth ограничивает перебор по глубине, что делает выбор хода воспроизводимым
+    public ParallelSearchEngine(ForkJoinPool pool, int parallelism, int rootCandidates, int maxDepth) {
+        if (pool == null) throw new IllegalArgumentException("Pool must not be null");
+        if (parallelism <= 0) throw new IllegalArgumentException("Parallelism must be > 0");
+        if (rootCandidates <= 0) throw new IllegalArgumentException("Root candidates must be > 0");
+        if (maxDepth <= 0) throw new IllegalArgumentException("Max depth must be > 0");
+        this.pool = pool;
+        this.parallelism = parallelism;
+        this.rootCandidates = rootCandidates;
+        this.maxDepth = Math.min(maxDepth, AlphaBetaEngine.MAX_PLY);
+    }
+
+    @Override
+    public int findMove(SquaresGame game, long timeBudgetMs) {
+        char me = game.getCurrentPlayer().getColor();
+        char opp = game.getOpponentColor();
+
+        int win = game.findWinningCell(me);
+        if (win >= 0) return game.found(win, MoveStage.IMMEDIATE_WIN);
+        int block = game.findWinningCell(opp);
+        if (block >= 0) return game.found(block, MoveStage.BLOCK);
+
+        int[] candidates = game.findStrategicCandidates(me, opp, rootCandidates);
+        if (candidates.length == 0) return game.findHeuristicMove();
+        if (candidates.length == 1) return game.found(candidates[0], MoveStage.SEARCH);
+
+        long budget = timeBudgetMs > 0 ? timeBudgetMs : AlphaBetaEngine.DEFAULT_TIME_BUDGET_MS;
+        long deadline = System.nanoTime() + budget * 1_000_000;
+        int depthLimit = Math.min(maxDepth, game.countEmptyCells());
+
+        // scores[i][d] — оценка i-го кандидата на глубине d (ABORTED, если глубина не пройдена)
+        int[][] scores = new int[candidates.length][depthLimit + 1];
+        int workers = Math.min(parallelism, candidates.length);
+        List<RootTask> tasks = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            tasks.add(new RootTask(game.copy(), candidates, scores, w, workers, depthLimit, deadline, me, opp));
+        }
+        pool.invoke(new RootSplit(tasks));
+
+        for (RootTask task : tasks) game.getSearchStats().addNodes(task.nodes);
+        return game.found(pickBest(candidates, scores, depthLimit), MoveStage.SEARCH);
+    }
+
+    // Сравниваются оценки на наибольшей глубине, пройденной всеми кандидатами; при равенстве — порядок кандидатов
+    private static int pickBest(int[] candidates, int[][] scores, int depthLimit) {
+        int common = depthLimit;
+        for (int[] candidateScores : scores) {
+            int reached = 0;
+            while (reached < depthLimit && candidateScores[reached + 1] != AlphaBetaEngine.ABORTED) reached++;
+            common = Math.min(common, reached);
+        }
+        if (common == 0) return candidates[0];
+
+        int best = 0;
+        for (int i = 1; i < candidates.length; i++) {
+            if (scores[i][common] > scores[best][common]) best = i;
+        }
+        return candidates[best];
+    }
+
+    private static final class RootSplit extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<RootTask> tasks;
+
+        RootSplit(List<RootTask> tasks) {
+            this.tasks = tasks;
+        }
+
+        @Override
+        protected void compute() {
+            invokeAll(tasks);
+        }
+    }
+
+    // Срок проверяется перед каждым кандидатом, а не только внутри перебора: перебор одного кандидата
+    // на маленькой доске часто короче интервала проверки времени в AlphaBetaEngine
+    private static final class RootTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient SquaresGame game;
+        private final int[] candidates;
+        private final int[][] scores;
+        private final int offset;
+        private final int stride;
+        private final int depthLimit;
+        private final long deadline;
+        private final char me;
+        private final char opp;
+        private long nodes;
+
+        RootTask(SquaresGame game, int[] candidates, int[][] scores, int offset, int stride,
+                 int depthLimit, long deadline, char me, char opp) {
+            this.game = game;
+            this.candidates = candidates;
+            this.scores = scores;
+            this.offset = offset;
+            this.stride = stride;
+            this.depthLimit = depthLimit;
+            this.deadline = deadline;
+            this.me = me;
+            this.opp = opp;
+        }
+
+        @Override
+        protected void compute() {
+            AlphaBetaEngine engine = ENGINES.get();
+            engine.clearTable();
+            for (int i = offset; i < candidates.length; i += stride) {
+                Arrays.fill(scores[i], AlphaBetaEngine.ABORTED);
+            }
+
+            for (int depth = 1; depth <= depthLimit; depth++) {
+                boolean decisive = true;
+                for (int i = offset; i < candidates.length; i += stride) {
+                    if (System.nanoTime() - deadline > 0) return;
+                    game.play(candidates[i], me);
+                    int score = engine.search(game, depth - 1, opp, me, deadline);
+                    nodes += engine.getNodes();
+                    game.undo(candidates[i]);
+                    if (score == AlphaBetaEngine.ABORTED) return;
+
+                    scores[i][depth] = -score;
+                    decisive &= AlphaBetaEngine.isDecisive(score);
+                }
+                // Все ходы этой задачи уже решены — остальные глубины копируют результат
+                if (decisive) {
+                    for (int i = offset; i < candidates.length; i += stride) {
+                        Arrays.fill(scores[i], depth + 1, depthLimit + 1, scores[i][depth]);
+                    }
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.core;
+
+// Итог последнего поиска хода игры: этап, давший ход, и объём работы.
+// Обновляется простыми полями без синхронизации — поиск в игре идёт в одном потоке
+public final class SearchStats {
+    private MoveStage stage;
+    private long squaresExamined;
+    private long nodes;
+
+    // null, если ход не найден
+    public MoveStage getStage() {
+        return stage;
+    }
+
+    // Квадраты, просмотренные сканированием доски; поиск по индексу квадратов их не просматривает
+    public long getSquaresExamined() {
+        return squaresExamined;
+    }
+
+    // Узлы перебора или симуляции MCTS
+    public long getNodes() {
+        return nodes;
+    }
+
+    void reset() {
+        stage = null;
+        squaresExamined = 0;
+        nodes = 0;
+    }
+
+    void setStage(MoveStage stage) {
+        this.stage = stage;
+    }
+
+    void addSquares(long count) {
+        squaresExamined += count;
+    }
+
+    void addNodes(long count) {
+        nodes += count;
+    }
+}
@@ -0,0 +1,171 @@
+package org.example.core;
+
+import java.util.Arrays;
+
+// Доска для очень больших полей с небольшим числом фишек: хранятся только занятые клетки — хеш-таблица
+// с открытой адресацией (номер клетки x * size + y → цвет). Память и обход фишек зависят от их числа,
+// а не от площади; число фишек ведётся счётчиком, поэтому isFull не обходит доску
+public class SparseBoard implements Board {
+    private static final int FREE = -1;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int size;
+    // Номер клетки в слоте или FREE; цвет — в colors под тем же номером слота
+    private int[] keys;
+    private char[] colors;
+    private int occupied;
+
+    public SparseBoard(int size) {
+        if (size <= 2) throw new IllegalArgumentException("Size must be > 2");
+        if ((long) size * size > Integer.MAX_VALUE) throw new IllegalArgumentException("Board too large");
+        this.size = size;
+        allocate(INITIAL_CAPACITY);
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public char getCell(int x, int y) {
+        if (!isInside(x, y)) throw new IllegalArgumentException("Coordinates out of bounds");
+        return getCellUnchecked(x, y);
+    }
+
+    @Override
+    public void setCell(int x, int y, char color) {
+        if (!isInside(x, y)) throw new IllegalArgumentException("Coordinates out of bounds");
+        if (color != '.' && color != 'W' && color != 'B') {
+            throw new IllegalArgumentException("Invalid cell value: must be '.', 'W', or 'B'");
+        }
+        setCellUnchecked(x, y, color);
+    }
+
+    @Override
+    public boolean isInside(int x, int y) {
+        return x >= 0 && x < size && y >= 0 && y < size;
+    }
+
+    @Override
+    public boolean isFull() {
+        return occupied == size * size;
+    }
+
+    @Override
+    public char getCellUnchecked(int x, int y) {
+        int cell = x * size + y;
+        int mask = keys.length - 1;
+        for (int slot = hash(cell) & mask; ; slot = (slot + 1) & mask) {
+            int key = keys[slot];
+            if (key == cell) return colors[slot];
+            if (key == FREE) return '.';
+        }
+    }
+
+    @Override
+    public void setCellUnchecked(int x, int y, char color) {
+        int cell = x * size + y;
+        if (color == 'W' || color == 'B') put(cell, color);
+        else remove(cell);
+    }
+
+    public int getOccupiedCount() {
+        return occupied;
+    }
+
+    // Обход фишек по слотам таблицы: for (slot < capacity()) { cellAt(slot) >= 0 — занятая клетка }
+    int capacity() {
+        return keys.length;
+    }
+
+    int cellAt(int slot) {
+        return keys[slot];
+    }
+
+    char colorAt(int slot) {
+        return colors[slot];
+    }
+
+    // Складывает клетки цвета в target (длиной не меньше getOccupiedCount()), возвращает их количество
+    int collectCells(char color, int[] target) {
+        int count = 0;
+        for (int slot = 0; slot < keys.length; slot++)
+            if (keys[slot] != FREE && colors[slot] == color) target[count++] = keys[slot];
+        return count;
+    }
+
+    // Клетки цвета по возрастанию номера, как при обходе доски по строкам
+    int[] cells(char color) {
+        int[] cells = new int[occupied];
+        int count = collectCells(color, cells);
+        cells = Arrays.copyOf(cells, count);
+        Arrays.sort(cells);
+        return cells;
+    }
+
+    private void put(int cell, char color) {
+        int mask = keys.length - 1;
+        int slot = hash(cell) & mask;
+        while (keys[slot] != FREE) {
+            if (keys[slot] == cell) {
+                colors[slot] = color;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = cell;
+        colors[slot] = color;
+        // Заполнение не выше половины: цепочки линейного пробирования остаются короткими
+        if (++occupied * 2 > keys.length) resize(keys.length * 2);
+    }
+
+    // Удаление со сдвигом хвоста цепочки назад — без пометок удалённых слотов
+    private void remove(int cell) {
+        int mask = keys.length - 1;
+        int slot = hash(cell) & mask;
+        while (keys[slot] != cell) {
+            if (keys[slot] == FREE) return;
+            slot = (slot + 1) & mask;
+        }
+        occupied--;
+
+        int hole = slot;
+        for (int next = (hole + 1) & mask; keys[next] != FREE; next = (next + 1) & mask) {
+            int home = hash(keys[next]) & mask;
+            // Элемент можно сдвинуть в дыру, если его домашний слот не лежит между дырой и им самим
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                colors[hole] = colors[next];
+                hole = next;
+            }
+        }
+        keys[hole] = FREE;
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        char[] oldColors = colors;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == FREE) continue;
+            int slot = hash(oldKeys[i]) & mask;
+            while (keys[slot] != FREE) slot = (slot + 1) & mask;
+            keys[slot] = oldKeys[i];
+            colors[slot] = oldColors[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        colors = new char[capacity];
+        Arrays.fill(keys, FREE);
+    }
+
+    // Соседние клетки строки не должны попадать в соседние слоты
+    private static int hash(int cell) {
+        int h = cell * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,157 @@
+package org.example.core;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Неизменяемая геометрия всех квадратов доски заданного размера.
+// Строится один раз на размер и разделяется всеми играми в JVM.
+// Кэш таблиц ограничен общим бюджетом памяти: при превышении вытесняются давно не запрошенные размеры
+public final class SquareGeometry {
+    // Верхняя граница памяти под одну таблицу; для больших досок геометрия не строится
+    public static final long MAX_FOOTPRINT_BYTES = 64L << 20;
+    // Бюджет всего кэша по умолчанию — четыре таблицы наибольшего размера
+    public static final long DEFAULT_CACHE_BUDGET_BYTES = 4 * MAX_FOOTPRINT_BYTES;
+
+    private static final ConcurrentMap<Integer, SquareGeometry> CACHE = new ConcurrentHashMap<>();
+    // Часы последнего запроса таблиц для вытеснения; добавление и вытеснение — под блокировкой CACHE
+    private static final AtomicLong CLOCK = new AtomicLong();
+    private static volatile long cacheBudgetBytes = DEFAULT_CACHE_BUDGET_BYTES;
+    private static long cachedBytes;
+
+    private final int size;
+    private final int[] corners;
+    private final int[] cellOffsets;
+    private final int[] cellSquares;
+    private volatile long lastUsed;
+
+    private SquareGeometry(int size) {
+        this.size = size;
+        int cells = size * size;
+
+        this.corners = new int[Math.toIntExact(countSquares(size) * 4)];
+        int n = 0;
+        for (int s = 1; s < size; s++) {
+            for (int x = 0; x + s < size; x++) {
+                for (int y = 0; y + s < size; y++) {
+                    for (int k = 0; k < s; k++) {
+                        corners[n++] = (x + k) * size + y;
+                        corners[n++] = (x + s) * size + y + k;
+                        corners[n++] = (x + s - k) * size + y + s;
+                        corners[n++] = x * size + y + s - k;
+                    }
+                }
+            }
+        }
+
+        this.cellOffsets = new int[cells + 1];
+        for (int corner : corners) cellOffsets[corner + 1]++;
+        for (int c = 0; c < cells; c++) cellOffsets[c + 1] += cellOffsets[c];
+        this.cellSquares = new int[corners.length];
+        int[] fill = new int[cells];
+        for (int i = 0; i < corners.length; i++) {
+            int cell = corners[i];
+            cellSquares[cellOffsets[cell] + fill[cell]++] = i >> 2;
+        }
+    }
+
+    public static SquareGeometry forSize(int size) {
+        if (!isSupported(size)) throw new IllegalArgumentException("Board too large for square geometry");
+        SquareGeometry geometry = CACHE.get(size);
+        if (geometry == null) geometry = load(size);
+        geometry.lastUsed = CLOCK.incrementAndGet();
+        return geometry;
+    }
+
+    // Таблица больше бюджета строится для вызывающего, но в кэш не попадает
+    private static SquareGeometry load(int size) {
+        synchronized (CACHE) {
+            SquareGeometry geometry = CACHE.get(size);
+            if (geometry != null) return geometry;
+            geometry = new SquareGeometry(size);
+            long footprint = geometry.getFootprintBytes();
+            if (footprint > cacheBudgetBytes) return geometry;
+            evict(cacheBudgetBytes - footprint);
+            CACHE.put(size, geometry);
+            cachedBytes += footprint;
+            return geometry;
+        }
+    }
+
+    // Вытесняет таблицы, запрошенные раньше остальных, пока кэш не уложится в limit байт.
+    // Игры, уже получившие вытесненную таблицу, продолжают с ней работать
+    private static void evict(long limit) {
+        while (cachedBytes > limit) {
+            SquareGeometry oldest = null;
+            for (SquareGeometry geometry : CACHE.values()) {
+                if (oldest == null || geometry.lastUsed < oldest.lastUsed) oldest = geometry;
+            }
+            CACHE.remove(oldest.size);
+            cachedBytes -= oldest.getFootprintBytes();
+        }
+    }
+
+    // Общий бюджет памяти кэша; уменьшение сразу вытесняет лишние таблицы
+    public static void setCacheBudgetBytes(long bytes) {
+        if (bytes <= 0) throw new IllegalArgumentException("Cache budget must be > 0");
+        synchronized (CACHE) {
+            cacheBudgetBytes = bytes;
+            evict(bytes);
+        }
+    }
+
+    public static long getCacheBudgetBytes() {
+        return cacheBudgetBytes;
+    }
+
+    public static boolean isSupported(int size) {
+        return size > 2 && estimateFootprintBytes(size) <= MAX_FOOTPRINT_BYTES;
+    }
+
+    // Число квадратов с вершинами в клетках доски: для каждой ограничивающей рамки s×s их s штук
+    public static long countSquares(int size) {
+        long squares = 0;
+        for (long s = 1; s < size; s++) squares += (size - s) * (size - s) * s;
+        return squares;
+    }
+
+    public static long estimateFootprintBytes(int size) {
+        long cells = (long) size * size;
+        return countSquares(size) * 4 * Integer.BYTES * 2 + (cells + 1) * Integer.BYTES;
+    }
+
+    public static long cachedFootprintBytes() {
+        synchronized (CACHE) {
+            return cachedBytes;
+        }
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getSquareCount() {
+        return corners.length / 4;
+    }
+
+    // Индекс клетки i-й вершины квадрата (x * size + y), вершины идут по кругу
+    public int corner(int square, int i) {
+        return corners[square * 4 + i];
+    }
+
+    public int incidenceStart(int cell) {
+        return cellOffsets[cell];
+    }
+
+    public int incidenceEnd(int cell) {
+        return cellOffsets[cell + 1];
+    }
+
+    public int incidentSquare(int i) {
+        return cellSquares[i];
+    }
+
+    public long getFootprintBytes() {
+        return (long) (corners.length + cellSquares.length + cellOffsets.length) * Integer.BYTES;
+    }
+}
@@ -0,0 +1,220 @@
+package org.example.core;
+
+import java.util.Arrays;
+
+// Инкрементальный индекс всех квадратов доски (включая повёрнутые).
+// Для каждого квадрата хранится число клеток каждого цвета, поэтому
+// победа, немедленные угрозы и двойные угрозы не требуют пересканирования доски.
+public class SquareIndex {
+    private static final int WHITE = 0;
+    private static final int BLACK = 1;
+
+    private final Board board;
+    private final int size;
+    private final SquareGeometry geometry;
+
+    private final byte[][] counts = new byte[2][];
+    private final int[] completed = new int[2];
+    // Клетки, ход в которые замыкает квадрат (3 своих + 1 пустая)
+    private final int[][] threatCounts = new int[2][];
+    private final int[][] threatCells = new int[2][];
+    private final int[][] threatPositions = new int[2][];
+    private final int[] threatSize = new int[2];
+    // Число квадратов через клетку, где у цвета 2 фишки и нет фишек соперника
+    private final int[][] pairCounts = new int[2][];
+
+    public SquareIndex(Board board) {
+        this.board = board;
+        this.size = board.getSize();
+        this.geometry = SquareGeometry.forSize(size);
+
+        int cells = size * size;
+        int squares = geometry.getSquareCount();
+        for (int color = WHITE; color <= BLACK; color++) {
+            counts[color] = new byte[squares];
+            threatCounts[color] = new int[cells];
+            threatCells[color] = new int[cells];
+            threatPositions[color] = new int[cells];
+            pairCounts[color] = new int[cells];
+        }
+
+        // Доска может быть уже заполнена: очищаем её и расставляем фишки заново через индекс
+        char[] initial = new char[cells];
+        for (int cell = 0; cell < cells; cell++) {
+            initial[cell] = cellAt(cell);
+            board.setCellUnchecked(cell / size, cell % size, '.');
+        }
+        for (int cell = 0; cell < cells; cell++) {
+            if (initial[cell] != '.') set(cell / size, cell % size, initial[cell]);
+        }
+    }
+
+    // Память индекса для доски size×size: счётчики квадратов (байт на цвет) и четыре массива клеток на цвет;
+    // 0 — для такой доски индекс не строится
+    public static long estimateFootprintBytes(int size) {
+        if (!SquareGeometry.isSupported(size)) return 0;
+        long cells = (long) size * size;
+        return SquareGeometry.countSquares(size) * 2 + cells * 4 * Integer.BYTES * 2;
+    }
+
+    public Board getBoard() {
+        return board;
+    }
+
+    public void set(int x, int y, char color) {
+        char old = board.getCellUnchecked(x, y);
+        if (old == color) return;
+
+        int cell = x * size + y;
+        int from = geometry.incidenceStart(cell);
+        int to = geometry.incidenceEnd(cell);
+
+        for (int i = from; i < to; i++) unregister(geometry.incidentSquare(i));
+        board.setCellUnchecked(x, y, color);
+        int oldIndex = colorIndex(old);
+        int newIndex = colorIndex(color);
+        for (int i = from; i < to; i++) {
+            int square = geometry.incidentSquare(i);
+            if (oldIndex >= 0) counts[oldIndex][square]--;
+            if (newIndex >= 0) counts[newIndex][square]++;
+            register(square);
+        }
+    }
+
+    public boolean hasSquare(char color) {
+        return completed[colorIndex(color)] > 0;
+    }
+
+    // Возвращает клетки полного квадрата цвета в порядке обхода доски или null
+    public int[][] findSquare(char color) {
+        int index = colorIndex(color);
+        if (completed[index] == 0) return null;
+        byte[] own = counts[index];
+        for (int square = 0; square < own.length; square++) {
+            if (own[square] == 4) {
+                int[] cells = new int[4];
+                for (int i = 0; i < 4; i++) cells[i] = geometry.corner(square, i);
+                Arrays.sort(cells);
+                int[][] result = new int[4][];
+                for (int i = 0; i < 4; i++) result[i] = new int[]{cells[i] / size, cells[i] % size};
+                return result;
+            }
+        }
+        return null;
+    }
+
+    // Пустая клетка, замыкающая квадрат цвета, или -1
+    public int findWinningCell(char color) {
+        int index = colorIndex(color);
+        return threatSize[index] == 0 ? -1 : threatCells[index][0];
+    }
+
+    // Пустая клетка, после хода в которую у цвета появляются две угрозы с разными клетками, или -1
+    public int findDoubleThreatCell(char color) {
+        int index = colorIndex(color);
+        int[] pairs = pairCounts[index];
+        for (int cell = 0; cell < pairs.length; cell++) {
+            if (pairs[cell] < 2 || cellAt(cell) != '.') continue;
+            if (hasTwoDistinctThreats(index, cell)) return cell;
+        }
+        return -1;
+    }
+
+    // Ход в пустую клетку cell даёт цвету две угрозы с разными клетками
+    public boolean isDoubleThreat(int cell, char color) {
+        int index = colorIndex(color);
+        return pairCounts[index][cell] >= 2 && cellAt(cell) == '.' && hasTwoDistinctThreats(index, cell);
+    }
+
+    // Число квадратов, которые ход цвета в cell замыкает
+    public int threatCount(int cell, char color) {
+        return threatCounts[colorIndex(color)][cell];
+    }
+
+    // Число квадратов через cell с двумя фишками цвета и без фишек соперника
+    public int pairCount(int cell, char color) {
+        return pairCounts[colorIndex(color)][cell];
+    }
+
+    // Ход в cell замыкает квадрат или создаёт угрозу хотя бы для одного цвета
+    public boolean hasPotential(int cell) {
+        return threatCounts[WHITE][cell] > 0 || threatCounts[BLACK][cell] > 0
+                || pairCounts[WHITE][cell] > 0 || pairCounts[BLACK][cell] > 0;
+    }
+
+    private boolean hasTwoDistinctThreats(int index, int cell) {
+        byte[] own = counts[index];
+        byte[] opp = counts[1 - index];
+        int firstEmpty = -1;
+        for (int i = geometry.incidenceStart(cell); i < geometry.incidenceEnd(cell); i++) {
+            int square = geometry.incidentSquare(i);
+            if (own[square] != 2 || opp[square] != 0) continue;
+            for (int k = 0; k < 4; k++) {
+                int corner = geometry.corner(square, k);
+                if (corner == cell || cellAt(corner) != '.') continue;
+                // В квадрате остаются две пустые клетки, угрозой станет любая из них
+                if (firstEmpty == -1) firstEmpty = corner;
+                else if (corner != firstEmpty) return true;
+            }
+        }
+        return false;
+    }
+
+    private void register(int square) {
+        update(square, 1);
+    }
+
+    private void unregister(int square) {
+        update(square, -1);
+    }
+
+    private void update(int square, int delta) {
+        for (int index = WHITE; index <= BLACK; index++) {
+            int own = counts[index][square];
+            int opp = counts[1 - index][square];
+            if (own == 4) {
+                completed[index] += delta;
+            } else if (own == 3 && opp == 0) {
+                int empty = emptyCorner(square);
+                int[] threats = threatCounts[index];
+                int before = threats[empty];
+                threats[empty] += delta;
+                if (before == 0) addThreat(index, empty);
+                else if (threats[empty] == 0) removeThreat(index, empty);
+            } else if (own == 2 && opp == 0) {
+                int[] pairs = pairCounts[index];
+                for (int k = 0; k < 4; k++) pairs[geometry.corner(square, k)] += delta;
+            }
+        }
+    }
+
+    private int emptyCorner(int square) {
+        for (int k = 0; k < 4; k++) {
+            int corner = geometry.corner(square, k);
+            if (cellAt(corner) == '.') return corner;
+        }
+        throw new IllegalStateException("Square has no empty corner");
+    }
+
+    private void addThreat(int index, int cell) {
+        threatPositions[index][cell] = threatSize[index];
+        threatCells[index][threatSize[index]++] = cell;
+    }
+
+    private void removeThreat(int index, int cell) {
+        int position = threatPositions[index][cell];
+        int last = threatCells[index][--threatSize[index]];
+        threatCells[index][position] = last;
+        threatPositions[index][last] = position;
+    }
+
+    private char cellAt(int cell) {
+        return board.getCellUnchecked(cell / size, cell % size);
+    }
+
+    private static int colorIndex(char color) {
+        if (color == 'W') return WHITE;
+        if (color == 'B') return BLACK;
+        return -1;
+    }
+}
@@ -0,0 +1,133 @@
+package org.example.core;
+
+// Поиск квадрата одного цвета по битовой маске клеток (бит x * size + y) — для досок, на которые
+// индекс квадратов не строится. Принадлежность вершины цвету — проверка одного бита, без обхода доски.
+// Для SparseBoard маска заняла бы всю площадь, поэтому там перебираются пары фишек
+final class SquareScan {
+    private SquareScan() {
+    }
+
+    // Квадрат, одна из вершин которого — cell: после хода новым может быть только такой квадрат.
+    // Перебираются только клетки цвета — соседние с cell вершины, две оставшиеся проверяются по маске
+    static int[][] findThrough(long[] bits, int size, int cell) {
+        int x1 = cell / size, y1 = cell % size;
+        for (int word = 0; word < bits.length; word++) {
+            for (long w = bits[word]; w != 0; w &= w - 1) {
+                int other = (word << 6) + Long.numberOfTrailingZeros(w);
+                if (other == cell) continue;
+                int x2 = other / size, y2 = other % size;
+                int dx = x2 - x1, dy = y2 - y1;
+
+                for (int sign = 1; sign >= -1; sign -= 2) {
+                    int x3 = x1 - dy * sign, y3 = y1 + dx * sign;
+                    int x4 = x2 - dy * sign, y4 = y2 + dx * sign;
+                    if (isSet(bits, size, x3, y3) && isSet(bits, size, x4, y4)) {
+                        return new int[][]{{x1, y1}, {x2, y2}, {x3, y3}, {x4, y4}};
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    // Любой квадрат цвета или null. Квадрат задаётся вершиной a и стороной (dx, dy), dx > 0, dy >= 0:
+    // вершины a, a + (dx, dy), a + (dx - dy, dy + dx), a + (-dy, dx). Для каждой стороны пересечение
+    // четырёх сдвинутых масок даёт все такие квадраты сразу, по 64 вершины a за операцию.
+    // Стороны идут от маленьких квадратов к большим, первый найденный квадрат завершает поиск
+    static int[][] find(long[] bits, int size) {
+        for (int span = 1; span < size; span++) {
+            for (int dy = 0; dy < span; dy++) {
+                int dx = span - dy;
+                int[][] square = find(bits, size, dx, dy);
+                if (square != null) return square;
+            }
+        }
+        return null;
+    }
+
+    private static int[][] find(long[] bits, int size, int dx, int dy) {
+        long toB = (long) dx * size + dy;
+        long toC = (long) (dx - dy) * size + dx + dy;
+        long toD = (long) -dy * size + dx;
+        // Вершина a лежит в строках [dy, size - dx) и столбцах [0, size - dx - dy)
+        int from = dy * size;
+        int to = (size - dx) * size;
+        int maxColumn = size - dx - dy;
+
+        for (int word = from >>> 6; (word << 6) < to; word++) {
+            long candidates = bits[word];
+            if (candidates == 0) continue;
+            // На редкой доске пересечение обычно пустеет уже после первого сдвига
+            long start = (long) word << 6;
+            candidates &= bitsAt(bits, start + toB);
+            if (candidates == 0) continue;
+            candidates &= bitsAt(bits, start + toC) & bitsAt(bits, start + toD);
+            // Биты, у которых сдвиг перешёл на соседнюю строку, отсеиваются проверкой столбца
+            for (long w = candidates; w != 0; w &= w - 1) {
+                int a = (word << 6) + Long.numberOfTrailingZeros(w);
+                if (a < from || a >= to) continue;
+                int x = a / size, y = a % size;
+                if (y >= maxColumn) continue;
+                return new int[][]{{x, y}, {x + dx, y + dy}, {x + dx - dy, y + dy + dx}, {x - dy, y + dx}};
+            }
+        }
+        return null;
+    }
+
+    // 64 бита маски, начиная с позиции start; биты за пределами доски — нули
+    private static long bitsAt(long[] bits, long start) {
+        int word = (int) (start >> 6);
+        int shift = (int) (start & 63);
+        long low = word >= 0 && word < bits.length ? bits[word] : 0;
+        if (shift == 0) return low;
+        long high = word + 1 >= 0 && word + 1 < bits.length ? bits[word + 1] : 0;
+        return (low >>> shift) | (high << (64 - shift));
+    }
+
+    private static boolean isSet(long[] bits, int size, int x, int y) {
+        if (x < 0 || x >= size || y < 0 || y >= size) return false;
+        int cell = x * size + y;
+        return (bits[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    // Квадрат через cell на разреженной доске: партнёры по стороне — фишки цвета из таблицы доски
+    static int[][] findThrough(SparseBoard board, int cell, char color) {
+        int size = board.getSize();
+        int x1 = cell / size, y1 = cell % size;
+        for (int slot = 0; slot < board.capacity(); slot++) {
+            int other = board.cellAt(slot);
+            if (other < 0 || other == cell || board.colorAt(slot) != color) continue;
+            int[][] square = closeSquare(board, color, x1, y1, other / size, other % size);
+            if (square != null) return square;
+        }
+        return null;
+    }
+
+    // Любой квадрат цвета на разреженной доске: каждая пара фишек цвета — сторона двух квадратов
+    static int[][] find(SparseBoard board, char color) {
+        int size = board.getSize();
+        int[] cells = new int[board.getOccupiedCount()];
+        int count = board.collectCells(color, cells);
+        for (int i = 0; i < count; i++) {
+            for (int j = i + 1; j < count; j++) {
+                int[][] square = closeSquare(board, color,
+                        cells[i] / size, cells[i] % size, cells[j] / size, cells[j] % size);
+                if (square != null) return square;
+            }
+        }
+        return null;
+    }
+
+    private static int[][] closeSquare(Board board, char color, int x1, int y1, int x2, int y2) {
+        int dx = x2 - x1, dy = y2 - y1;
+        for (int sign = 1; sign >= -1; sign -= 2) {
+            int x3 = x1 - dy * sign, y3 = y1 + dx * sign;
+            int x4 = x2 - dy * sign, y4 = y2 + dx * sign;
+            if (board.isInside(x3, y3) && board.isInside(x4, y4)
+                    && board.getCellUnchecked(x3, y3) == color && board.getCellUnchecked(x4, y4) == color) {
+                return new int[][]{{x1, y1}, {x2, y2}, {x3, y3}, {x4, y4}};
+            }
+        }
+        return null;
+    }
+}
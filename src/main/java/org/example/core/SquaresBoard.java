@@ -1,6 +1,6 @@
 package org.example.core;
 
-public class SquaresBoard {
+public class SquaresBoard implements Board {
     private final char[][] board;
     private final int size;
 
@@ -13,15 +13,18 @@ public class SquaresBoard {
                 board[i][j] = '.';
     }
 
+    @Override
     public int getSize() {
         return size;
     }
 
+    @Override
     public char getCell(int x, int y) {
         if (!isInside(x, y)) throw new IllegalArgumentException("Coordinates out of bounds");
         return board[x][y];
     }
 
+    @Override
     public void setCell(int x, int y, char color) {
         if (!isInside(x, y)) throw new IllegalArgumentException("Coordinates out of bounds");
         if (color != '.' && color != 'W' && color != 'B') {
@@ -30,10 +33,12 @@ public class SquaresBoard {
         board[x][y] = color;
     }
 
+    @Override
     public boolean isInside(int x, int y) {
         return x >= 0 && x < size && y >= 0 && y < size;
     }
 
+    @Override
     public boolean isFull() {
         for (int i = 0; i < size; i++)
             for (int j = 0; j < size; j++)
@@ -41,19 +46,13 @@ public class SquaresBoard {
         return true;
     }
 
-    public void printBoard() {
-        System.out.println("Current board state:");
-        int width = Integer.toString(size - 1).length();
-        System.out.print(" ".repeat(width + 2));
-        for (int j = 0; j < size; j++)
-            System.out.print(j + " ");
-        System.out.println();
+    @Override
+    public char getCellUnchecked(int x, int y) {
+        return board[x][y];
+    }
 
-        for (int i = 0; i < size; i++) {
-            System.out.printf("%" + width + "d ", i);
-            for (int j = 0; j < size; j++)
-                System.out.print(board[i][j] + " ");
-            System.out.println();
-        }
+    @Override
+    public void setCellUnchecked(int x, int y, char color) {
+        board[x][y] = color;
     }
 }
\ No newline at end of file
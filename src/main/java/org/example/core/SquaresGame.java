@@ -1,16 +1,51 @@
 package org.example.core;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 public class SquaresGame {
-    private SquaresBoard board;
+    // Постоянная часть партии: объекты игры, игроков, статистики и слушателей
+    private static final long BASE_FOOTPRINT_BYTES = 4 << 10;
+
+    private Board board;
+    private SquareIndex index;
     private Player[] players;
     private int currentPlayerIndex;
     private boolean gameStarted;
     private int[][] winningSquare;
-    private final Random random = new Random();
+    // Переиспользуемые буферы поиска хода, по одной клетке на элемент; на SparseBoard растут по числу кандидатов
+    private int[] scratchCells;
+    private int[] scratchWeights;
+    // Маска клеток цвета для досок, которые не хранят биты сами (не BitBoard)
+    private long[] scratchBits;
+    // Случайность эвристик; у каждой игры свой генератор, копии для потоков перебора получают ветвь через split
+    private final RandomGenerator random;
+    private MoveEngine engine = HeuristicEngine.INSTANCE;
+    // Отобранные и упорядоченные ходы позиции, общие для этапов каскада и перебора; история отсечений — за партию
+    private final MoveCandidates candidates = new MoveCandidates();
+    private long timeBudgetMs;
+    // Срок эвристического поиска по System.nanoTime(), 0 — без срока; его проверяют переборы каскада без индекса
+    private long searchDeadline;
+    // Хеш Zobrist текущей позиции, обновляется при каждой установке клетки
+    private long hash;
+    private final List<GameListener> listeners = new ArrayList<>();
+    private final SearchStats searchStats = new SearchStats();
 
     public SquaresGame() {
+        this(new SplittableRandom());
+    }
+
+    public SquaresGame(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    // Любой генератор, например java.util.Random для сравнения со старым поведением
+    public SquaresGame(RandomGenerator random) {
+        if (random == null) throw new IllegalArgumentException("Random generator must not be null");
+        this.random = random;
         this.players = new Player[2];
         this.currentPlayerIndex = 0;
         this.gameStarted = false;
@@ -19,13 +54,16 @@ public class SquaresGame {
     public void startNewGame(int size, Player p1, Player p2) {
         if (p1.getColor() == p2.getColor())
             throw new IllegalArgumentException("Players cannot have the same color");
-        this.board = new SquaresBoard(size);
+        this.board = Board.create(size);
+        this.index = createIndex(board);
+        this.hash = 0;
+        allocateScratch(board);
         this.players[0] = p1;
         this.players[1] = p2;
         this.currentPlayerIndex = 0;
         this.gameStarted = true;
         this.winningSquare = null;
-        System.out.println("New game started");
+        for (GameListener listener : listeners) listener.gameStarted(this);
 
         handleComputerTurns();
     }
@@ -35,14 +73,39 @@ public class SquaresGame {
         if (data.length() != size * size) throw new IllegalArgumentException("Invalid board data length");
         if (nextPlayerColor != 'W' && nextPlayerColor != 'B') throw new IllegalArgumentException("Invalid player color");
 
-        this.board = new SquaresBoard(size);
+        Board parsed = Board.create(size);
         for (int i = 0; i < size; i++) {
             for (int j = 0; j < size; j++) {
                 char cell = data.charAt(i * size + j);
                 if (cell != '.' && cell != ' ' && cell != 'W' && cell != 'B' && cell != 'w' && cell != 'b') {
                     throw new IllegalArgumentException("Invalid character in board data: " + cell);
                 }
-                board.setCell(i, j, cell == ' ' || cell == '.' ? '.' : Character.toUpperCase(cell));
+                if (cell != ' ' && cell != '.') parsed.setCellUnchecked(i, j, Character.toUpperCase(cell));
+            }
+        }
+        loadBoard(parsed, nextPlayerColor);
+    }
+
+    // Загрузка готовой доски, например раскодированной из компактного формата; доска переходит во владение игры
+    public void loadBoard(Board board, char nextPlayerColor) {
+        if (nextPlayerColor != 'W' && nextPlayerColor != 'B') throw new IllegalArgumentException("Invalid player color");
+
+        int size = board.getSize();
+        this.board = board;
+        this.index = createIndex(board);
+        this.hash = 0;
+        allocateScratch(board);
+        if (board instanceof SparseBoard sparse) {
+            for (int slot = 0; slot < sparse.capacity(); slot++) {
+                int cell = sparse.cellAt(slot);
+                if (cell >= 0) hash ^= Zobrist.key(cell, sparse.colorAt(slot));
+            }
+        } else {
+            for (int x = 0; x < size; x++) {
+                for (int y = 0; y < size; y++) {
+                    char cell = board.getCellUnchecked(x, y);
+                    if (cell != '.') hash ^= Zobrist.key(x * size + y, cell);
+                }
             }
         }
 
@@ -53,82 +116,219 @@ public class SquaresGame {
         this.winningSquare = null;
     }
 
+    private void allocateScratch(Board board) {
+        int cells = board instanceof SparseBoard ? 64 : board.getSize() * board.getSize();
+        this.scratchCells = new int[cells];
+        this.scratchWeights = new int[cells];
+    }
+
+    private void ensureScratch(int cells) {
+        if (scratchCells.length >= cells) return;
+        int length = Math.max(cells, scratchCells.length * 2);
+        scratchCells = Arrays.copyOf(scratchCells, length);
+        scratchWeights = new int[length];
+    }
+
+    // Оценка памяти партии size×size после ходов компьютера, без движка: доска, индекс квадратов,
+    // буферы поиска и кандидатов (по клетке на элемент) и постоянная часть. На SparseBoard буферы
+    // растут с числом фишек, поэтому учитывается только постоянная часть
+    public static long estimateFootprintBytes(int size) {
+        long cells = (long) size * size;
+        long footprint = BASE_FOOTPRINT_BYTES + SquareIndex.estimateFootprintBytes(size);
+        if (size < Board.SPARSE_MIN_SIZE) footprint += cells / 4 + cells * (2 * Integer.BYTES + 2 * Integer.BYTES + Long.BYTES);
+        return footprint;
+    }
+
+    // Независимая копия позиции и состояния партии; генератор копии — ветвь генератора исходной игры.
+    // Движок не копируется: движки с состоянием (таблица транспозиций) нельзя делить между потоками.
+    // Слушатели тоже не копируются — пробные ходы в копии не видны интерфейсу
+    public SquaresGame copy() {
+        SquaresGame copy = new SquaresGame(random instanceof RandomGenerator.SplittableGenerator splittable
+                ? splittable.split() : new SplittableRandom(random.nextLong()));
+        if (board != null) {
+            int size = board.getSize();
+            copy.board = Board.create(size);
+            copy.index = createIndex(copy.board);
+            copy.allocateScratch(copy.board);
+            if (board instanceof SparseBoard sparse) {
+                for (int slot = 0; slot < sparse.capacity(); slot++) {
+                    int cell = sparse.cellAt(slot);
+                    if (cell >= 0) copy.setCell(cell / size, cell % size, sparse.colorAt(slot));
+                }
+            } else {
+                for (int x = 0; x < size; x++) {
+                    for (int y = 0; y < size; y++) {
+                        char c = board.getCellUnchecked(x, y);
+                        if (c != '.') copy.setCell(x, y, c);
+                    }
+                }
+            }
+        }
+        copy.players[0] = players[0];
+        copy.players[1] = players[1];
+        copy.currentPlayerIndex = currentPlayerIndex;
+        copy.gameStarted = gameStarted;
+        copy.winningSquare = winningSquare;
+        copy.timeBudgetMs = timeBudgetMs;
+        return copy;
+    }
+
+    private static SquareIndex createIndex(Board board) {
+        return SquareGeometry.isSupported(board.getSize()) ? new SquareIndex(board) : null;
+    }
+
     public boolean isGameStarted() { return gameStarted; }
     public Player getCurrentPlayer() { return players[currentPlayerIndex]; }
 
+    public MoveEngine getEngine() { return engine; }
+    public void setEngine(MoveEngine engine) {
+        if (engine == null) throw new IllegalArgumentException("Engine must not be null");
+        this.engine = engine;
+    }
+
+    public long getTimeBudgetMs() { return timeBudgetMs; }
+    public void setTimeBudgetMs(long timeBudgetMs) {
+        if (timeBudgetMs < 0) throw new IllegalArgumentException("Invalid time budget");
+        this.timeBudgetMs = timeBudgetMs;
+    }
+
+    void setSearchDeadline(long deadline) { this.searchDeadline = deadline; }
+
+    boolean isPastDeadline() {
+        return searchDeadline != 0 && System.nanoTime() - searchDeadline > 0;
+    }
+
     public void makeMove(int x, int y) {
+        applyMove(x, y);
+
+        if (gameStarted && getCurrentPlayer().isComputer()) {
+            handleComputerTurns();
+        }
+    }
+
+    // Ход текущего игрока без ответных ходов компьютера
+    public void applyMove(int x, int y) {
+        checkMove(x, y);
+
+        placePiece(x, y);
+        if (!finishIfOver(x * board.getSize() + y)) switchPlayer();
+    }
+
+    public void addListener(GameListener listener) {
+        if (listener == null) throw new IllegalArgumentException("Listener must not be null");
+        listeners.add(listener);
+    }
+
+    public void removeListener(GameListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void checkMove(int x, int y) {
         if (!gameStarted) throw new IllegalStateException("Game not started");
 
         if (!board.isInside(x, y))
             throw new IllegalArgumentException("Coordinates out of board");
         if (board.getCell(x, y) != '.')
             throw new IllegalArgumentException("Cell already occupied");
-
-        placePiece(x, y);
-        checkGameState();
-
-        if (gameStarted) {
-            switchPlayer();
-            if (getCurrentPlayer().isComputer()) {
-                handleComputerTurns();
-            }
-        }
     }
 
     public int[] findNextMove() {
+        int cell = findNextMoveCell();
+        if (cell < 0) return null;
+        int size = board.getSize();
+        return new int[]{cell / size, cell % size};
+    }
+
+    // Ход в упакованном виде (x * size + y) или -1
+    public int findNextMoveCell() {
         if (!gameStarted) throw new IllegalStateException("Game not started");
+        searchStats.reset();
+        candidates.age();
+        return engine.findMove(this, timeBudgetMs);
+    }
+
+    // Статистика последнего findNextMoveCell
+    public SearchStats getSearchStats() {
+        return searchStats;
+    }
 
+    // Каскад эвристик для текущего игрока; поиск не выделяет память
+    int findHeuristicMove() {
         char myColor = getCurrentPlayer().getColor();
-        char oppColor = players[(currentPlayerIndex + 1) % 2].getColor();
+        char oppColor = getOpponentColor();
 
         // 1 Немедленный выигрыш
-        int[] move = findImmediateWin(myColor);
-        if (move != null) {
-            return move;
+        int move = findImmediateWin(myColor);
+        if (move >= 0) {
+            return found(move, MoveStage.IMMEDIATE_WIN);
         }
 
         // 2 Блокировка выигрыша противника
-        move = findImmediateWin(oppColor);
-        if (move != null) {
-            return move;
+        move = isPastDeadline() ? -1 : findImmediateWin(oppColor);
+        if (move >= 0) {
+            return found(move, MoveStage.BLOCK);
         }
 
-        // 3 Создание двойных угроз
-        move = findDoubleThreat(myColor, oppColor);
-        if (move != null) {
-            return move;
+        // Кандидаты строятся один раз и служат всем следующим этапам
+        int count = candidates.build(this, myColor, oppColor);
+
+        // 3 Создание двойных угроз среди кандидатов по порядку; после срока поиска сразу переходим к стратегическому ходу
+        move = isPastDeadline() ? -1 : findDoubleThreat(myColor, count);
+        if (move >= 0) {
+            return found(move, MoveStage.DOUBLE_THREAT);
         }
 
-        // 4 Стратегический ход
-        move = findStrategicMove(myColor, oppColor);
-        if (move != null) {
-            return move;
+        // 4 Стратегический ход — лучшая по evaluateMoveStrategic пустая клетка, срок его не прерывает.
+        // Берётся не первый кандидат: его порядок учитывает бонусы отбора и историю перебора
+        if (count > 0) {
+            return found(candidates.bestStrategic(this), MoveStage.STRATEGIC);
         }
 
-        return findWeightedRandomMove();
+        move = findWeightedRandomMove(count);
+        return move >= 0 ? found(move, MoveStage.RANDOM) : -1;
     }
 
-    private int[] findStrategicMove(char myColor, char oppColor) {
-        int bestScore = -1;
-        int[] bestMove = null;
-        int size = board.getSize();
+    // Запоминает этап, давший ход, и возвращает ход
+    int found(int move, MoveStage stage) {
+        searchStats.setStage(stage);
+        return move;
+    }
+
+    // Этапы каскада открыты пакету, чтобы бенчмарки могли измерять их по отдельности
+    // Первая в порядке обхода клетка с наибольшей стратегической оценкой; на SparseBoard — среди окрестности фишек
+    int findStrategicMove(char myColor, char oppColor) {
+        return candidates.build(this, myColor, oppColor) > 0 ? candidates.bestStrategic(this) : -1;
+    }
 
-        for (int x = 0; x < size; x++) {
-            for (int y = 0; y < size; y++) {
-                if (board.getCell(x, y) != '.') continue;
+    // Не более limit лучших кандидатов; при равной оценке — в порядке обхода доски
+    int[] findStrategicCandidates(char myColor, char oppColor, int limit) {
+        int count = Math.min(limit, candidates.build(this, myColor, oppColor));
+        int[] moves = new int[count];
+        for (int i = 0; i < count; i++) moves[i] = candidates.cell(i);
+        return moves;
+    }
 
-                int score = evaluateMoveStrategic(x, y, myColor, oppColor);
-                if (score > bestScore) {
-                    bestScore = score;
-                    bestMove = new int[]{x, y};
-                }
-            }
-        }
+    MoveCandidates getCandidates() { return candidates; }
 
-        return bestMove;
+    SquareIndex getIndex() { return index; }
+
+    // false отключает отбор и упорядочивание кандидатов: эвристики и перебор смотрят все пустые клетки
+    // только по стратегической оценке — для сравнения объёма работы
+    public void setCandidatePruning(boolean pruning) {
+        candidates.setPruning(pruning);
+    }
+
+    int countEmptyCells() {
+        int size = board.getSize();
+        if (board instanceof SparseBoard sparse) return size * size - sparse.getOccupiedCount();
+        int empty = 0;
+        for (int x = 0; x < size; x++)
+            for (int y = 0; y < size; y++)
+                if (board.getCellUnchecked(x, y) == '.') empty++;
+        return empty;
     }
 
-    private int evaluateMoveStrategic(int x, int y, char myColor, char oppColor) {
+    int evaluateMoveStrategic(int x, int y, char myColor, char oppColor) {
         int score = 0;
         int size = board.getSize();
 
@@ -137,17 +337,19 @@ public class SquaresGame {
         score += (size - distanceFromCenter) * 3;
 
         // Потенциал создания квадратов 2x2
+        int windows = 0;
         for (int dx = -1; dx <= 0; dx++) {
             for (int dy = -1; dy <= 0; dy++) {
                 int startX = x + dx;
                 int startY = y + dy;
 
                 if (startX >= 0 && startX < size-1 && startY >= 0 && startY < size-1) {
+                    windows++;
                     int myCount = 0, oppCount = 0;
 
                     for (int i = startX; i <= startX+1; i++) {
                         for (int j = startY; j <= startY+1; j++) {
-                            char c = board.getCell(i, j);
+                            char c = board.getCellUnchecked(i, j);
                             if (c == myColor) myCount++;
                             else if (c == oppColor) oppCount++;
                         }
@@ -160,143 +362,158 @@ public class SquaresGame {
                 }
             }
         }
+        searchStats.addSquares(windows);
 
         return score;
     }
 
-    private int[] findImmediateWin(char color) {
+    private int findImmediateWin(char color) {
+        if (index != null) return index.findWinningCell(color);
         int size = board.getSize();
 
-        // Проверка квадратов 2x2
-        for (int x = 0; x < size - 1; x++) {
+        // Проверка квадратов 2x2; на разреженной доске их тоже найдёт перебор пар фишек
+        for (int x = 0; x < size - 1 && !(board instanceof SparseBoard); x++) {
             for (int y = 0; y < size - 1; y++) {
-                int[][] square = {{x, y}, {x+1, y}, {x, y+1}, {x+1, y+1}};
                 int emptyCount = 0;
-                int[] emptyCell = null;
+                int emptyCell = -1;
                 boolean valid = true;
 
-                for (int[] cell : square) {
-                    char c = board.getCell(cell[0], cell[1]);
+                for (int i = 0; i < 4 && valid; i++) {
+                    int cx = x + (i & 1), cy = y + (i >> 1);
+                    char c = board.getCellUnchecked(cx, cy);
                     if (c == '.') {
                         emptyCount++;
-                        emptyCell = cell;
+                        emptyCell = cx * size + cy;
                     } else if (c != color) {
                         valid = false;
-                        break;
                     }
                 }
 
                 if (valid && emptyCount == 1) return emptyCell;
             }
+            searchStats.addSquares(size - 1);
+            if (isPastDeadline()) return -1;
         }
 
-        List<int[]> cells = new ArrayList<>();
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                if (board.getCell(i, j) == color) cells.add(new int[]{i, j});
-            }
-        }
-
-        for (int i = 0; i < cells.size(); i++) {
-            for (int j = i + 1; j < cells.size(); j++) {
-                int x1 = cells.get(i)[0], y1 = cells.get(i)[1];
-                int x2 = cells.get(j)[0], y2 = cells.get(j)[1];
+        int count = collectCells(color);
+        for (int i = 0; i < count; i++) {
+            for (int j = i + 1; j < count; j++) {
+                int x1 = scratchCells[i] / size, y1 = scratchCells[i] % size;
+                int x2 = scratchCells[j] / size, y2 = scratchCells[j] % size;
                 int dx = x2 - x1, dy = y2 - y1;
 
-                int[][] variants = {{-dy, dx}, {dy, -dx}};
-                for (int[] v : variants) {
-                    int vx = v[0], vy = v[1];
-                    int x3 = x1 + vx, y3 = y1 + vy;
-                    int x4 = x2 + vx, y4 = y2 + vy;
-
-                    int emptyCount = 0;
-                    int[] emptyCell = null;
-                    int[][] points = {{x1, y1}, {x2, y2}, {x3, y3}, {x4, y4}};
-                    boolean validSquare = true;
-
-                    for (int[] p : points) {
-                        int px = p[0], py = p[1];
-                        if (!board.isInside(px, py)) {
-                            validSquare = false;
-                            break;
-                        }
-                        char c = board.getCell(px, py);
-                        if (c == '.') {
-                            emptyCount++;
-                            emptyCell = new int[]{px, py};
-                        } else if (c != color) {
-                            validSquare = false;
-                            break;
-                        }
-                    }
-                    if (validSquare && emptyCount == 1) return emptyCell;
-                }
+                int cell = closingCell(color, x1, y1, x2, y2, -dy, dx);
+                if (cell >= 0) return cell;
+                cell = closingCell(color, x1, y1, x2, y2, dy, -dx);
+                if (cell >= 0) return cell;
             }
+            // Каждая пара клеток — сторона двух квадратов
+            searchStats.addSquares(2L * (count - i - 1));
+            if (isPastDeadline()) return -1;
         }
-        return null;
+        return -1;
     }
 
-    private int[] findDoubleThreat(char myColor, char oppColor) {
+    // Пустая вершина квадрата со стороной (x1,y1)-(x2,y2), если остальные три вершины цвета color, иначе -1
+    private int closingCell(char color, int x1, int y1, int x2, int y2, int vx, int vy) {
+        int x3 = x1 + vx, y3 = y1 + vy;
+        int x4 = x2 + vx, y4 = y2 + vy;
+        if (!board.isInside(x3, y3) || !board.isInside(x4, y4)) return -1;
+
+        char c3 = board.getCellUnchecked(x3, y3);
+        char c4 = board.getCellUnchecked(x4, y4);
         int size = board.getSize();
+        if (c3 == '.' && c4 == color) return x3 * size + y3;
+        if (c4 == '.' && c3 == color) return x4 * size + y4;
+        return -1;
+    }
 
-        for (int x = 0; x < size; x++) {
-            for (int y = 0; y < size; y++) {
-                if (board.getCell(x, y) != '.') continue;
-
-                board.setCell(x, y, myColor);
-                int threatCount = 0;
-
-                for (int i = 0; i < size - 1; i++) {
-                    for (int j = 0; j < size - 1; j++) {
-                        int myCount = 0;
-                        boolean valid = true;
-                        for (int di = 0; di <= 1; di++) {
-                            for (int dj = 0; dj <= 1; dj++) {
-                                char c = board.getCell(i + di, j + dj);
-                                if (c == '.') {
-                                } else if (c != myColor) {
-                                    valid = false;
-                                } else {
-                                    myCount++;
-                                }
-                            }
-                        }
-                        if (valid && myCount == 3) threatCount++;
-                    }
-                }
+    // Складывает клетки цвета в scratchCells, возвращает их количество
+    private int collectCells(char color) {
+        if (board instanceof SparseBoard sparse) {
+            ensureScratch(sparse.getOccupiedCount());
+            return sparse.collectCells(color, scratchCells);
+        }
+        int size = board.getSize();
+        int count = 0;
+        for (int i = 0; i < size; i++)
+            for (int j = 0; j < size; j++)
+                if (board.getCellUnchecked(i, j) == color) scratchCells[count++] = i * size + j;
+        return count;
+    }
 
-                board.setCell(x, y, '.');
+    // Для MCTS и бенчмарков: двойная угроза без готового списка кандидатов
+    private int findDoubleThreat(char myColor, char oppColor) {
+        if (index != null) return index.findDoubleThreatCell(myColor);
+        return findDoubleThreat(myColor, candidates.build(this, myColor, oppColor));
+    }
 
-                if (threatCount >= 2) return new int[]{x, y};
+    // Первый по порядку из count построенных кандидатов, ход в который даёт цвету две угрозы с разными клетками
+    private int findDoubleThreat(char color, int count) {
+        if (index != null) {
+            for (int i = 0; i < count; i++) {
+                if (index.isDoubleThreat(candidates.cell(i), color)) return candidates.cell(i);
             }
+            return -1;
         }
-        return null;
-    }
 
-    private int[] findWeightedRandomMove() {
-        List<int[]> emptyCells = new ArrayList<>();
+        // Выигрыша в один ход у цвета нет (его нашёл бы первый этап), поэтому новые угрозы проходят
+        // через кандидата, а вторая его вершина по стороне — фишка цвета
         int size = board.getSize();
-
-        for (int x = 0; x < size; x++) {
-            for (int y = 0; y < size; y++) {
-                if (board.getCell(x, y) == '.') {
-                    int weight = calculateCellWeight(x, y, size);
-                    for (int i = 0; i < weight; i++) {
-                        emptyCells.add(new int[]{x, y});
-                    }
+        int pieces = collectCells(color);
+        for (int i = 0; i < count; i++) {
+            int cell = candidates.cell(i);
+            int x1 = cell / size, y1 = cell % size;
+            int firstThreat = -1;
+            boolean found = false;
+
+            for (int p = 0; p < pieces && !found; p++) {
+                int x2 = scratchCells[p] / size, y2 = scratchCells[p] % size;
+                int dx = x2 - x1, dy = y2 - y1;
+                for (int sign = 1; sign >= -1 && !found; sign -= 2) {
+                    int threat = closingCell(color, x1, y1, x2, y2, -dy * sign, dx * sign);
+                    if (threat < 0) continue;
+                    if (firstThreat < 0) firstThreat = threat;
+                    else found = threat != firstThreat;
                 }
             }
+            searchStats.addSquares(2L * pieces);
+
+            if (found) return cell;
+            if (isPastDeadline()) return -1;
         }
+        return -1;
+    }
 
-        return emptyCells.isEmpty() ? null : emptyCells.get(random.nextInt(emptyCells.size()));
+    // Выбор с вероятностью, пропорциональной весу: накопленные веса и двоичный поиск
+    int findWeightedRandomMove() {
+        return findWeightedRandomMove(candidates.collect(this));
     }
 
-    private int calculateCellWeight(int x, int y, int size) {
-        int weight = 1;
+    private int findWeightedRandomMove(int count) {
+        int size = board.getSize();
+        ensureScratch(count);
+        int total = 0;
 
-        int center = size / 2;
-        int distanceFromCenter = Math.abs(x - center) + Math.abs(y - center);
-        weight += (size - distanceFromCenter);
+        for (int i = 0; i < count; i++) {
+            int cell = candidates.cell(i);
+            total += calculateCellWeight(cell / size, cell % size, size);
+            scratchWeights[i] = total;
+        }
+        if (count == 0) return -1;
+
+        int target = random.nextInt(total);
+        int lo = 0, hi = count - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (scratchWeights[mid] > target) hi = mid;
+            else lo = mid + 1;
+        }
+        return candidates.cell(lo);
+    }
+
+    private int calculateCellWeight(int x, int y, int size) {
+        int weight = centerWeight(x, y, size);
 
         // Небольшой случайный элемент
         weight += random.nextInt(3);
@@ -304,33 +521,72 @@ public class SquaresGame {
         return Math.max(1, weight);
     }
 
+    // Вес клетки без случайной части: чем ближе к центру, тем больше
+    static int centerWeight(int x, int y, int size) {
+        int center = size / 2;
+        int distanceFromCenter = Math.abs(x - center) + Math.abs(y - center);
+        return 1 + (size - distanceFromCenter);
+    }
+
     private void placePiece(int x, int y) {
-        board.setCell(x, y, getCurrentPlayer().getColor());
-        System.out.printf("%c (%d, %d)%n", getCurrentPlayer().getColor(), x, y);
-        board.printBoard();
+        char color = getCurrentPlayer().getColor();
+        setCell(x, y, color);
+        for (GameListener listener : listeners) listener.movePlaced(this, color, x, y);
+    }
+
+    private void setCell(int x, int y, char color) {
+        int size = board.getSize();
+        hash ^= Zobrist.key(x * size + y, board.getCellUnchecked(x, y)) ^ Zobrist.key(x * size + y, color);
+        if (index != null) index.set(x, y, color);
+        else board.setCellUnchecked(x, y, color);
+    }
+
+    // Пробный ход и его отмена для движков поиска; состояние партии не меняется
+    void play(int cell, char color) {
+        int size = board.getSize();
+        setCell(cell / size, cell % size, color);
     }
 
+    void undo(int cell) {
+        int size = board.getSize();
+        setCell(cell / size, cell % size, '.');
+    }
+
+    long getHash() { return hash; }
+
+    char getOpponentColor() { return players[(currentPlayerIndex + 1) % 2].getColor(); }
+
+    int findWinningCell(char color) { return findImmediateWin(color); }
+
+    int findDoubleThreatCell(char color) { return findDoubleThreat(color, color == 'W' ? 'B' : 'W'); }
+
+    boolean hasSquare(char color) { return checkWinner(color, false); }
+
     private void handleComputerTurns() {
         while (gameStarted && getCurrentPlayer().isComputer()) {
-            int[] move = findNextMove();
-            if (move == null) break;
+            int move = findNextMoveCell();
+            if (move < 0) break;
 
-            placePiece(move[0], move[1]);
-            checkGameState();
-            if (gameStarted) switchPlayer();
+            int size = board.getSize();
+            placePiece(move / size, move % size);
+            if (!finishIfOver(move)) switchPlayer();
         }
     }
 
-    private void checkGameState() {
-        if (checkWinner(getCurrentPlayer().getColor(), true)) {
-            if (winningSquare != null) {
-                for (int[] cell : winningSquare) System.out.print("(" + cell[0] + "," + cell[1] + ") ");
-                System.out.println();
-            }
+    // Завершает партию после хода текущего игрока в cell, если он победил или доска заполнена
+    private boolean finishIfOver(int cell) {
+        char color = getCurrentPlayer().getColor();
+        if (checkWinnerAfterMove(color, cell)) {
             gameStarted = false;
-        } else if (board.isFull()) {
+            for (GameListener listener : listeners) listener.gameWon(this, color, winningSquare);
+            return true;
+        }
+        if (board.isFull()) {
             gameStarted = false;
+            for (GameListener listener : listeners) listener.gameDrawn(this);
+            return true;
         }
+        return false;
     }
 
     private void switchPlayer() {
@@ -338,37 +594,47 @@ public class SquaresGame {
     }
 
     private boolean checkWinner(char color, boolean saveWinningSquare) {
-        List<int[]> cells = new ArrayList<>();
-        int size = board.getSize();
-        for (int i = 0; i < size; i++)
-            for (int j = 0; j < size; j++)
-                if (board.getCell(i, j) == color) cells.add(new int[]{i, j});
+        if (index != null) {
+            if (!index.hasSquare(color)) return false;
+            if (saveWinningSquare) winningSquare = index.findSquare(color);
+            return true;
+        }
 
-        for (int i = 0; i < cells.size(); i++) {
-            for (int j = i + 1; j < cells.size(); j++) {
-                int x1 = cells.get(i)[0], y1 = cells.get(i)[1];
-                int x2 = cells.get(j)[0], y2 = cells.get(j)[1];
-                int dx = x2 - x1, dy = y2 - y1;
+        int[][] square = board instanceof SparseBoard sparse
+                ? SquareScan.find(sparse, color)
+                : SquareScan.find(colorBits(color), board.getSize());
+        if (square == null) return false;
+        if (saveWinningSquare) winningSquare = square;
+        return true;
+    }
 
-                int[][] variants = {{-dy, dx}, {dy, -dx}};
-                for (int[] v : variants) {
-                    int vx = v[0], vy = v[1];
-                    int x3 = x1 + vx, y3 = y1 + vy;
-                    int x4 = x2 + vx, y4 = y2 + vy;
+    // До хода квадратов не было, поэтому на доске без индекса проверяются только квадраты через cell
+    private boolean checkWinnerAfterMove(char color, int cell) {
+        if (index != null) return checkWinner(color, true);
 
-                    if (board.isInside(x3, y3) && board.isInside(x4, y4)) {
-                        if (board.getCell(x3, y3) == color && board.getCell(x4, y4) == color) {
-                            if (saveWinningSquare) winningSquare = new int[][]{{x1, y1}, {x2, y2}, {x3, y3}, {x4, y4}};
-                            return true;
-                        }
-                    }
-                }
-            }
+        int[][] square = board instanceof SparseBoard sparse
+                ? SquareScan.findThrough(sparse, cell, color)
+                : SquareScan.findThrough(colorBits(color), board.getSize(), cell);
+        if (square == null) return false;
+        winningSquare = square;
+        return true;
+    }
+
+    private long[] colorBits(char color) {
+        if (board instanceof BitBoard bitBoard) return bitBoard.bits(color);
+
+        int size = board.getSize();
+        if (scratchBits == null || scratchBits.length != (size * size + 63) >>> 6) {
+            scratchBits = new long[(size * size + 63) >>> 6];
         }
-        return false;
+        Arrays.fill(scratchBits, 0);
+        for (int x = 0; x < size; x++)
+            for (int y = 0; y < size; y++)
+                if (board.getCellUnchecked(x, y) == color) scratchBits[(x * size + y) >>> 6] |= 1L << (x * size + y);
+        return scratchBits;
     }
 
-    public SquaresBoard getBoard() { return board; }
+    public Board getBoard() { return board; }
 
     public String getGameStatus() {
         if (board == null) return "ACTIVE";
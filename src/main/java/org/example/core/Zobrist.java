@@ -0,0 +1,17 @@
+package org.example.core;
+
+// Ключи Zobrist вычисляются хешем от (клетка, цвет), поэтому таблица ключей не нужна для любых размеров доски
+final class Zobrist {
+    static final long BLACK_TO_MOVE = 0x9E3779B97F4A7C15L;
+
+    private Zobrist() {
+    }
+
+    static long key(int cell, char color) {
+        if (color == '.') return 0;
+        long z = (cell * 2L + (color == 'W' ? 0 : 1) + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
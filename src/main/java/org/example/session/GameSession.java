@@ -0,0 +1,143 @@
+package org.example.session;
+
+import org.example.core.GameListener;
+import org.example.core.SquaresGame;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+// Партия, живущая между запросами или командами. Игра не потокобезопасна, поэтому изменения
+// идут под блокировкой сессии — один писатель на партию. ReentrantLock, а не synchronized: виртуальный поток,
+// ждущий поиск хода под synchronized, занимал бы поток-носитель.
+// Состояние для чтения — неизменяемый снимок, который писатель публикует после каждого хода;
+// его читают без блокировки, даже пока движок ищет ход
+public class GameSession {
+    private final String id;
+    private final SquaresGame game;
+    private final ReentrantLock lock = new ReentrantLock();
+    // Оценка памяти партии, учтённая хранилищем при создании
+    private final long footprintBytes;
+    private volatile long lastAccess;
+    private volatile Status status;
+
+    GameSession(String id, SquaresGame game, long footprintBytes, long now) {
+        this.id = id;
+        this.game = game;
+        this.footprintBytes = footprintBytes;
+        this.lastAccess = now;
+        this.status = Status.of(game, countPieces(game));
+        game.addListener(new StatusPublisher());
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public SquaresGame getGame() {
+        return game;
+    }
+
+    public ReentrantLock getLock() {
+        return lock;
+    }
+
+    // Последний опубликованный снимок; блокировка не нужна
+    public Status getStatus() {
+        return status;
+    }
+
+    long getFootprintBytes() {
+        return footprintBytes;
+    }
+
+    long getLastAccess() {
+        return lastAccess;
+    }
+
+    void touch(long now) {
+        lastAccess = now;
+    }
+
+    private static int countPieces(SquaresGame game) {
+        if (game.getBoard() == null) return 0;
+        int size = game.getBoard().getSize();
+        int pieces = 0;
+        for (int x = 0; x < size; x++)
+            for (int y = 0; y < size; y++)
+                if (game.getBoard().getCellUnchecked(x, y) != '.') pieces++;
+        return pieces;
+    }
+
+    // События приходят в потоке писателя, который держит блокировку сессии
+    private final class StatusPublisher implements GameListener {
+        @Override
+        public void gameStarted(SquaresGame game) {
+            status = Status.of(game, 0);
+        }
+
+        @Override
+        public void movePlaced(SquaresGame game, char color, int x, int y) {
+            // Ход ещё не передан сопернику: очередь в снимке — у соперника, итог партии придёт отдельным событием
+            status = new Status("ACTIVE", game.getBoard().getSize(), color == 'W' ? 'B' : 'W',
+                    status.moves + 1, null);
+        }
+
+        @Override
+        public void gameWon(SquaresGame game, char color, int[][] square) {
+            status = new Status(String.valueOf(color), status.size, '\0', status.moves, square);
+        }
+
+        @Override
+        public void gameDrawn(SquaresGame game) {
+            status = new Status("DRAW", status.size, '\0', status.moves, null);
+        }
+    }
+
+    // status: ACTIVE, W, B или DRAW, как SquaresGame.getGameStatus(); nextPlayer — '\0' после конца партии
+    public static final class Status {
+        private final String status;
+        private final int size;
+        private final char nextPlayer;
+        private final int moves;
+        private final int[][] winningSquare;
+
+        private Status(String status, int size, char nextPlayer, int moves, int[][] winningSquare) {
+            this.status = status;
+            this.size = size;
+            this.nextPlayer = nextPlayer;
+            this.moves = moves;
+            this.winningSquare = winningSquare;
+        }
+
+        private static Status of(SquaresGame game, int moves) {
+            if (game.getBoard() == null) return new Status("ACTIVE", 0, '\0', 0, null);
+            String status = game.getGameStatus();
+            char next = "ACTIVE".equals(status) ? game.getCurrentPlayer().getColor() : '\0';
+            return new Status(status, game.getBoard().getSize(), next, moves, game.getWinningSquare());
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public boolean isActive() {
+            return "ACTIVE".equals(status);
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public char getNextPlayer() {
+            return nextPlayer;
+        }
+
+        // Число фишек на доске
+        public int getMoves() {
+            return moves;
+        }
+
+        public int[][] getWinningSquare() {
+            return winningSquare;
+        }
+    }
+}
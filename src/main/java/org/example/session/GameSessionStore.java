@@ -0,0 +1,142 @@
+package org.example.session;
+
+import org.example.core.SquaresGame;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Ограниченное хранилище партий по идентификатору для веб-сервера и консоли. Ограничены и число партий,
+// и их общая оценка памяти: партия 70x70 с индексом квадратов занимает около 4 МБ, а 8x8 — около 5 КБ.
+// Простаивающие дольше idleTimeoutMs сессии удаляются при обращении и при периодической чистке;
+// при переполнении за один обход вытесняется 1/64 самых давних, чтобы на 100 тысячах партий создание
+// не обходило всё хранилище каждый раз. Создания идут по одному, поэтому проверка места и вставка
+// не разделяются; удаления только освобождают место и идут без блокировки
+public class GameSessionStore {
+    private static final int EVICTION_BATCH_DIVISOR = 64;
+
+    private final ConcurrentMap<String, GameSession> sessions = new ConcurrentHashMap<>();
+    private final int maxSessions;
+    private final long maxBytes;
+    private final AtomicLong totalBytes = new AtomicLong();
+    private final long idleTimeoutMs;
+    private final LongSupplier clock;
+    private final AtomicLong lastSweep;
+    private final AtomicLong evictions = new AtomicLong();
+
+    public GameSessionStore(int maxSessions, long idleTimeoutMs) {
+        this(maxSessions, Long.MAX_VALUE, idleTimeoutMs, System::currentTimeMillis);
+    }
+
+    public GameSessionStore(int maxSessions, long idleTimeoutMs, LongSupplier clock) {
+        this(maxSessions, Long.MAX_VALUE, idleTimeoutMs, clock);
+    }
+
+    public GameSessionStore(int maxSessions, long maxBytes, long idleTimeoutMs, LongSupplier clock) {
+        if (maxSessions <= 0) throw new IllegalArgumentException("Max sessions must be > 0");
+        if (maxBytes <= 0) throw new IllegalArgumentException("Max bytes must be > 0");
+        if (idleTimeoutMs <= 0) throw new IllegalArgumentException("Idle timeout must be > 0");
+        this.maxSessions = maxSessions;
+        this.maxBytes = maxBytes;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.clock = clock;
+        this.lastSweep = new AtomicLong(clock.getAsLong());
+    }
+
+    // Память партии оценивается по размеру её доски
+    public GameSession create(SquaresGame game) {
+        int size = game.getBoard() != null ? game.getBoard().getSize() : 0;
+        return create(game, SquaresGame.estimateFootprintBytes(size));
+    }
+
+    // footprintBytes — оценка памяти партии вместе с движком; партия больше всего бюджета не принимается
+    public synchronized GameSession create(SquaresGame game, long footprintBytes) {
+        if (footprintBytes > maxBytes) throw new IllegalArgumentException("Game too large for session store");
+        long now = clock.getAsLong();
+        // Полный обход — не чаще раза за период простоя или когда места не осталось
+        if (!hasRoom(footprintBytes) || now - lastSweep.get() >= idleTimeoutMs) evictIdle(now);
+        while (!hasRoom(footprintBytes)) evictLeastRecentlyUsed(Math.max(1, maxSessions / EVICTION_BATCH_DIVISOR));
+
+        GameSession session = new GameSession(UUID.randomUUID().toString(), game, footprintBytes, now);
+        totalBytes.addAndGet(footprintBytes);
+        sessions.put(session.getId(), session);
+        return session;
+    }
+
+    // Сессия по идентификатору или null, если её нет или она простаивала слишком долго
+    public GameSession get(String id) {
+        GameSession session = sessions.get(id);
+        if (session == null) return null;
+
+        long now = clock.getAsLong();
+        if (isIdle(session, now)) {
+            if (removed(id, session)) evictions.incrementAndGet();
+            return null;
+        }
+        session.touch(now);
+        return session;
+    }
+
+    public boolean remove(String id) {
+        GameSession session = sessions.get(id);
+        return session != null && removed(id, session);
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    // Сумма оценок памяти живых партий
+    public long getFootprintBytes() {
+        return totalBytes.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    private void evictIdle(long now) {
+        lastSweep.set(now);
+        for (Map.Entry<String, GameSession> entry : sessions.entrySet()) {
+            if (isIdle(entry.getValue(), now) && removed(entry.getKey(), entry.getValue())) {
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    // count давно не использованных сессий за один обход: куча из count самых старых
+    private void evictLeastRecentlyUsed(int count) {
+        PriorityQueue<GameSession> oldest = new PriorityQueue<>(count,
+                Comparator.comparingLong(GameSession::getLastAccess).reversed());
+        for (GameSession session : sessions.values()) {
+            if (oldest.size() < count) oldest.add(session);
+            else if (session.getLastAccess() < oldest.peek().getLastAccess()) {
+                oldest.poll();
+                oldest.add(session);
+            }
+        }
+        for (GameSession session : oldest) {
+            if (removed(session.getId(), session)) evictions.incrementAndGet();
+        }
+    }
+
+    private boolean hasRoom(long footprintBytes) {
+        return sessions.size() < maxSessions && totalBytes.get() + footprintBytes <= maxBytes;
+    }
+
+    // Удаление, которое освобождает учтённую память ровно один раз
+    private boolean removed(String id, GameSession session) {
+        if (!sessions.remove(id, session)) return false;
+        totalBytes.addAndGet(-session.getFootprintBytes());
+        return true;
+    }
+
+    private boolean isIdle(GameSession session, long now) {
+        return now - session.getLastAccess() >= idleTimeoutMs;
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.web.cache;
+
+import org.example.core.Board;
+import org.example.core.CanonicalPosition;
+import org.example.core.MoveEngines;
+import org.example.core.SquareGeometry;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Ограниченный кэш ходов эвристики по канонической позиции: симметричные доски нечётного размера
+// делят одну запись, ход хранится в канонической ориентации и переводится в ориентацию запроса.
+// Поиск в кэше идёт до загрузки доски в игру, поэтому попадание экономит и построение индекса квадратов.
+// Сегменты — LinkedHashMap в порядке доступа под своим замком, вытесняется давно не читавшаяся запись
+public class MoveCache {
+    private static final int MAX_SEGMENTS = 16;
+    private static final int MIN_SEGMENT_SIZE = 64;
+
+    private final int maxEntries;
+    private final Segment[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    // maxEntries = 0 отключает кэш
+    public MoveCache(int maxEntries) {
+        if (maxEntries < 0) throw new IllegalArgumentException("Max entries must be >= 0");
+        this.maxEntries = maxEntries;
+        // Небольшой кэш — один сегмент с точным LRU
+        int count = maxEntries == 0 ? 0 : Math.max(1, Math.min(MAX_SEGMENTS, maxEntries / MIN_SEGMENT_SIZE));
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(maxEntries / count + (i < maxEntries % count ? 1 : 0));
+        }
+    }
+
+    // Кэшируется только эвристика на досках с индексом квадратов: там её ход определяется позицией,
+    // а перебор и MCTS зависят от бюджета времени и случайности
+    public boolean isCacheable(String engineName, int size) {
+        return segments.length > 0 && MoveEngines.isHeuristic(engineName) && SquareGeometry.isSupported(size);
+    }
+
+    // Ключ позиции для кэша. На чётных досках центр у эвристики смещён (size / 2), и её ход
+    // не переходит при отражении в ход отражённой доски, поэтому там симметрии не объединяются
+    public CanonicalPosition keyOf(Board board, char toMove) {
+        return board.getSize() % 2 != 0 ? CanonicalPosition.of(board, toMove) : CanonicalPosition.exact(board, toMove);
+    }
+
+    // Ход из кэша в ориентации позиции (x * size + y) или -1
+    public int get(CanonicalPosition position) {
+        Segment segment = segmentFor(position);
+        Integer cached;
+        synchronized (segment) {
+            cached = segment.get(position);
+        }
+        if (cached == null) {
+            misses.increment();
+            return -1;
+        }
+        hits.increment();
+        return position.toOriginal(cached);
+    }
+
+    // cell — ход в ориентации позиции; запоминается в канонической
+    public void put(CanonicalPosition position, int cell) {
+        Segment segment = segmentFor(position);
+        synchronized (segment) {
+            segment.put(position, position.toCanonical(cell));
+        }
+    }
+
+    private Segment segmentFor(CanonicalPosition position) {
+        int h = position.hashCode();
+        return segments[Math.floorMod(h ^ (h >>> 16), segments.length)];
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    private final class Segment extends LinkedHashMap<CanonicalPosition, Integer> {
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<CanonicalPosition, Integer> eldest) {
+            if (size() <= capacity) return false;
+            evictions.increment();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.web.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.session.GameSessionStore;
+import org.example.web.cache.MoveCache;
+import org.example.web.metrics.SearchMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    // Метрики поиска хода, кэша ходов и сессий; squares.metrics.enabled=false отключает замеры на пути запроса
+    @Bean
+    public SearchMetrics searchMetrics(MeterRegistry registry,
+                                       @Value("${squares.metrics.enabled:true}") boolean enabled,
+                                       MoveCache moveCache, GameSessionStore sessions) {
+        if (enabled) {
+            FunctionCounter.builder("squares.cache.hits", moveCache, MoveCache::getHits).register(registry);
+            FunctionCounter.builder("squares.cache.misses", moveCache, MoveCache::getMisses).register(registry);
+            FunctionCounter.builder("squares.cache.evictions", moveCache, MoveCache::getEvictions).register(registry);
+            Gauge.builder("squares.cache.size", moveCache, MoveCache::size).register(registry);
+            Gauge.builder("squares.sessions.active", sessions, GameSessionStore::size).register(registry);
+            FunctionCounter.builder("squares.sessions.evictions", sessions, GameSessionStore::getEvictions)
+                    .register(registry);
+        }
+        return new SearchMetrics(registry, enabled);
+    }
+}
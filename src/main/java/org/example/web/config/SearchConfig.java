@@ -0,0 +1,83 @@
+package org.example.web.config;
+
+import org.example.core.OpeningBook;
+import org.example.core.SquareGeometry;
+import org.example.web.cache.MoveCache;
+import org.example.web.controller.SearchLimits;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class SearchConfig {
+
+    // Общий пул параллельного перебора; 0 — по числу процессоров
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool searchPool(@Value("${squares.ai.parallel.pool-size:0}") int poolSize) {
+        int size = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(size);
+    }
+
+    // Вычислительный пул поиска хода для /api/nextMove и ходов сессий; при заполненной очереди — отказ (503)
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService computeExecutor(@Value("${squares.ai.compute.pool-size:0}") int poolSize,
+                                           @Value("${squares.ai.compute.queue-capacity:256}") int queueCapacity) {
+        int size = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threads = new AtomicInteger();
+        return new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> new Thread(task, "squares-compute-" + threads.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // Пул пакетной оценки позиций; при заполненной очереди — отказ (503), перебор в потоке запроса не идёт
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService batchExecutor(@Value("${squares.ai.batch.pool-size:0}") int poolSize,
+                                         @Value("${squares.ai.batch.queue-capacity:1000}") int queueCapacity) {
+        int size = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threads = new AtomicInteger();
+        return new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> new Thread(task, "squares-batch-" + threads.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // Допустимый размер доски и бюджет времени поиска одного запроса; заодно — общий бюджет памяти
+    // таблиц геометрии квадратов, которые кэшируются по размерам доски
+    @Bean
+    public SearchLimits searchLimits(@Value("${squares.ai.max-board-size:100}") int maxBoardSize,
+                                     @Value("${squares.ai.default-time-budget-ms:1000}") long defaultTimeBudgetMs,
+                                     @Value("${squares.ai.max-time-budget-ms:5000}") long maxTimeBudgetMs,
+                                     @Value("${squares.ai.compute.timeout-ms:30000}") long computeTimeoutMs,
+                                     @Value("${squares.ai.geometry.cache-budget-bytes:268435456}") long geometryBudget) {
+        SquareGeometry.setCacheBudgetBytes(geometryBudget);
+        return new SearchLimits(maxBoardSize, defaultTimeBudgetMs, maxTimeBudgetMs, computeTimeoutMs);
+    }
+
+    // Кэш ходов /api/nextMove по канонической позиции; 0 — без кэша
+    @Bean
+    public MoveCache moveCache(@Value("${squares.ai.cache.max-entries:10000}") int maxEntries) {
+        return new MoveCache(maxEntries);
+    }
+
+    // Книга дебютов: файл из squares.ai.book.path отображается в память, иначе читается ресурс из jar
+    @Bean
+    public OpeningBook openingBook(@Value("${squares.ai.book.enabled:true}") boolean enabled,
+                                   @Value("${squares.ai.book.path:}") String path) throws IOException {
+        if (!enabled) return OpeningBook.EMPTY;
+        if (!path.isBlank()) return OpeningBook.map(Path.of(path));
+        try (InputStream in = SearchConfig.class.getResourceAsStream("/opening-book.bin")) {
+            return in != null ? OpeningBook.read(in) : OpeningBook.EMPTY;
+        }
+    }
+}
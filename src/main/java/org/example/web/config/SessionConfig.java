@@ -0,0 +1,44 @@
+package org.example.web.config;
+
+import org.example.session.GameSessionStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class SessionConfig {
+
+    @Bean
+    public GameSessionStore gameSessionStore(@Value("${squares.sessions.max-sessions:10000}") int maxSessions,
+                                             @Value("${squares.sessions.max-bytes:1073741824}") long maxBytes,
+                                             @Value("${squares.sessions.idle-timeout-ms:1800000}") long idleTimeoutMs) {
+        return new GameSessionStore(maxSessions, maxBytes, idleTimeoutMs, System::currentTimeMillis);
+    }
+
+    // Запись событий потоковых партий в соединения. У партии не больше одного события в очереди:
+    // следующий ход считается только после отправки, поэтому очередь ограничена числом потоков
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService streamSender(@Value("${squares.sessions.stream-send-threads:4}") int threads) {
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "squares-stream-send-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Паузы между ходами потоковых партий компьютера (/api/games/{id}/stream); сами ходы считает вычислительный пул
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService streamScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "squares-stream-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
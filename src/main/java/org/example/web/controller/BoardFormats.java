@@ -0,0 +1,51 @@
+package org.example.web.controller;
+
+import org.example.core.Board;
+import org.example.core.BoardCodec;
+import org.example.web.dto.BoardDto;
+import org.example.web.dto.SimpleMoveDto;
+
+import java.util.Base64;
+
+// Форматы доски в запросах: text — строка size*size, packed и sparse — компактные кодировки BoardCodec
+final class BoardFormats {
+    static final String TEXT = "text";
+    static final String PACKED = "packed";
+    static final String SPARSE = "sparse";
+
+    private BoardFormats() {
+    }
+
+    static String formatOf(BoardDto boardDto) {
+        String format = boardDto.getFormat();
+        if (format == null) return TEXT;
+        return switch (format.toLowerCase()) {
+            case TEXT -> TEXT;
+            case PACKED -> PACKED;
+            case SPARSE -> SPARSE;
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+    }
+
+    static Board decode(BoardDto boardDto, String format) {
+        if (PACKED.equals(format)) {
+            if (boardDto.getData() == null) throw new IllegalArgumentException("Invalid board data length");
+            return BoardCodec.decodePacked(boardDto.getSize(), Base64.getDecoder().decode(boardDto.getData()));
+        }
+        return BoardCodec.decodeSparse(boardDto.getSize(), boardDto.getWhite(), boardDto.getBlack());
+    }
+
+    // Для компактных форматов ход и квадрат дублируются номерами клеток, winningSquare не передаётся
+    static SimpleMoveDto encode(SimpleMoveDto move, String format, int size) {
+        if (TEXT.equals(format)) return move;
+        if (move.getX() >= 0) move.setCell(move.getX() * size + move.getY());
+        int[][] square = move.getWinningSquare();
+        if (square != null) {
+            int[] cells = new int[square.length];
+            for (int i = 0; i < square.length; i++) cells[i] = square[i][0] * size + square[i][1];
+            move.setWinningCells(cells);
+            move.setWinningSquare(null);
+        }
+        return move;
+    }
+}
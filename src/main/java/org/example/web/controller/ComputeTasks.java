@@ -0,0 +1,36 @@
+package org.example.web.controller;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Поиск хода выполняется в ограниченном вычислительном пуле, поток запроса только ждёт результат.
+// При виртуальных потоках ожидание освобождает поток-носитель, а перебор не может занять их все
+final class ComputeTasks {
+    private ComputeTasks() {
+    }
+
+    // RejectedExecutionException — пул и его очередь заполнены, ожидание прервано или дольше timeoutMs
+    static <T> T call(ExecutorService executor, Callable<T> task, long timeoutMs) {
+        Future<T> future = executor.submit(task);
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new RejectedExecutionException("Request timed out", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Request interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) throw runtime;
+            if (cause instanceof Error error) throw error;
+            throw new IllegalStateException(cause);
+        }
+    }
+}
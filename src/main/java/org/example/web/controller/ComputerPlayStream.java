@@ -0,0 +1,156 @@
+package org.example.web.controller;
+
+import org.example.core.SquaresGame;
+import org.example.session.GameSession;
+import org.example.session.GameSessionStore;
+import org.example.web.dto.GameStateDto;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+// Партия компьютера против компьютера, ходы которой сервер отправляет клиенту по мере расчёта (SSE).
+// Следующий ход считается только после отправки предыдущего, поэтому медленный клиент замедляет партию,
+// а не копит события в памяти. Ходы считает вычислительный пул, а запись в соединение идёт в отдельном
+// пуле отправки: медленный клиент не занимает потоки перебора. Пауза между ходами отсчитывается
+// планировщиком и не занимает поток.
+// Поток останавливается, когда клиент закрыл соединение или партию удалили
+public final class ComputerPlayStream {
+    static final String MOVE_EVENT = "move";
+    static final String END_EVENT = "end";
+    // Не "error": это имя EventSource использует для обрыва соединения
+    static final String ERROR_EVENT = "failure";
+    // Пауза перед повтором, если вычислительный пул занят
+    static final long BUSY_RETRY_MS = 1000;
+    // Пауза перед повтором, если партию держит другой запрос
+    static final long LOCK_RETRY_MS = 50;
+
+    private final GameSessionStore sessions;
+    private final GameSession session;
+    private final ExecutorService computeExecutor;
+    private final ExecutorService sendExecutor;
+    private final ScheduledExecutorService scheduler;
+    private final long delayMs;
+    private final SseEmitter emitter;
+    private final Function<SquaresGame, int[]> findMove;
+    private final BiFunction<GameSession, String, GameStateDto> state;
+    private volatile boolean cancelled;
+
+    public ComputerPlayStream(GameSessionStore sessions, GameSession session, ExecutorService computeExecutor,
+                       ExecutorService sendExecutor, ScheduledExecutorService scheduler, long delayMs, SseEmitter emitter,
+                       Function<SquaresGame, int[]> findMove, BiFunction<GameSession, String, GameStateDto> state) {
+        this.sessions = sessions;
+        this.session = session;
+        this.computeExecutor = computeExecutor;
+        this.sendExecutor = sendExecutor;
+        this.scheduler = scheduler;
+        this.delayMs = delayMs;
+        this.emitter = emitter;
+        this.findMove = findMove;
+        this.state = state;
+    }
+
+    public void start() {
+        emitter.onCompletion(this::cancel);
+        emitter.onTimeout(this::cancel);
+        emitter.onError(error -> cancel());
+        schedule(0);
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    private void schedule(long delay) {
+        if (cancelled) return;
+        try {
+            scheduler.schedule(this::submit, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Планировщик остановлен — сервер завершает работу
+            emitter.complete();
+        }
+    }
+
+    private void submit() {
+        if (cancelled) return;
+        try {
+            computeExecutor.execute(this::step);
+        } catch (RejectedExecutionException e) {
+            schedule(BUSY_RETRY_MS);
+        }
+    }
+
+    private void step() {
+        if (cancelled) return;
+        // Партию удалили или вытеснили — поток заканчивается
+        if (sessions.get(session.getId()) != session) {
+            emitter.complete();
+            return;
+        }
+
+        // Вычислительный поток не ждёт блокировку партии: её может держать ход клиента с поиском,
+        // и ожидание заняло бы поток пула на весь этот поиск
+        if (!session.getLock().tryLock()) {
+            schedule(LOCK_RETRY_MS);
+            return;
+        }
+
+        GameStateDto event;
+        boolean finished;
+        try {
+            SquaresGame game = session.getGame();
+            int[] move = session.getStatus().isActive() ? findMove.apply(game) : null;
+            if (move != null) game.applyMove(move[0], move[1]);
+            event = state.apply(session, move != null ? "Move found" : null);
+            event.setMove(move);
+            finished = !session.getStatus().isActive() || move == null;
+        } catch (RuntimeException e) {
+            event = new GameStateDto(session.getId(), 0, null, e.getMessage());
+            finished = true;
+        } finally {
+            session.getLock().unlock();
+        }
+
+        // Событие отправляется уже без блокировки и не в вычислительном потоке:
+        // медленный клиент не задерживает ни чтение партии, ни перебор других запросов
+        GameStateDto result = event;
+        boolean last = finished;
+        try {
+            sendExecutor.execute(() -> deliver(result, last));
+        } catch (RejectedExecutionException e) {
+            // Пул отправки остановлен — сервер завершает работу
+            emitter.complete();
+        }
+    }
+
+    private void deliver(GameStateDto event, boolean finished) {
+        if (event.getStatus() == null) {
+            if (send(ERROR_EVENT, event)) emitter.complete();
+            return;
+        }
+
+        if (event.getMove() != null && !send(MOVE_EVENT, event)) return;
+        if (finished) {
+            if (send(END_EVENT, event)) emitter.complete();
+            return;
+        }
+        schedule(delayMs);
+    }
+
+    // Отправка блокирует поток, пока событие не записано в соединение; false — клиент отключился
+    private boolean send(String name, GameStateDto data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            cancel();
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+}
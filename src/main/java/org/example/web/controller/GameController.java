@@ -1,40 +1,246 @@
 package org.example.web.controller;
 
-import org.example.core.Player;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.core.Board;
+import org.example.core.BoardCodec;
+import org.example.core.CanonicalPosition;
+import org.example.core.MoveEngines;
+import org.example.core.OpeningBook;
 import org.example.core.SquaresGame;
+import org.example.web.cache.MoveCache;
 import org.example.web.dto.BoardDto;
+import org.example.web.dto.CacheStatsDto;
 import org.example.web.dto.SimpleMoveDto;
+import org.example.web.metrics.SearchMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api")
 public class GameController {
+    private final ForkJoinPool searchPool;
+    private final int searchParallelism;
+    private final ExecutorService batchExecutor;
+    private final ExecutorService computeExecutor;
+    private final int batchMaxSize;
+    private final ObjectMapper objectMapper;
+    private final SearchLimits limits;
+    private final MoveCache moveCache;
+    private final OpeningBook openingBook;
+    private final SearchMetrics metrics;
+
+    public GameController(ForkJoinPool searchPool,
+                          @Value("${squares.ai.parallel.max-parallelism:0}") int searchParallelism,
+                          @Qualifier("batchExecutor") ExecutorService batchExecutor,
+                          @Qualifier("computeExecutor") ExecutorService computeExecutor,
+                          @Value("${squares.ai.batch.max-size:1000}") int batchMaxSize,
+                          ObjectMapper objectMapper,
+                          SearchLimits limits,
+                          MoveCache moveCache,
+                          OpeningBook openingBook,
+                          SearchMetrics metrics) {
+        this.searchPool = searchPool;
+        this.searchParallelism = searchParallelism > 0 ? searchParallelism : searchPool.getParallelism();
+        this.batchExecutor = batchExecutor;
+        this.computeExecutor = computeExecutor;
+        this.batchMaxSize = batchMaxSize;
+        this.objectMapper = objectMapper;
+        this.limits = limits;
+        this.moveCache = moveCache;
+        this.openingBook = openingBook;
+        this.metrics = metrics;
+    }
 
     @PostMapping("/nextMove")
     public ResponseEntity<SimpleMoveDto> nextMove(@RequestBody BoardDto boardDto) {
         try {
-            if (boardDto.getSize() <= 2) {
-                return ResponseEntity.badRequest().body(
-                        new SimpleMoveDto(-1, -1, null, "Invalid board size"));
+            return ComputeTasks.call(computeExecutor, () -> evaluate(boardDto), limits.getComputeTimeoutMs());
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(503).header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(new SimpleMoveDto(-1, -1, null, "Server busy"));
+        }
+    }
+
+    @GetMapping("/cache")
+    public CacheStatsDto cacheStats() {
+        return new CacheStatsDto(moveCache.size(), moveCache.getMaxEntries(),
+                moveCache.getHits(), moveCache.getMisses(), moveCache.getEvictions());
+    }
+
+    // Пакет независимых позиций; ответы в порядке запроса, ошибка одной позиции не прерывает пакет
+    @PostMapping("/nextMove/batch")
+    public ResponseEntity<List<SimpleMoveDto>> nextMoveBatch(@RequestBody List<BoardDto> boards) {
+        String error = checkBatch(boards);
+        if (error != null) {
+            return ResponseEntity.badRequest().body(List.of(new SimpleMoveDto(-1, -1, null, error)));
+        }
+
+        List<Future<SimpleMoveDto>> futures;
+        try {
+            futures = submitBatch(boards, new ExecutorCompletionService<>(batchExecutor));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(503).header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(List.of(new SimpleMoveDto(-1, -1, null, "Server busy")));
+        }
+        List<SimpleMoveDto> results = new ArrayList<>(futures.size());
+        try {
+            for (Future<SimpleMoveDto> future : futures) results.add(future.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ResponseEntity.status(503).body(List.of(new SimpleMoveDto(-1, -1, null, "Batch interrupted")));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            for (Future<SimpleMoveDto> future : futures) future.cancel(true);
+        }
+        return ResponseEntity.ok(results);
+    }
+
+    // Тот же пакет построчно в NDJSON по мере готовности; index указывает на позицию в запросе
+    @PostMapping(value = "/nextMove/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> nextMoveBatchStream(@RequestBody List<BoardDto> boards) {
+        // Ошибка пакета — та же строка, что и в JSON-варианте, только одной строкой NDJSON
+        String error = checkBatch(boards);
+        if (error != null) {
+            SimpleMoveDto errorDto = new SimpleMoveDto(-1, -1, null, error);
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_NDJSON)
+                    .body(out -> writeLine(out, errorDto));
+        }
+
+        // Позиции отправляются в пул до ответа, чтобы переполнение пула успело стать 503
+        CompletionService<SimpleMoveDto> completion = new ExecutorCompletionService<>(batchExecutor);
+        List<Future<SimpleMoveDto>> futures;
+        try {
+            futures = submitBatch(boards, completion);
+        } catch (RejectedExecutionException e) {
+            SimpleMoveDto busy = new SimpleMoveDto(-1, -1, null, "Server busy");
+            return ResponseEntity.status(503).header(HttpHeaders.RETRY_AFTER, "1")
+                    .contentType(MediaType.APPLICATION_NDJSON).body(out -> writeLine(out, busy));
+        }
+
+        StreamingResponseBody body = out -> {
+            try {
+                for (int i = 0; i < futures.size(); i++) writeLine(out, completion.take().get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            } finally {
+                // Клиент отключился или поток прерван — оставшиеся позиции не считаем
+                for (Future<SimpleMoveDto> future : futures) future.cancel(true);
             }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    private void writeLine(OutputStream out, SimpleMoveDto dto) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(dto));
+        out.write('\n');
+        out.flush();
+    }
+
+    private String checkBatch(List<BoardDto> boards) {
+        if (boards == null) return "Invalid batch";
+        if (boards.size() > batchMaxSize) return "Batch too large";
+        return null;
+    }
+
+    // Пул пакетов при переполнении отказывает, а не считает позицию в потоке запроса;
+    // уже отправленные позиции пакета тогда отменяются
+    private List<Future<SimpleMoveDto>> submitBatch(List<BoardDto> boards, CompletionService<SimpleMoveDto> completion) {
+        List<Future<SimpleMoveDto>> futures = new ArrayList<>(boards.size());
+        try {
+            for (int i = 0; i < boards.size(); i++) {
+                int index = i;
+                futures.add(completion.submit(() -> evaluateItem(boards.get(index), index)));
+            }
+        } catch (RejectedExecutionException e) {
+            for (Future<SimpleMoveDto> future : futures) future.cancel(true);
+            throw e;
+        }
+        return futures;
+    }
+
+    private SimpleMoveDto evaluateItem(BoardDto boardDto, int index) {
+        SimpleMoveDto result = boardDto != null
+                ? evaluate(boardDto).getBody()
+                : new SimpleMoveDto(-1, -1, null, "Invalid board");
+        result.setIndex(index);
+        return result;
+    }
+
+    private ResponseEntity<SimpleMoveDto> evaluate(BoardDto boardDto) {
+        SearchMetrics.Sample sample = metrics.start();
+        ResponseEntity<SimpleMoveDto> response = evaluateBoard(boardDto);
+        metrics.recordRequest(sample, boardDto.getSize());
+        return response;
+    }
 
-            String data = boardDto.getData() != null ? boardDto.getData().replaceAll("\\s+", "") : "";
-            if (data.length() != boardDto.getSize() * boardDto.getSize()) {
+    private ResponseEntity<SimpleMoveDto> evaluateBoard(BoardDto boardDto) {
+        try {
+            // Размер проверяется до разбора: большая доска не должна даже выделяться
+            String sizeError = limits.checkSize(boardDto.getSize());
+            if (sizeError != null) {
                 return ResponseEntity.badRequest().body(
-                        new SimpleMoveDto(-1, -1, null, "Invalid board data length"));
+                        new SimpleMoveDto(-1, -1, null, sizeError));
             }
 
+            String format = BoardFormats.formatOf(boardDto);
             String nextColorStr = boardDto.getNextPlayerColor();
-            if (nextColorStr == null || (!nextColorStr.equalsIgnoreCase("w") && !nextColorStr.equalsIgnoreCase("b"))) {
+            boolean colorValid = nextColorStr != null
+                    && (nextColorStr.equalsIgnoreCase("w") || nextColorStr.equalsIgnoreCase("b"));
+
+            Board parsed = null;
+            if (BoardFormats.TEXT.equals(format)) {
+                try {
+                    parsed = BoardCodec.parseText(boardDto.getSize(), boardDto.getData() != null ? boardDto.getData() : "");
+                } catch (IllegalArgumentException e) {
+                    // Порядок проверок прежний: длина доски, цвет игрока, символы доски
+                    String message = colorValid || BoardCodec.INVALID_LENGTH.equals(e.getMessage())
+                            ? e.getMessage() : "Invalid player color";
+                    return ResponseEntity.badRequest().body(new SimpleMoveDto(-1, -1, null, message));
+                }
+            }
+
+            if (!colorValid) {
                 return ResponseEntity.badRequest().body(
                         new SimpleMoveDto(-1, -1, null, "Invalid player color"));
             }
 
-            SquaresGame game = new SquaresGame();
             char nextPlayer = Character.toUpperCase(nextColorStr.charAt(0));
+            Board board = parsed != null ? parsed : BoardFormats.decode(boardDto, format);
+            int size = boardDto.getSize();
+
+            // В кэше только ходы из незавершённых позиций, поэтому попадание отвечает без загрузки доски в игру.
+            // Запрос с зерном кэш обходит: ответ должен зависеть от зерна, а не от прошлых запросов.
+            // Бюджет меньше стандартного тоже: после срока каскад пропускает этапы, и слабый ход
+            // не должен попасть в кэш, а запрос с малым бюджетом вправе получить ход, посчитанный дольше
+            Long seed = boardDto.getSeed();
+            long timeBudgetMs = limits.timeBudget(boardDto.getTimeBudgetMs());
+            CanonicalPosition position = seed == null && timeBudgetMs >= limits.timeBudget(null)
+                    && moveCache.isCacheable(boardDto.getEngine(), size) ? moveCache.keyOf(board, nextPlayer) : null;
+            int cached = position != null ? moveCache.get(position) : -1;
+            if (cached >= 0) return moveFound(cached, nextPlayer, format, size);
 
-            game.loadBoard(boardDto.getSize(), data, nextPlayer);
+            SquaresGame game = seed != null ? new SquaresGame(seed) : new SquaresGame();
+            game.loadBoard(board, nextPlayer);
 
             String status = game.getGameStatus();
             if (!"ACTIVE".equals(status)) {
@@ -44,17 +250,22 @@ public class GameController {
                     default -> "Game finished";
                 };
                 int[][] winningSquare = game.getWinningSquare();
-                return ResponseEntity.ok(new SimpleMoveDto(-1, -1, status.toLowerCase(), msg, winningSquare));
+                return ResponseEntity.ok(BoardFormats.encode(
+                        new SimpleMoveDto(-1, -1, status.toLowerCase(), msg, winningSquare), format, boardDto.getSize()));
             }
 
-            int[] move = game.findNextMove();
-            if (move == null) {
+            game.setEngine(MoveEngines.create(boardDto.getEngine(), searchPool, searchParallelism, openingBook));
+            game.setTimeBudgetMs(timeBudgetMs);
+
+            int cell = game.findNextMoveCell();
+            metrics.recordSearch(game.getSearchStats());
+            if (cell < 0) {
                 return ResponseEntity.ok(
                         new SimpleMoveDto(-1, -1, null, "No valid moves available"));
             }
+            if (position != null) moveCache.put(position, cell);
 
-            return ResponseEntity.ok(
-                    new SimpleMoveDto(move[0], move[1], String.valueOf(Character.toLowerCase(nextPlayer)), "Move found"));
+            return moveFound(cell, nextPlayer, format, size);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(
                     new SimpleMoveDto(-1, -1, null, e.getMessage()));
@@ -63,4 +274,10 @@ public class GameController {
                     new SimpleMoveDto(-1, -1, null, "Internal server error: " + e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    private static ResponseEntity<SimpleMoveDto> moveFound(int cell, char nextPlayer, String format, int size) {
+        return ResponseEntity.ok(BoardFormats.encode(
+                new SimpleMoveDto(cell / size, cell % size, String.valueOf(Character.toLowerCase(nextPlayer)), "Move found"),
+                format, size));
+    }
+}
@@ -0,0 +1,233 @@
+package org.example.web.controller;
+
+import org.example.core.Board;
+import org.example.core.BoardCodec;
+import org.example.core.MoveEngines;
+import org.example.core.OpeningBook;
+import org.example.core.SquaresGame;
+import org.example.session.GameSession;
+import org.example.session.GameSessionStore;
+import org.example.web.dto.BoardDto;
+import org.example.web.dto.GameStateDto;
+import org.example.web.dto.MoveDto;
+import org.example.web.metrics.SearchMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+
+// Партии с состоянием на сервере: клиент передаёт только свой ход, а не всю доску
+@RestController
+@RequestMapping("/api/games")
+public class GameSessionController {
+    private static final long MAX_STREAM_DELAY_MS = 10_000;
+
+    private final GameSessionStore sessions;
+    private final ForkJoinPool searchPool;
+    private final int searchParallelism;
+    private final ExecutorService computeExecutor;
+    private final SearchLimits limits;
+    private final OpeningBook openingBook;
+    private final SearchMetrics metrics;
+    private final ExecutorService streamSender;
+    private final ScheduledExecutorService streamScheduler;
+    private final long streamTimeoutMs;
+
+    public GameSessionController(GameSessionStore sessions, ForkJoinPool searchPool,
+                                 @Value("${squares.ai.parallel.max-parallelism:0}") int searchParallelism,
+                                 @Qualifier("computeExecutor") ExecutorService computeExecutor,
+                                 SearchLimits limits,
+                                 OpeningBook openingBook,
+                                 SearchMetrics metrics,
+                                 @Qualifier("streamSender") ExecutorService streamSender,
+                                 @Qualifier("streamScheduler") ScheduledExecutorService streamScheduler,
+                                 @Value("${squares.sessions.stream-timeout-ms:600000}") long streamTimeoutMs) {
+        this.sessions = sessions;
+        this.searchPool = searchPool;
+        this.searchParallelism = searchParallelism > 0 ? searchParallelism : searchPool.getParallelism();
+        this.computeExecutor = computeExecutor;
+        this.limits = limits;
+        this.openingBook = openingBook;
+        this.metrics = metrics;
+        this.streamSender = streamSender;
+        this.streamScheduler = streamScheduler;
+        this.streamTimeoutMs = streamTimeoutMs;
+    }
+
+    @PostMapping
+    public ResponseEntity<GameStateDto> create(@RequestBody BoardDto boardDto) {
+        try {
+            int size = boardDto.getSize();
+            String sizeError = limits.checkSize(size);
+            if (sizeError != null) return error(400, null, sizeError);
+
+            String format = BoardFormats.formatOf(boardDto);
+            Board board;
+            if (!BoardFormats.TEXT.equals(format)) board = BoardFormats.decode(boardDto, format);
+            else if (boardDto.getData() != null) board = BoardCodec.parseText(size, boardDto.getData());
+            else board = Board.create(size);
+
+            String nextColorStr = boardDto.getNextPlayerColor() != null ? boardDto.getNextPlayerColor() : "w";
+            if (!nextColorStr.equalsIgnoreCase("w") && !nextColorStr.equalsIgnoreCase("b")) {
+                return error(400, null, "Invalid player color");
+            }
+
+            Long seed = boardDto.getSeed();
+            SquaresGame game = seed != null ? new SquaresGame(seed) : new SquaresGame();
+            game.loadBoard(board, Character.toUpperCase(nextColorStr.charAt(0)));
+            // Таблицы перебора выделяются при первом ходе компьютера, а не на каждую созданную партию
+            game.setEngine(MoveEngines.createLazy(boardDto.getEngine(), searchPool, searchParallelism, openingBook));
+            game.setTimeBudgetMs(limits.timeBudget(boardDto.getTimeBudgetMs()));
+
+            // Хранилище учитывает память партии и движка: большие доски вытесняют давние партии раньше
+            long footprint = SquaresGame.estimateFootprintBytes(size)
+                    + MoveEngines.estimateFootprintBytes(boardDto.getEngine());
+            GameSession session = sessions.create(game, footprint);
+            GameStateDto state = state(session, "Game created");
+            state.setData(boardData(game.getBoard()));
+            return ResponseEntity.ok(state);
+        } catch (IllegalArgumentException e) {
+            return error(400, null, e.getMessage());
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<GameStateDto> get(@PathVariable String id) {
+        GameSession session = sessions.get(id);
+        if (session == null) return error(404, id, "Game not found");
+
+        session.getLock().lock();
+        try {
+            GameStateDto state = state(session, null);
+            state.setData(boardData(session.getGame().getBoard()));
+            return ResponseEntity.ok(state);
+        } finally {
+            session.getLock().unlock();
+        }
+    }
+
+    // Статус без доски читается из опубликованного снимка и не ждёт хода движка, который держит блокировку
+    @GetMapping("/{id}/status")
+    public ResponseEntity<GameStateDto> status(@PathVariable String id) {
+        GameSession session = sessions.get(id);
+        if (session == null) return error(404, id, "Game not found");
+        return ResponseEntity.ok(state(session, null));
+    }
+
+    // Ход клиента (если x и y заданы) и ответный ход движка (если reply не false).
+    // С ответом движка весь ход выполняется задачей вычислительного пула: поток, который держит блокировку
+    // партии, никогда не ждёт пул, поэтому поток партии и запросы ходов не могут заблокировать друг друга
+    @PostMapping("/{id}/moves")
+    public ResponseEntity<GameStateDto> move(@PathVariable String id, @RequestBody MoveDto moveDto) {
+        GameSession session = sessions.get(id);
+        if (session == null) return error(404, id, "Game not found");
+        if (Boolean.FALSE.equals(moveDto.getReply())) return applyMoves(session, moveDto, false);
+
+        try {
+            return ComputeTasks.call(computeExecutor, () -> applyMoves(session, moveDto, true),
+                    limits.getComputeTimeoutMs());
+        } catch (RejectedExecutionException e) {
+            // Ход целиком не начат или ещё идёт; состояние партии можно перечитать через GET
+            return ResponseEntity.status(503).header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(new GameStateDto(id, 0, null, "Server busy"));
+        }
+    }
+
+    private ResponseEntity<GameStateDto> applyMoves(GameSession session, MoveDto moveDto, boolean withReply) {
+        String id = session.getId();
+        session.getLock().lock();
+        try {
+            SquaresGame game = session.getGame();
+            if (!session.getStatus().isActive()) return error(400, id, "Game finished");
+
+            try {
+                if (moveDto.getX() != null || moveDto.getY() != null) {
+                    if (moveDto.getX() == null || moveDto.getY() == null) return error(400, id, "Invalid move format");
+                    game.applyMove(moveDto.getX(), moveDto.getY());
+                }
+
+                int[] reply = null;
+                if (withReply && game.isGameStarted()) {
+                    reply = findReply(game);
+                    if (reply != null) game.applyMove(reply[0], reply[1]);
+                }
+
+                GameStateDto state = state(session, reply != null ? "Move found" : "Move applied");
+                state.setMove(reply);
+                return ResponseEntity.ok(state);
+            } catch (IllegalArgumentException e) {
+                return error(400, id, e.getMessage());
+            }
+        } finally {
+            session.getLock().unlock();
+        }
+    }
+
+    // Партия компьютера против компьютера одним запросом: сервер сам делает ходы обеих сторон и отправляет
+    // каждый событием move, итог — событием end. delayMs — пауза между ходами, чтобы партию можно было смотреть
+    @GetMapping(value = "/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(@PathVariable String id,
+                                             @RequestParam(defaultValue = "0") long delayMs) {
+        if (delayMs < 0 || delayMs > MAX_STREAM_DELAY_MS) return ResponseEntity.badRequest().build();
+        GameSession session = sessions.get(id);
+        if (session == null) return ResponseEntity.notFound().build();
+
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        new ComputerPlayStream(sessions, session, computeExecutor, streamSender, streamScheduler, delayMs, emitter,
+                this::findReply, this::state).start();
+        return ResponseEntity.ok(emitter);
+    }
+
+    private int[] findReply(SquaresGame game) {
+        SearchMetrics.Sample sample = metrics.start();
+        int[] move = game.findNextMove();
+        metrics.recordSearch(game.getSearchStats());
+        metrics.recordRequest(sample, game.getBoard().getSize());
+        return move;
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable String id) {
+        return sessions.remove(id) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+
+    private GameStateDto state(GameSession session, String message) {
+        GameSession.Status snapshot = session.getStatus();
+        String status = snapshot.getStatus();
+        if (!snapshot.isActive()) {
+            message = switch (status) {
+                case "DRAW" -> "Game finished. Draw";
+                case "W", "B" -> "Game finished. " + status + " wins!";
+                default -> "Game finished";
+            };
+        }
+
+        GameStateDto state = new GameStateDto(session.getId(), snapshot.getSize(), status.toLowerCase(), message);
+        if (snapshot.isActive()) {
+            state.setNextPlayerColor(String.valueOf(Character.toLowerCase(snapshot.getNextPlayer())));
+        }
+        state.setWinningSquare(snapshot.getWinningSquare());
+        return state;
+    }
+
+    private static String boardData(Board board) {
+        int size = board.getSize();
+        StringBuilder data = new StringBuilder(size * size);
+        for (int x = 0; x < size; x++)
+            for (int y = 0; y < size; y++)
+                data.append(board.getCellUnchecked(x, y));
+        return data.toString();
+    }
+
+    private static ResponseEntity<GameStateDto> error(int status, String id, String message) {
+        return ResponseEntity.status(status).body(new GameStateDto(id, 0, null, message));
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.web.controller;
+
+// Ограничения запроса до поиска хода: размер доски и бюджет времени движка.
+// Размер проверяется до разбора доски, бюджет отдаётся движку как срок кооперативной проверки.
+// computeTimeoutMs — сколько запрос ждёт задачу вычислительного пула вместе с очередью
+public class SearchLimits {
+    static final long DEFAULT_COMPUTE_TIMEOUT_MS = 30_000;
+
+    private final int maxBoardSize;
+    private final long defaultTimeBudgetMs;
+    private final long maxTimeBudgetMs;
+    private final long computeTimeoutMs;
+
+    public SearchLimits(int maxBoardSize, long defaultTimeBudgetMs, long maxTimeBudgetMs) {
+        this(maxBoardSize, defaultTimeBudgetMs, maxTimeBudgetMs, DEFAULT_COMPUTE_TIMEOUT_MS);
+    }
+
+    public SearchLimits(int maxBoardSize, long defaultTimeBudgetMs, long maxTimeBudgetMs, long computeTimeoutMs) {
+        if (maxBoardSize <= 2) throw new IllegalArgumentException("Max board size must be > 2");
+        if (defaultTimeBudgetMs <= 0) throw new IllegalArgumentException("Default time budget must be > 0");
+        if (maxTimeBudgetMs < defaultTimeBudgetMs)
+            throw new IllegalArgumentException("Max time budget must be >= default time budget");
+        if (computeTimeoutMs < maxTimeBudgetMs)
+            throw new IllegalArgumentException("Compute timeout must be >= max time budget");
+        this.maxBoardSize = maxBoardSize;
+        this.defaultTimeBudgetMs = defaultTimeBudgetMs;
+        this.maxTimeBudgetMs = maxTimeBudgetMs;
+        this.computeTimeoutMs = computeTimeoutMs;
+    }
+
+    public long getComputeTimeoutMs() {
+        return computeTimeoutMs;
+    }
+
+    public int getMaxBoardSize() {
+        return maxBoardSize;
+    }
+
+    // Сообщение об ошибке для недопустимого размера или null
+    public String checkSize(int size) {
+        if (size <= 2) return "Invalid board size";
+        if (size > maxBoardSize) return "Board too large";
+        return null;
+    }
+
+    // Бюджет не задан или 0 — бюджет по умолчанию; больше предела — предел
+    public long timeBudget(Long requestedMs) {
+        if (requestedMs == null || requestedMs == 0) return defaultTimeBudgetMs;
+        if (requestedMs < 0) throw new IllegalArgumentException("Invalid time budget");
+        return Math.min(requestedMs, maxTimeBudgetMs);
+    }
+}
@@ -4,6 +4,14 @@ public class BoardDto {
     private int size;
     private String data;
     private String nextPlayerColor;
+    private String engine;
+    private Long timeBudgetMs;
+    // Зерно случайности движка; с одним зерном эвристика отвечает на позицию одинаково
+    private Long seed;
+    // Формат доски: text (по умолчанию), packed (data в base64) или sparse (white/black)
+    private String format;
+    private int[] white;
+    private int[] black;
 
     public int getSize() {
         return size;
@@ -28,4 +36,52 @@ public class BoardDto {
     public void setNextPlayerColor(String nextPlayerColor) {
         this.nextPlayerColor = nextPlayerColor;
     }
+
+    public String getEngine() {
+        return engine;
+    }
+
+    public void setEngine(String engine) {
+        this.engine = engine;
+    }
+
+    public Long getTimeBudgetMs() {
+        return timeBudgetMs;
+    }
+
+    public void setTimeBudgetMs(Long timeBudgetMs) {
+        this.timeBudgetMs = timeBudgetMs;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public int[] getWhite() {
+        return white;
+    }
+
+    public void setWhite(int[] white) {
+        this.white = white;
+    }
+
+    public int[] getBlack() {
+        return black;
+    }
+
+    public void setBlack(int[] black) {
+        this.black = black;
+    }
 }
\ No newline at end of file
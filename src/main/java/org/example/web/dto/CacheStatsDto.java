@@ -0,0 +1,37 @@
+package org.example.web.dto;
+
+public class CacheStatsDto {
+    private int size;
+    private int maxEntries;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public CacheStatsDto(int size, int maxEntries, long hits, long misses, long evictions) {
+        this.size = size;
+        this.maxEntries = maxEntries;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+    }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public int getMaxEntries() { return maxEntries; }
+    public void setMaxEntries(int maxEntries) { this.maxEntries = maxEntries; }
+
+    public long getHits() { return hits; }
+    public void setHits(long hits) { this.hits = hits; }
+
+    public long getMisses() { return misses; }
+    public void setMisses(long misses) { this.misses = misses; }
+
+    public long getEvictions() { return evictions; }
+    public void setEvictions(long evictions) { this.evictions = evictions; }
+
+    public double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
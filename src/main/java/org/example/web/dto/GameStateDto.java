@@ -0,0 +1,43 @@
+package org.example.web.dto;
+
+public class GameStateDto {
+    private String id;
+    private int size;
+    private String data;
+    private String status;
+    private String nextPlayerColor;
+    private int[] move;
+    private int[][] winningSquare;
+    private String message;
+
+    public GameStateDto(String id, int size, String status, String message) {
+        this.id = id;
+        this.size = size;
+        this.status = status;
+        this.message = message;
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public String getData() { return data; }
+    public void setData(String data) { this.data = data; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getNextPlayerColor() { return nextPlayerColor; }
+    public void setNextPlayerColor(String nextPlayerColor) { this.nextPlayerColor = nextPlayerColor; }
+
+    public int[] getMove() { return move; }
+    public void setMove(int[] move) { this.move = move; }
+
+    public int[][] getWinningSquare() { return winningSquare; }
+    public void setWinningSquare(int[][] winningSquare) { this.winningSquare = winningSquare; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
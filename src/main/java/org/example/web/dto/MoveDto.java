@@ -0,0 +1,16 @@
+package org.example.web.dto;
+
+public class MoveDto {
+    private Integer x;
+    private Integer y;
+    private Boolean reply;
+
+    public Integer getX() { return x; }
+    public void setX(Integer x) { this.x = x; }
+
+    public Integer getY() { return y; }
+    public void setY(Integer y) { this.y = y; }
+
+    public Boolean getReply() { return reply; }
+    public void setReply(Boolean reply) { this.reply = reply; }
+}
@@ -1,11 +1,21 @@
 package org.example.web.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 public class SimpleMoveDto {
     private int x;
     private int y;
     private String color;
     private String message;
     private int[][] winningSquare;
+    // Номер позиции в пакетном запросе; в одиночных ответах не выводится
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer index;
+    // Компактный ответ: ход и клетки квадрата как номера x * size + y
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer cell;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private int[] winningCells;
 
     public SimpleMoveDto(int x, int y, String color, String message) {
         this.x = x;
@@ -36,4 +46,13 @@ public class SimpleMoveDto {
 
     public int[][] getWinningSquare() { return winningSquare; }
     public void setWinningSquare(int[][] winningSquare) { this.winningSquare = winningSquare; }
+
+    public Integer getIndex() { return index; }
+    public void setIndex(Integer index) { this.index = index; }
+
+    public Integer getCell() { return cell; }
+    public void setCell(Integer cell) { this.cell = cell; }
+
+    public int[] getWinningCells() { return winningCells; }
+    public void setWinningCells(int[] winningCells) { this.winningCells = winningCells; }
 }
\ No newline at end of file
@@ -0,0 +1,119 @@
+package org.example.web.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.core.MoveStage;
+import org.example.core.SearchStats;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+// Метрики поиска хода: задержка запроса по размеру доски, этап, давший ход, объём работы и выделенная память.
+// Счётчики создаются один раз; при выключенных метриках start() возвращает null и замеры не делаются
+public class SearchMetrics {
+    // Верхние границы групп размеров доски для тега size
+    private static final int[] SIZE_LIMITS = {5, 10, 20, 50};
+    private static final String[] SIZE_BUCKETS = {"3-5", "6-10", "11-20", "21-50", "51+"};
+
+    private final boolean enabled;
+    private final Timer[] latency = new Timer[SIZE_BUCKETS.length];
+    private final Counter[] stages = new Counter[MoveStage.values().length];
+    private final Counter noMove;
+    private final DistributionSummary squares;
+    private final DistributionSummary nodes;
+    private final DistributionSummary allocated;
+    private final com.sun.management.ThreadMXBean threads;
+
+    public SearchMetrics(MeterRegistry registry, boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            this.noMove = null;
+            this.squares = null;
+            this.nodes = null;
+            this.allocated = null;
+            this.threads = null;
+            return;
+        }
+
+        for (int i = 0; i < SIZE_BUCKETS.length; i++) {
+            latency[i] = Timer.builder("squares.nextmove.latency")
+                    .description("Move request latency")
+                    .tag("size", SIZE_BUCKETS[i])
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+        for (MoveStage stage : MoveStage.values()) {
+            stages[stage.ordinal()] = Counter.builder("squares.nextmove.stage")
+                    .description("Moves by the stage that produced them")
+                    .tag("stage", stage.name().toLowerCase())
+                    .register(registry);
+        }
+        this.noMove = Counter.builder("squares.nextmove.stage")
+                .description("Moves by the stage that produced them")
+                .tag("stage", "none")
+                .register(registry);
+        this.squares = DistributionSummary.builder("squares.search.squares")
+                .description("Squares examined by board scans per search")
+                .register(registry);
+        this.nodes = DistributionSummary.builder("squares.search.nodes")
+                .description("Search nodes or MCTS playouts per search")
+                .register(registry);
+        this.allocated = DistributionSummary.builder("squares.nextmove.allocated")
+                .description("Bytes allocated by the request thread")
+                .baseUnit("bytes")
+                .register(registry);
+        this.threads = allocationCounter();
+    }
+
+    // Счётчик выделенной потоком памяти, если JVM его поддерживает
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean)) return null;
+        return bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled() ? bean : null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Начало замера запроса в потоке, который будет искать ход
+    public Sample start() {
+        if (!enabled) return null;
+        return new Sample(System.nanoTime(), threads != null ? threads.getCurrentThreadAllocatedBytes() : -1);
+    }
+
+    // Конец замера в том же потоке; выделения потоков ForkJoinPool параллельного перебора не учитываются
+    public void recordRequest(Sample sample, int size) {
+        if (sample == null) return;
+        latency[bucket(size)].record(System.nanoTime() - sample.startNanos, TimeUnit.NANOSECONDS);
+        if (sample.startAllocated >= 0) {
+            allocated.record(threads.getCurrentThreadAllocatedBytes() - sample.startAllocated);
+        }
+    }
+
+    public void recordSearch(SearchStats stats) {
+        if (!enabled) return;
+        MoveStage stage = stats.getStage();
+        (stage != null ? stages[stage.ordinal()] : noMove).increment();
+        squares.record(stats.getSquaresExamined());
+        nodes.record(stats.getNodes());
+    }
+
+    private static int bucket(int size) {
+        for (int i = 0; i < SIZE_LIMITS.length; i++) {
+            if (size <= SIZE_LIMITS[i]) return i;
+        }
+        return SIZE_LIMITS.length;
+    }
+
+    public static final class Sample {
+        private final long startNanos;
+        private final long startAllocated;
+
+        private Sample(long startNanos, long startAllocated) {
+            this.startNanos = startNanos;
+            this.startAllocated = startAllocated;
+        }
+    }
+}
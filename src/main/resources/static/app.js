@@ -9,8 +9,11 @@ class SquaresGameUI {
         this.movesHistory = [];
         this.computerPlaying = false;
         this.computerTimeout = null;
+        this.computerStream = null;
         this.winningSquares = null;
         this.lastMovePlayer = null;
+        this.session = null;
+        this.round = 0;
 
         this.initializeElements();
         this.bindEvents();
@@ -113,6 +116,9 @@ class SquaresGameUI {
         }
 
         this.stopComputerPlay();
+        this.round++;
+        this.deleteSession();
+        this.session = this.createSession();
         this.gameActive = true;
         this.movesHistory = [];
         this.winningSquares = null;
@@ -133,6 +139,8 @@ class SquaresGameUI {
 
     resetGame() {
         this.stopComputerPlay();
+        this.round++;
+        this.deleteSession();
         this.gameActive = false;
         this.gameStarted = false;
         this.movesHistory = [];
@@ -157,6 +165,20 @@ class SquaresGameUI {
         if (!this.gameActive) return;
         if (this.boardState[y][x] !== null) return;
 
+        const round = this.round;
+        this.placeMove(x, y);
+
+        try {
+            // На сервере координаты идут как (строка, столбец)
+            const result = await this.postMove({ x: y, y: x, reply: false });
+            if (round !== this.round) return;
+            await this.afterMove(result);
+        } catch (error) {
+            console.error('Ошибка при запросе к бэкенду:', error);
+        }
+    }
+
+    placeMove(x, y) {
         this.lastMovePlayer = this.currentPlayer;
         this.boardState[y][x] = this.currentPlayer;
 
@@ -168,8 +190,10 @@ class SquaresGameUI {
 
         this.updateBoard();
         this.updateMovesList();
+    }
 
-        const gameStatus = await this.checkGameStatus(this.lastMovePlayer);
+    async afterMove(result) {
+        const gameStatus = this.getResultStatus(result);
 
         if (gameStatus === 'win') {
             this.handleWin();
@@ -197,117 +221,81 @@ class SquaresGameUI {
         return (this.gameMode === 'pvc' || this.gameMode === 'cvc') && currentPlayerType === 'Компьютер';
     }
 
-    async checkGameStatus(playerToCheck) {
-        const boardData = this.getBoardData();
-        const playerColor = playerToCheck === 'white' ? 'w' : 'b';
-
-        try {
-            const response = await fetch('/api/nextMove', {
-                method: 'POST',
-                headers: {
-                    'Content-Type': 'application/json',
-                },
-                body: JSON.stringify({
-                    size: this.boardSize,
-                    data: boardData,
-                    nextPlayerColor: playerColor
-                })
-            });
+    async createSession() {
+        const response = await fetch('/api/games', {
+            method: 'POST',
+            headers: {
+                'Content-Type': 'application/json',
+            },
+            body: JSON.stringify({ size: this.boardSize })
+        });
 
-            if (!response.ok) throw new Error(`HTTP error! status: ${response.status}`);
-            const result = await response.json();
-
-            if (result.message) {
-                if (result.message.includes('wins')) {
-                    this.winningSquares = result.winningSquare || null;
-                    return 'win';
-                } else if (result.message.includes('Draw')) {
-                    return 'draw';
-                } else if (result.message.includes('finished')) {
-                    return 'win';
-                }
-            }
-            return 'active';
-        } catch (error) {
-            return this.isBoardFull() ? 'draw' : 'active';
-        }
+        if (!response.ok) throw new Error(`HTTP error! status: ${response.status}`);
+        const result = await response.json();
+        return result.id;
     }
 
-    async makeComputerMove() {
-        if (!this.gameActive) return;
-
-        const boardData = this.getBoardData();
-        const nextPlayerColor = this.currentPlayer === 'white' ? 'w' : 'b';
+    async deleteSession() {
+        if (!this.session) return;
+        const session = this.session;
+        this.session = null;
 
         try {
-            const response = await fetch('/api/nextMove', {
-                method: 'POST',
-                headers: {
-                    'Content-Type': 'application/json',
-                },
-                body: JSON.stringify({
-                    size: this.boardSize,
-                    data: boardData,
-                    nextPlayerColor: nextPlayerColor
-                })
-            });
-
-            if (!response.ok) throw new Error(`HTTP error! status: ${response.status}`);
-            const result = await response.json();
-
-            if (result.x >= 0 && result.y >= 0) {
-                if (this.boardState[result.y][result.x] !== null) {
-                    this.makeRandomMove();
-                    return;
-                }
-
-                await new Promise(resolve => setTimeout(resolve, 500));
-                await this.makeMove(result.x, result.y);
-            } else {
-                if (result.message) {
-                    if (result.message.includes('wins')) {
-                        this.winningSquares = result.winningSquare || null;
-                        this.handleWin();
-                    } else if (result.message.includes('Draw')) {
-                        this.handleDraw();
-                    }
-                }
-            }
+            const id = await session;
+            await fetch(`/api/games/${id}`, { method: 'DELETE' });
         } catch (error) {
             console.error('Ошибка при запросе к бэкенду:', error);
-            this.makeRandomMove();
         }
     }
 
-    makeRandomMove() {
-        const emptyCells = [];
-        for (let y = 0; y < this.boardSize; y++) {
-            for (let x = 0; x < this.boardSize; x++) {
-                if (this.boardState[y][x] === null) emptyCells.push({ x, y });
-            }
-        }
+    async postMove(move) {
+        const id = await this.session;
+        const response = await fetch(`/api/games/${id}/moves`, {
+            method: 'POST',
+            headers: {
+                'Content-Type': 'application/json',
+            },
+            body: JSON.stringify(move)
+        });
 
-        if (emptyCells.length > 0) {
-            const randomCell = emptyCells[Math.floor(Math.random() * emptyCells.length)];
-            this.makeMove(randomCell.x, randomCell.y);
-        } else {
-            this.handleDraw();
-        }
+        if (!response.ok) throw new Error(`HTTP error! status: ${response.status}`);
+        return response.json();
     }
 
-    getBoardData() {
-        let data = '';
-        for (let y = 0; y < this.boardSize; y++) {
-            for (let x = 0; x < this.boardSize; x++) {
-                const cell = this.boardState[y][x];
-                data += cell === 'white' ? 'W' : cell === 'black' ? 'B' : '.';
-            }
+    getResultStatus(result) {
+        if (result.status === 'w' || result.status === 'b') {
+            this.winningSquares = result.winningSquare
+                ? result.winningSquare.map(([row, col]) => [col, row])
+                : null;
+            return 'win';
         }
-        return data;
+        return result.status === 'draw' ? 'draw' : 'active';
     }
 
-    isBoardFull() {
-        return this.boardState.every(row => row.every(cell => cell !== null));
+    async makeComputerMove() {
+        if (!this.gameActive) return;
+        const round = this.round;
+
+        try {
+            const result = await this.postMove({ reply: true });
+            if (round !== this.round) return;
+
+            if (!result.move) {
+                const gameStatus = this.getResultStatus(result);
+                if (gameStatus === 'win') this.handleWin();
+                else if (gameStatus === 'draw') this.handleDraw();
+                return;
+            }
+
+            await new Promise(resolve => setTimeout(resolve, 500));
+            if (round !== this.round || !this.gameActive) return;
+
+            const [row, col] = result.move;
+            this.placeMove(col, row);
+            await this.afterMove(result);
+        } catch (error) {
+            console.error('Ошибка при запросе к бэкенду:', error);
+        }
     }
 
     handleWin() {
@@ -456,13 +444,56 @@ class SquaresGameUI {
             clearTimeout(this.computerTimeout);
             this.computerTimeout = null;
         }
+        if (this.computerStream) {
+            this.computerStream.close();
+            this.computerStream = null;
+        }
     }
 
-    startComputerGame() {
-        if (this.gameMode === 'cvc' && this.gameStarted) {
-            this.computerPlaying = true;
-            this.makeComputerMove();
+    // CVC: сервер сам доигрывает партию и присылает ходы событиями, один запрос на партию
+    async startComputerGame() {
+        if (this.gameMode !== 'cvc' || !this.gameStarted) return;
+        this.computerPlaying = true;
+        const round = this.round;
+
+        let id;
+        try {
+            id = await this.session;
+        } catch (error) {
+            console.error('Ошибка при запросе к бэкенду:', error);
+            return;
         }
+        if (round !== this.round || !this.computerPlaying) return;
+
+        const stream = new EventSource(`/api/games/${id}/stream?delayMs=500`);
+        this.computerStream = stream;
+
+        stream.addEventListener('move', (event) => {
+            if (round !== this.round || !this.gameActive) return;
+            const result = JSON.parse(event.data);
+            const [row, col] = result.move;
+            this.placeMove(col, row);
+
+            const gameStatus = this.getResultStatus(result);
+            if (gameStatus === 'win') this.handleWin();
+            else if (gameStatus === 'draw') this.handleDraw();
+            else {
+                this.switchPlayer();
+                this.updateGameStatus();
+            }
+        });
+        stream.addEventListener('end', () => this.closeStream(stream));
+        stream.addEventListener('failure', (event) => {
+            console.error('Ошибка на сервере:', JSON.parse(event.data).message);
+            this.closeStream(stream);
+        });
+        // Без закрытия EventSource переподключился бы после конца партии
+        stream.onerror = () => this.closeStream(stream);
+    }
+
+    closeStream(stream) {
+        stream.close();
+        if (this.computerStream === stream) this.computerStream = null;
     }
 }
 
@@ -0,0 +1,148 @@
+import org.example.core.AlphaBetaEngine;
+import org.example.core.HeuristicEngine;
+import org.example.core.LazyMoveEngine;
+import org.example.core.MoveEngines;
+import org.example.core.OpeningBook;
+import org.example.core.SquaresGame;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AlphaBetaEngineTest {
+
+    // Проверяет, что движок замыкает свой квадрат, когда это возможно
+    @Test
+    void testTakesImmediateWin() {
+        SquaresGame game = load(4,
+                "WW.." +
+                "W..." +
+                "BB.." +
+                "B...", 'W');
+        game.setEngine(new AlphaBetaEngine());
+        assertArrayEquals(new int[]{1, 1}, game.findNextMove());
+    }
+
+    // Проверяет, что движок блокирует выигрыш соперника
+    @Test
+    void testBlocksOpponentWin() {
+        SquaresGame game = load(5,
+                "BB..." +
+                "B...." +
+                "....." +
+                "..W.." +
+                "...W.", 'W');
+        game.setEngine(new AlphaBetaEngine());
+        assertArrayEquals(new int[]{1, 1}, game.findNextMove());
+    }
+
+    // Проверяет, что ограничение глубины делает ход независимым от бюджета времени
+    @Test
+    void testDepthLimitIsDeterministic() {
+        String data = "W.B..." + ".W...." + "..B..." + "...W.." + "B....." + "......";
+        SquaresGame slow = load(6, data, 'B');
+        slow.setEngine(new AlphaBetaEngine(AlphaBetaEngine.DEFAULT_TABLE_SIZE, AlphaBetaEngine.DEFAULT_BRANCHING, 3));
+        slow.setTimeBudgetMs(5000);
+        SquaresGame fast = load(6, data, 'B');
+        fast.setEngine(new AlphaBetaEngine(AlphaBetaEngine.DEFAULT_TABLE_SIZE, AlphaBetaEngine.DEFAULT_BRANCHING, 3));
+        fast.setTimeBudgetMs(1000);
+
+        assertArrayEquals(slow.findNextMove(), fast.findNextMove());
+        assertThrows(IllegalArgumentException.class, () -> new AlphaBetaEngine(16, 4, 0));
+    }
+
+    // Проверяет, что поиск укладывается в бюджет времени на большой доске
+    @Test
+    void testRespectsTimeBudget() {
+        StringBuilder data = new StringBuilder(".".repeat(20 * 20));
+        data.setCharAt(10 * 20 + 10, 'W');
+        data.setCharAt(9 * 20 + 9, 'B');
+        SquaresGame game = load(20, data.toString(), 'W');
+        game.setEngine(new AlphaBetaEngine());
+        game.setTimeBudgetMs(50);
+
+        long start = System.nanoTime();
+        int[] move = game.findNextMove();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertNotNull(move);
+        assertEquals('.', game.getBoard().getCell(move[0], move[1]));
+        assertTrue(elapsedMs < 1000, "Search took " + elapsedMs + " ms");
+    }
+
+    // Проверяет, что на больших досках, где узел перебора стоит до миллисекунд, поиск не выходит за бюджет
+    @Test
+    void testTimeBudgetOnLargeBoards() {
+        for (int size : new int[]{71, 100}) {
+            StringBuilder data = new StringBuilder(".".repeat(size * size));
+            data.setCharAt((size / 2) * size + size / 2, 'W');
+            data.setCharAt((size / 2 - 3) * size + size / 2 + 5, 'B');
+            data.setCharAt((size / 2 + 4) * size + size / 2 - 2, 'W');
+            data.setCharAt(size + 1, 'B');
+            for (int round = 0; round < 3; round++) {
+                SquaresGame game = load(size, data.toString(), 'B');
+                game.setEngine(new AlphaBetaEngine());
+                game.setTimeBudgetMs(100);
+
+                long start = System.nanoTime();
+                int[] move = game.findNextMove();
+                long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+                assertNotNull(move);
+                assertEquals('.', game.getBoard().getCell(move[0], move[1]));
+                assertTrue(elapsedMs < 150, "Search on " + size + "x" + size + " took " + elapsedMs + " ms");
+            }
+        }
+    }
+
+    // Проверяет, что при нехватке времени на первую итерацию запасной каскад всё равно блокирует выигрыш соперника
+    @Test
+    void testFallbackBlocksOpponentWin() {
+        int size = 100;
+        StringBuilder data = new StringBuilder(".".repeat(size * size));
+        data.setCharAt(40 * size + 40, 'B');
+        data.setCharAt(40 * size + 45, 'B');
+        data.setCharAt(45 * size + 40, 'B');
+        data.setCharAt(70 * size + 20, 'W');
+        for (int round = 0; round < 3; round++) {
+            SquaresGame game = load(size, data.toString(), 'W');
+            game.setEngine(new AlphaBetaEngine());
+            game.setTimeBudgetMs(1);
+            assertArrayEquals(new int[]{45, 45}, game.findNextMove());
+        }
+    }
+
+    // Проверяет выбор движка по имени
+    @Test
+    void testEngineRegistry() {
+        assertSame(HeuristicEngine.INSTANCE, MoveEngines.create(null));
+        assertSame(HeuristicEngine.INSTANCE, MoveEngines.create("heuristic"));
+        assertTrue(MoveEngines.create("AlphaBeta") instanceof AlphaBetaEngine);
+        assertThrows(IllegalArgumentException.class, () -> MoveEngines.create("foo"));
+        // MCTS выбирается только в турнире
+        assertThrows(IllegalArgumentException.class, () -> MoveEngines.create("mcts"));
+    }
+
+    // Проверяет, что ленивый движок создаётся только при первом поиске, а неизвестное имя отвергается сразу
+    @Test
+    void testLazyEngineCreatedOnFirstMove() {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        assertSame(HeuristicEngine.INSTANCE, MoveEngines.createLazy(null, pool, 1, OpeningBook.EMPTY));
+        assertThrows(IllegalArgumentException.class, () -> MoveEngines.createLazy("foo", pool, 1, OpeningBook.EMPTY));
+
+        LazyMoveEngine engine = (LazyMoveEngine) MoveEngines.createLazy("alphabeta", pool, 1, OpeningBook.EMPTY);
+        assertFalse(engine.isCreated());
+        SquaresGame game = load(4, "WW..W...BB..B...", 'W');
+        game.setEngine(engine);
+        assertArrayEquals(new int[]{1, 1}, game.findNextMove());
+        assertTrue(engine.isCreated());
+    }
+
+    private SquaresGame load(int size, String data, char next) {
+        SquaresGame game = new SquaresGame();
+        game.loadBoard(size, data, next);
+        return game;
+    }
+}
@@ -0,0 +1,88 @@
+import org.example.core.BitBoard;
+import org.example.core.Board;
+import org.example.core.SquaresBoard;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BitBoardTest {
+    private static final char[] VALUES = {'.', 'W', 'B'};
+
+    // Проверяет совпадение поведения BitBoard и SquaresBoard на случайных последовательностях ходов
+    @Test
+    void testEquivalenceWithCharBoard() {
+        Random random = new Random(42);
+        for (int size = 3; size <= 64; size++) {
+            SquaresBoard expected = new SquaresBoard(size);
+            BitBoard actual = new BitBoard(size);
+
+            for (int step = 0; step < size * size * 3; step++) {
+                int x = random.nextInt(size);
+                int y = random.nextInt(size);
+                char value = VALUES[random.nextInt(VALUES.length)];
+                expected.setCell(x, y, value);
+                actual.setCell(x, y, value);
+                assertEquals(expected.getCell(x, y), actual.getCell(x, y));
+            }
+            assertSameCells(expected, actual);
+            assertEquals(expected.isFull(), actual.isFull());
+
+            for (int x = 0; x < size; x++)
+                for (int y = 0; y < size; y++) {
+                    expected.setCell(x, y, 'W');
+                    actual.setCell(x, y, 'W');
+                }
+            assertTrue(actual.isFull());
+            assertEquals(expected.isFull(), actual.isFull());
+        }
+    }
+
+    // Проверяет, что BitBoard отвергает те же некорректные аргументы, что и SquaresBoard
+    @Test
+    void testValidationMatchesCharBoard() {
+        assertThrows(IllegalArgumentException.class, () -> new BitBoard(2));
+        BitBoard board = new BitBoard(3);
+        assertThrows(IllegalArgumentException.class, () -> board.getCell(3, 0));
+        assertThrows(IllegalArgumentException.class, () -> board.getCell(0, -1));
+        assertThrows(IllegalArgumentException.class, () -> board.setCell(0, 3, 'W'));
+        assertThrows(IllegalArgumentException.class, () -> board.setCell(0, 0, 'X'));
+        assertEquals('.', board.getCell(0, 0));
+    }
+
+    // Проверяет, что вывод доски одинаков для обеих реализаций
+    @Test
+    void testPrintBoardMatchesCharBoard() {
+        SquaresBoard expected = new SquaresBoard(11);
+        BitBoard actual = new BitBoard(11);
+        expected.setCell(0, 10, 'W');
+        actual.setCell(0, 10, 'W');
+        expected.setCell(10, 0, 'B');
+        actual.setCell(10, 0, 'B');
+        assertEquals(capture(expected), capture(actual));
+    }
+
+    private void assertSameCells(Board expected, Board actual) {
+        int size = expected.getSize();
+        assertEquals(size, actual.getSize());
+        for (int x = 0; x < size; x++)
+            for (int y = 0; y < size; y++)
+                assertEquals(expected.getCell(x, y), actual.getCellUnchecked(x, y), "Cell (" + x + "," + y + ")");
+    }
+
+    private String capture(Board board) {
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(out));
+        try {
+            board.printBoard();
+        } finally {
+            System.setOut(originalOut);
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,114 @@
+import org.example.core.Board;
+import org.example.core.BoardCodec;
+import org.example.core.SparseBoard;
+import org.example.core.SquaresGame;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoardCodecTest {
+    private static final String DATA = "W..B." + ".WB.." + "..W.." + "B...." + "....W";
+
+    // Проверяет упаковку по 2 бита на клетку и обратное раскодирование
+    @Test
+    void testPackedRoundTrip() {
+        Board board = load(5, DATA).getBoard();
+        byte[] packed = BoardCodec.encodePacked(board);
+
+        assertEquals(7, packed.length);
+        assertEquals((byte) 0b01_00_00_10, packed[0]);
+        assertSameCells(board, BoardCodec.decodePacked(5, packed));
+    }
+
+    // Проверяет список занятых клеток по цветам и обратное раскодирование
+    @Test
+    void testSparseRoundTrip() {
+        Board board = load(5, DATA).getBoard();
+        int[] white = BoardCodec.encodeSparse(board, 'W');
+        int[] black = BoardCodec.encodeSparse(board, 'B');
+
+        assertArrayEquals(new int[]{0, 6, 12, 24}, white);
+        assertArrayEquals(new int[]{3, 7, 15}, black);
+        assertSameCells(board, BoardCodec.decodeSparse(5, white, black));
+    }
+
+    // Проверяет, что игра с раскодированной доской выбирает тот же ход, что и со строкой
+    @Test
+    void testDecodedBoardPlaysLikeText() {
+        SquaresGame text = load(5, DATA);
+        SquaresGame packed = new SquaresGame(1);
+        packed.loadBoard(BoardCodec.decodePacked(5, BoardCodec.encodePacked(text.getBoard())), 'B');
+
+        assertEquals(text.getGameStatus(), packed.getGameStatus());
+        assertArrayEquals(text.findNextMove(), packed.findNextMove());
+    }
+
+    // Проверяет ошибки компактных форматов
+    @Test
+    void testInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> BoardCodec.decodePacked(5, new byte[6]));
+        assertThrows(IllegalArgumentException.class, () -> BoardCodec.decodePacked(3, new byte[]{(byte) 0xC0, 0, 0}));
+        // Последний байт доски 3x3 содержит одну клетку, остальные биты должны быть нулями
+        assertThrows(IllegalArgumentException.class, () -> BoardCodec.decodePacked(3, new byte[]{0, 0, 0x10}));
+        assertThrows(IllegalArgumentException.class, () -> BoardCodec.decodeSparse(3, new int[]{9}, null));
+        assertThrows(IllegalArgumentException.class, () -> BoardCodec.decodeSparse(3, new int[]{4}, new int[]{4}));
+    }
+
+    // Проверяет однопроходный разбор текста: пробелы и переводы строк пропускаются, регистр не важен
+    @Test
+    void testParseText() {
+        Board board = BoardCodec.parseText(5, " w..B.\n.WB..\r\n..W..\tb....\n....W ");
+        assertSameCells(load(5, DATA).getBoard(), board);
+    }
+
+    // Проверяет, что ошибки разбора совпадают с прежним путём replaceAll + loadBoard
+    @Test
+    void testParseTextErrors() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> BoardCodec.parseText(3, "...\n..."));
+        assertEquals("Invalid board data length", e.getMessage());
+
+        e = assertThrows(IllegalArgumentException.class, () -> BoardCodec.parseText(3, "..X......."));
+        assertEquals("Invalid board data length", e.getMessage());
+
+        e = assertThrows(IllegalArgumentException.class, () -> BoardCodec.parseText(3, "..X.\n.Y..."));
+        assertEquals("Invalid character in board data: X", e.getMessage());
+
+        // Огромный размер с короткими данными отклоняется до выделения доски
+        e = assertThrows(IllegalArgumentException.class, () -> BoardCodec.parseText(1_000_000, "..."));
+        assertEquals("Invalid board data length", e.getMessage());
+    }
+
+    // Проверяет, что текст и packed на больших досках раскодируются в разреженную доску с теми же клетками
+    @Test
+    void testLargeBoardsDecodeToSparse() {
+        int size = 300;
+        StringBuilder data = new StringBuilder(".".repeat(size * size));
+        int[] white = {0, 63, 64, 150 * size + 150, size * size - 1};
+        int[] black = {1, 127, 150 * size + 151, size * size - 2};
+        for (int cell : white) data.setCharAt(cell, 'W');
+        for (int cell : black) data.setCharAt(cell, 'B');
+        Board expected = BoardCodec.decodeSparse(size, white, black);
+
+        Board text = BoardCodec.parseText(size, data.toString());
+        Board packed = BoardCodec.decodePacked(size, BoardCodec.encodePacked(expected));
+        assertEquals(white.length + black.length, ((SparseBoard) text).getOccupiedCount());
+        assertEquals(white.length + black.length, ((SparseBoard) packed).getOccupiedCount());
+        assertSameCells(expected, text);
+        assertSameCells(expected, packed);
+    }
+
+    private SquaresGame load(int size, String data) {
+        SquaresGame game = new SquaresGame(1);
+        game.loadBoard(size, data, 'B');
+        return game;
+    }
+
+    private void assertSameCells(Board expected, Board actual) {
+        assertEquals(expected.getSize(), actual.getSize());
+        for (int x = 0; x < expected.getSize(); x++)
+            for (int y = 0; y < expected.getSize(); y++)
+                assertEquals(expected.getCell(x, y), actual.getCell(x, y));
+    }
+}
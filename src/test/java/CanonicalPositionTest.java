@@ -0,0 +1,91 @@
+import org.example.core.Board;
+import org.example.core.CanonicalPosition;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CanonicalPositionTest {
+
+    // Проверяет, что все 8 поворотов и отражений позиции дают одну каноническую позицию
+    @Test
+    void testSymmetricBoardsAreEqual() {
+        Random random = new Random(7);
+        for (int size = 3; size <= 8; size++) {
+            Board board = randomBoard(size, random);
+            CanonicalPosition expected = CanonicalPosition.of(board, 'W');
+            for (int t = 0; t < 8; t++) {
+                CanonicalPosition position = CanonicalPosition.of(transformed(board, t), 'W');
+                assertEquals(expected, position);
+                assertEquals(expected.hashCode(), position.hashCode());
+            }
+            assertNotEquals(expected, CanonicalPosition.of(board, 'B'));
+        }
+    }
+
+    // Проверяет, что клетки канонической доски указывают на одинаковое содержимое во всех ориентациях
+    // и что перевод клетки в каноническую ориентацию и обратно обратим
+    @Test
+    void testCellMapping() {
+        Board board = randomBoard(6, new Random(11));
+        CanonicalPosition base = CanonicalPosition.of(board, 'B');
+        for (int t = 0; t < 8; t++) {
+            Board image = transformed(board, t);
+            CanonicalPosition position = CanonicalPosition.of(image, 'B');
+            for (int cell = 0; cell < 36; cell++) {
+                assertEquals(cellAt(board, base.toOriginal(cell)), cellAt(image, position.toOriginal(cell)));
+                assertEquals(cell, position.toOriginal(position.toCanonical(cell)));
+                assertEquals(cell, position.toCanonical(position.toOriginal(cell)));
+            }
+        }
+    }
+
+    // Проверяет, что разные позиции не совпадают
+    @Test
+    void testDifferentBoardsDiffer() {
+        Board a = Board.create(4);
+        Board b = Board.create(4);
+        a.setCell(0, 0, 'W');
+        b.setCell(0, 1, 'W');
+        assertNotEquals(CanonicalPosition.of(a, 'W'), CanonicalPosition.of(b, 'W'));
+
+        b.setCell(0, 1, '.');
+        b.setCell(3, 3, 'W');
+        assertEquals(CanonicalPosition.of(a, 'W'), CanonicalPosition.of(b, 'W'));
+    }
+
+    private static char cellAt(Board board, int cell) {
+        return board.getCell(cell / board.getSize(), cell % board.getSize());
+    }
+
+    private static Board randomBoard(int size, Random random) {
+        Board board = Board.create(size);
+        for (int x = 0; x < size; x++)
+            for (int y = 0; y < size; y++)
+                board.setCell(x, y, ".WB".charAt(random.nextInt(3)));
+        return board;
+    }
+
+    // Поворот на 90° (t & 3 раз) и, для t >= 4, отражение
+    private static Board transformed(Board board, int t) {
+        int size = board.getSize();
+        Board result = board;
+        for (int r = 0; r < (t & 3); r++) {
+            Board rotated = Board.create(size);
+            for (int x = 0; x < size; x++)
+                for (int y = 0; y < size; y++)
+                    rotated.setCell(y, size - 1 - x, result.getCell(x, y));
+            result = rotated;
+        }
+        if (t >= 4) {
+            Board mirrored = Board.create(size);
+            for (int x = 0; x < size; x++)
+                for (int y = 0; y < size; y++)
+                    mirrored.setCell(x, size - 1 - y, result.getCell(x, y));
+            result = mirrored;
+        }
+        return result;
+    }
+}
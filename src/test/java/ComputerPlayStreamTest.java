@@ -0,0 +1,153 @@
+import org.example.core.Player;
+import org.example.core.SquaresGame;
+import org.example.session.GameSession;
+import org.example.session.GameSessionStore;
+import org.example.web.controller.ComputerPlayStream;
+import org.example.web.dto.GameStateDto;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ComputerPlayStreamTest {
+    private final ExecutorService compute = Executors.newFixedThreadPool(2, task -> new Thread(task, "test-compute"));
+    private final ExecutorService sender = Executors.newFixedThreadPool(2);
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final GameSessionStore sessions = new GameSessionStore(10, 60_000);
+
+    @AfterEach
+    void tearDown() {
+        compute.shutdownNow();
+        sender.shutdownNow();
+        scheduler.shutdownNow();
+    }
+
+    // Проверяет, что сервер доигрывает партию и отправляет каждый ход и итог
+    @Test
+    void testStreamsWholeGame() throws Exception {
+        GameSession session = sessions.create(newGame(5));
+        RecordingEmitter emitter = new RecordingEmitter();
+        stream(session, 0, emitter).start();
+
+        assertTrue(emitter.done.await(10, TimeUnit.SECONDS));
+        assertFalse(session.getStatus().isActive());
+        assertEquals(session.getStatus().getMoves() + 1, emitter.events.get());
+    }
+
+    // Проверяет, что удаление партии останавливает поток до конца партии
+    @Test
+    void testStopsWhenSessionRemoved() throws Exception {
+        GameSession session = sessions.create(newGame(10));
+        RecordingEmitter emitter = new RecordingEmitter();
+        stream(session, 200, emitter).start();
+
+        Thread.sleep(300);
+        sessions.remove(session.getId());
+        assertTrue(emitter.done.await(5, TimeUnit.SECONDS));
+        assertTrue(session.getStatus().isActive());
+        assertEquals(session.getStatus().getMoves(), emitter.events.get());
+    }
+
+    // Проверяет, что после отмены (клиент закрыл соединение) ходы больше не делаются
+    @Test
+    void testCancelStopsMoves() throws Exception {
+        GameSession session = sessions.create(newGame(10));
+        RecordingEmitter emitter = new RecordingEmitter();
+        ComputerPlayStream stream = stream(session, 100, emitter);
+        stream.start();
+
+        Thread.sleep(150);
+        stream.cancel();
+        Thread.sleep(100);
+        int moves = session.getStatus().getMoves();
+        Thread.sleep(300);
+        assertEquals(moves, session.getStatus().getMoves());
+        assertTrue(session.getStatus().isActive());
+    }
+
+    // Проверяет, что медленный клиент не занимает вычислительный пул: отправка идёт в пуле отправки,
+    // и пока событие пишется, вычислительный поток свободен для других задач
+    @Test
+    void testSlowClientDoesNotHoldComputeThreads() throws Exception {
+        GameSession session = sessions.create(newGame(5));
+        SlowEmitter emitter = new SlowEmitter(300);
+        stream(session, 0, emitter).start();
+
+        assertTrue(emitter.sending.await(5, TimeUnit.SECONDS));
+        long start = System.nanoTime();
+        compute.submit(() -> { }).get(5, TimeUnit.SECONDS);
+        compute.submit(() -> { }).get(5, TimeUnit.SECONDS);
+        long waitedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(waitedMs < 100, "Compute task waited " + waitedMs + " ms");
+        assertFalse(emitter.sentFromCompute);
+    }
+
+    private ComputerPlayStream stream(GameSession session, long delayMs, SseEmitter emitter) {
+        return new ComputerPlayStream(sessions, session, compute, sender, scheduler, delayMs, emitter,
+                SquaresGame::findNextMove,
+                (s, message) -> new GameStateDto(s.getId(), s.getStatus().getSize(),
+                        s.getStatus().getStatus().toLowerCase(), message));
+    }
+
+    private static SquaresGame newGame(int size) {
+        SquaresGame game = new SquaresGame(1);
+        game.startNewGame(size, new Player("user", 'W'), new Player("user", 'B'));
+        return game;
+    }
+
+    private static class SlowEmitter extends SseEmitter {
+        final CountDownLatch sending = new CountDownLatch(1);
+        final long sendMs;
+        volatile boolean sentFromCompute;
+
+        SlowEmitter(long sendMs) {
+            super(60_000L);
+            this.sendMs = sendMs;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            if (Thread.currentThread().getName().equals("test-compute")) sentFromCompute = true;
+            sending.countDown();
+            try {
+                Thread.sleep(sendMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        final AtomicInteger events = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(1);
+
+        RecordingEmitter() {
+            super(60_000L);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            events.incrementAndGet();
+        }
+
+        @Override
+        public void complete() {
+            done.countDown();
+        }
+
+        @Override
+        public void completeWithError(Throwable error) {
+            done.countDown();
+        }
+    }
+}
@@ -0,0 +1,274 @@
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.core.BoardCodec;
+import org.example.core.OpeningBook;
+import org.example.web.cache.MoveCache;
+import org.example.web.controller.GameController;
+import org.example.web.controller.SearchLimits;
+import org.example.web.dto.BoardDto;
+import org.example.web.dto.SimpleMoveDto;
+import org.example.web.metrics.SearchMetrics;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameControllerTest {
+    private static final int BATCH_MAX_SIZE = 4;
+
+    private final ExecutorService batch = Executors.newFixedThreadPool(2);
+    private final ExecutorService compute = Executors.newFixedThreadPool(2);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final GameController controller = controller(batch);
+
+    @AfterEach
+    void tearDown() {
+        batch.shutdownNow();
+        compute.shutdownNow();
+    }
+
+    // Проверяет, что ответы пакета идут в порядке запроса и совпадают с одиночными запросами
+    @Test
+    void testBatchKeepsRequestOrder() {
+        List<BoardDto> boards = List.of(
+                board(3, "WW.W.B.B.", "w"),
+                board(4, "B...BB..W...W..W", "b"),
+                board(3, ".WW..WB.B", "w"));
+
+        ResponseEntity<List<SimpleMoveDto>> response = controller.nextMoveBatch(boards);
+        assertEquals(200, response.getStatusCode().value());
+        List<SimpleMoveDto> results = response.getBody();
+        assertEquals(boards.size(), results.size());
+        for (int i = 0; i < boards.size(); i++) {
+            SimpleMoveDto single = controller.nextMove(boards.get(i)).getBody();
+            assertEquals(i, results.get(i).getIndex().intValue());
+            assertEquals("Move found", results.get(i).getMessage());
+            assertEquals(single.getX(), results.get(i).getX());
+            assertEquals(single.getY(), results.get(i).getY());
+        }
+    }
+
+    // Проверяет, что пустая или неверная позиция даёт ошибку только в своём ответе
+    @Test
+    void testBatchItemErrors() {
+        List<BoardDto> boards = new ArrayList<>(Arrays.asList(
+                board(3, "WW.W.B.B.", "w"), null, board(3, "WW.W", "w"), board(3, "WW.W.B.B.", "x")));
+
+        List<SimpleMoveDto> results = controller.nextMoveBatch(boards).getBody();
+        assertEquals("Move found", results.get(0).getMessage());
+        assertEquals("Invalid board", results.get(1).getMessage());
+        assertEquals(BoardCodec.INVALID_LENGTH, results.get(2).getMessage());
+        assertEquals("Invalid player color", results.get(3).getMessage());
+        for (int i = 1; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getIndex().intValue());
+            assertEquals(-1, results.get(i).getX());
+        }
+    }
+
+    // Проверяет, что слишком большой или пустой пакет отвергается одинаковой ошибкой в JSON и NDJSON
+    @Test
+    void testBatchRejected() throws Exception {
+        List<BoardDto> tooLarge = new ArrayList<>();
+        for (int i = 0; i <= BATCH_MAX_SIZE; i++) tooLarge.add(board(3, "WW.W.B.B.", "w"));
+
+        for (List<BoardDto> boards : Arrays.asList(tooLarge, null)) {
+            String message = boards == null ? "Invalid batch" : "Batch too large";
+
+            ResponseEntity<List<SimpleMoveDto>> json = controller.nextMoveBatch(boards);
+            assertEquals(400, json.getStatusCode().value());
+            assertEquals(1, json.getBody().size());
+            assertEquals(message, json.getBody().get(0).getMessage());
+
+            ResponseEntity<StreamingResponseBody> ndjson = controller.nextMoveBatchStream(boards);
+            assertEquals(400, ndjson.getStatusCode().value());
+            List<JsonNode> lines = readLines(ndjson.getBody());
+            assertEquals(1, lines.size());
+            assertEquals(message, lines.get(0).get("message").asText());
+            assertEquals(objectMapper.valueToTree(json.getBody().get(0)), lines.get(0));
+        }
+    }
+
+    // Проверяет, что NDJSON отдаёт по строке на позицию, а index связывает строку с запросом
+    @Test
+    void testBatchStream() throws Exception {
+        List<BoardDto> boards = new ArrayList<>(Arrays.asList(
+                board(3, "WW.W.B.B.", "w"), null, board(4, "B...BB..W...W..W", "b")));
+
+        ResponseEntity<StreamingResponseBody> response = controller.nextMoveBatchStream(boards);
+        assertEquals(200, response.getStatusCode().value());
+        List<JsonNode> lines = readLines(response.getBody());
+        assertEquals(boards.size(), lines.size());
+
+        // Строки приходят по мере готовности, поэтому сверяются с JSON-вариантом по index
+        List<SimpleMoveDto> expected = controller.nextMoveBatch(boards).getBody();
+        boolean[] seen = new boolean[boards.size()];
+        for (JsonNode line : lines) {
+            int index = line.get("index").asInt();
+            assertFalse(seen[index]);
+            seen[index] = true;
+            assertEquals(objectMapper.valueToTree(expected.get(index)), line);
+        }
+    }
+
+    // Проверяет, что при заполненном пуле пакет сразу получает 503, а поток запроса позиции не считает
+    @Test
+    void testBatchBusy() throws Exception {
+        ThreadPoolExecutor busy = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            busy.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            GameController busyController = controller(busy);
+            List<BoardDto> boards = List.of(board(3, "WW.W.B.B.", "w"), board(3, "WW.W.B.B.", "w"));
+
+            long start = System.nanoTime();
+            ResponseEntity<List<SimpleMoveDto>> json = busyController.nextMoveBatch(boards);
+            ResponseEntity<StreamingResponseBody> ndjson = busyController.nextMoveBatchStream(boards);
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+            assertEquals(503, json.getStatusCode().value());
+            assertEquals("Server busy", json.getBody().get(0).getMessage());
+            assertEquals(503, ndjson.getStatusCode().value());
+            assertEquals("Server busy", readLines(ndjson.getBody()).get(0).get("message").asText());
+            assertTrue(elapsedMs < 100, "Busy batch answered in " + elapsedMs + " ms");
+        } finally {
+            release.countDown();
+            busy.shutdownNow();
+        }
+    }
+
+    // Проверяет, что на чётных досках ход из кэша совпадает с ходом без кэша во всех поворотах и отражениях
+    // (на нечётных при равных оценках кэш может вернуть симметричный ход с той же оценкой)
+    @Test
+    void testCachedMovesMatchUncachedOnEvenBoards() {
+        GameController uncached = new GameController(ForkJoinPool.commonPool(), 1, batch, compute, BATCH_MAX_SIZE,
+                objectMapper, new SearchLimits(50, 100, 1000), new MoveCache(0), OpeningBook.EMPTY,
+                new SearchMetrics(new SimpleMeterRegistry(), false));
+        Random random = new Random(11);
+        for (int size = 4; size <= 10; size += 2) {
+            for (int round = 0; round < 20; round++) {
+                char[] cells = new char[size * size];
+                for (int i = 0; i < cells.length; i++) {
+                    int r = random.nextInt(10);
+                    cells[i] = r == 0 ? 'W' : r == 1 ? 'B' : '.';
+                }
+                for (int t = 0; t < 8; t++) {
+                    BoardDto dto = board(size, transformed(cells, size, t), "w");
+                    SimpleMoveDto expected = uncached.nextMove(dto).getBody();
+                    SimpleMoveDto actual = controller.nextMove(dto).getBody();
+                    assertEquals(expected.getX(), actual.getX(), "size " + size + ", transform " + t);
+                    assertEquals(expected.getY(), actual.getY(), "size " + size + ", transform " + t);
+                }
+            }
+        }
+    }
+
+    // Проверяет, что ход, посчитанный с бюджетом меньше стандартного, не попадает в кэш и не берётся из него
+    @Test
+    void testShortBudgetBypassesCache() {
+        MoveCache cache = new MoveCache(100);
+        GameController cached = new GameController(ForkJoinPool.commonPool(), 1, batch, compute, BATCH_MAX_SIZE,
+                objectMapper, new SearchLimits(50, 100, 1000), cache, OpeningBook.EMPTY,
+                new SearchMetrics(new SimpleMeterRegistry(), false));
+        BoardDto shortBudget = board(6, "W....." + "......" + "..B..." + "......" + "......" + "......", "w");
+        shortBudget.setTimeBudgetMs(1L);
+
+        cached.nextMove(shortBudget);
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getMisses());
+
+        BoardDto standard = board(6, shortBudget.getData(), "w");
+        SimpleMoveDto move = cached.nextMove(standard).getBody();
+        assertEquals(1, cache.size());
+        cached.nextMove(shortBudget);
+        assertEquals(0, cache.getHits());
+
+        // Больший бюджет берёт ход, посчитанный со стандартным
+        standard.setTimeBudgetMs(500L);
+        SimpleMoveDto hit = cached.nextMove(standard).getBody();
+        assertEquals(1, cache.getHits());
+        assertEquals(move.getX(), hit.getX());
+        assertEquals(move.getY(), hit.getY());
+    }
+
+    // Проверяет, что доска больше предела отклоняется, а после его повышения разреженная доска доходит до поиска
+    @Test
+    void testLargeSparseBoardNeedsRaisedLimit() {
+        int size = 1000;
+        BoardDto dto = board(size, null, "b");
+        dto.setFormat("sparse");
+        dto.setWhite(new int[]{500 * size + 500, 500 * size + 503, 503 * size + 500});
+        dto.setBlack(new int[]{10});
+        assertEquals("Board too large", controller.nextMove(dto).getBody().getMessage());
+
+        GameController raised = new GameController(ForkJoinPool.commonPool(), 1, batch, compute, BATCH_MAX_SIZE,
+                objectMapper, new SearchLimits(size, 100, 1000), new MoveCache(100), OpeningBook.EMPTY,
+                new SearchMetrics(new SimpleMeterRegistry(), false));
+        SimpleMoveDto move = raised.nextMove(dto).getBody();
+        assertEquals("Move found", move.getMessage());
+        // Белые грозят замкнуть квадрат в (503, 503) — чёрные блокируют
+        assertEquals(503 * size + 503, move.getCell().intValue());
+    }
+
+    // Бит 0 — транспонирование, бит 1 — отражение строк, бит 2 — отражение столбцов
+    private static String transformed(char[] cells, int size, int t) {
+        char[] result = new char[cells.length];
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                int i = (t & 1) != 0 ? y : x;
+                int j = (t & 1) != 0 ? x : y;
+                if ((t & 2) != 0) i = size - 1 - i;
+                if ((t & 4) != 0) j = size - 1 - j;
+                result[i * size + j] = cells[x * size + y];
+            }
+        }
+        return new String(result);
+    }
+
+    private List<JsonNode> readLines(StreamingResponseBody body) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isEmpty()) lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+
+    private GameController controller(ExecutorService batchExecutor) {
+        return new GameController(ForkJoinPool.commonPool(), 1, batchExecutor, compute, BATCH_MAX_SIZE, objectMapper,
+                new SearchLimits(50, 100, 1000), new MoveCache(100), OpeningBook.EMPTY,
+                new SearchMetrics(new SimpleMeterRegistry(), false));
+    }
+
+    private static BoardDto board(int size, String data, String color) {
+        BoardDto dto = new BoardDto();
+        dto.setSize(size);
+        dto.setData(data);
+        dto.setNextPlayerColor(color);
+        return dto;
+    }
+}
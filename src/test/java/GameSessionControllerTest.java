@@ -0,0 +1,104 @@
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.core.OpeningBook;
+import org.example.session.GameSessionStore;
+import org.example.web.controller.GameSessionController;
+import org.example.web.controller.SearchLimits;
+import org.example.web.dto.BoardDto;
+import org.example.web.dto.GameStateDto;
+import org.example.web.dto.MoveDto;
+import org.example.web.metrics.SearchMetrics;
+import org.springframework.http.ResponseEntity;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameSessionControllerTest {
+    // Один вычислительный поток — худший случай для взаимной блокировки хода и потока партии
+    private final ExecutorService compute = Executors.newSingleThreadExecutor();
+    private final ExecutorService sender = Executors.newSingleThreadExecutor();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final ExecutorService clients = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        compute.shutdownNow();
+        sender.shutdownNow();
+        scheduler.shutdownNow();
+        clients.shutdownNow();
+    }
+
+    // Проверяет, что ходы с ответом движка и поток партии на одной партии не блокируют друг друга
+    // даже при одном вычислительном потоке
+    @Test
+    void testMovesAndStreamOnOneComputeThread() throws Exception {
+        GameSessionController controller = controller(new SearchLimits(50, 100, 1000));
+        String id = controller.create(board(12, "alphabeta", 100L)).getBody().getId();
+        controller.stream(id, 0);
+
+        Future<Integer> moves = clients.submit(() -> {
+            int answered = 0;
+            for (int i = 0; i < 5; i++) {
+                int status = controller.move(id, new MoveDto()).getStatusCode().value();
+                if (status == 200 || status == 400) answered++;
+            }
+            return answered;
+        });
+        assertEquals(5, moves.get(20, TimeUnit.SECONDS).intValue());
+    }
+
+    // Проверяет, что ход с ответом движка не ждёт занятый пул дольше срока и получает 503
+    @Test
+    void testMoveTimesOutWhenPoolIsBusy() throws Exception {
+        GameSessionController controller = controller(new SearchLimits(50, 100, 1000, 1000));
+        String id = controller.create(board(6, null, null)).getBody().getId();
+        CountDownLatch release = new CountDownLatch(1);
+        compute.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        try {
+            long start = System.nanoTime();
+            ResponseEntity<GameStateDto> response = controller.move(id, new MoveDto());
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            assertEquals(503, response.getStatusCode().value());
+            assertTrue(elapsedMs < 3000, "Waited " + elapsedMs + " ms");
+        } finally {
+            release.countDown();
+        }
+
+        // Ход без ответа движка пул не использует
+        MoveDto move = new MoveDto();
+        move.setX(0);
+        move.setY(0);
+        move.setReply(false);
+        assertEquals(200, controller.move(id, move).getStatusCode().value());
+    }
+
+    private GameSessionController controller(SearchLimits limits) {
+        return new GameSessionController(new GameSessionStore(10, 60_000), ForkJoinPool.commonPool(), 1, compute,
+                limits, OpeningBook.EMPTY, new SearchMetrics(new SimpleMeterRegistry(), false),
+                sender, scheduler, 60_000);
+    }
+
+    private static BoardDto board(int size, String engine, Long timeBudgetMs) {
+        BoardDto dto = new BoardDto();
+        dto.setSize(size);
+        dto.setEngine(engine);
+        dto.setTimeBudgetMs(timeBudgetMs);
+        return dto;
+    }
+}
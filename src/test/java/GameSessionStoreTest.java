@@ -0,0 +1,183 @@
+import org.example.core.Player;
+import org.example.core.SquaresGame;
+import org.example.session.GameSession;
+import org.example.session.GameSessionStore;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameSessionStoreTest {
+
+    // Проверяет, что сессия находится по идентификатору и удаляется
+    @Test
+    void testCreateGetRemove() {
+        GameSessionStore store = new GameSessionStore(10, 1000, () -> 0);
+        GameSession session = store.create(new SquaresGame());
+
+        assertSame(session, store.get(session.getId()));
+        assertTrue(store.remove(session.getId()));
+        assertNull(store.get(session.getId()));
+        assertFalse(store.remove(session.getId()));
+    }
+
+    // Проверяет вытеснение простаивающей сессии и продление жизни при обращении
+    @Test
+    void testIdleEviction() {
+        AtomicLong now = new AtomicLong();
+        GameSessionStore store = new GameSessionStore(10, 1000, now::get);
+        GameSession active = store.create(new SquaresGame());
+        GameSession idle = store.create(new SquaresGame());
+
+        now.set(900);
+        assertNotNull(store.get(active.getId()));
+        now.set(1500);
+        assertNotNull(store.get(active.getId()));
+        assertNull(store.get(idle.getId()));
+        assertEquals(1, store.getEvictions());
+    }
+
+    // Проверяет, что при переполнении вытесняется самая давно использованная сессия
+    @Test
+    void testCapacityBound() {
+        AtomicLong now = new AtomicLong();
+        GameSessionStore store = new GameSessionStore(2, 10_000, now::get);
+        GameSession first = store.create(new SquaresGame());
+        now.set(1);
+        GameSession second = store.create(new SquaresGame());
+        now.set(2);
+        store.get(first.getId());
+        now.set(3);
+        GameSession third = store.create(new SquaresGame());
+
+        assertEquals(2, store.size());
+        assertNotNull(store.get(first.getId()));
+        assertNull(store.get(second.getId()));
+        assertNotNull(store.get(third.getId()));
+    }
+
+    // Проверяет, что снимок статуса обновляется после ходов и конца партии
+    @Test
+    void testStatusFollowsMoves() {
+        GameSessionStore store = new GameSessionStore(10, 1000, () -> 0);
+        SquaresGame game = new SquaresGame(1);
+        game.loadBoard(3, "WW.W.....", 'B');
+        GameSession session = store.create(game);
+
+        assertTrue(session.getStatus().isActive());
+        assertEquals('B', session.getStatus().getNextPlayer());
+        assertEquals(3, session.getStatus().getMoves());
+
+        game.applyMove(2, 2);
+        assertEquals('W', session.getStatus().getNextPlayer());
+        assertEquals(4, session.getStatus().getMoves());
+
+        game.applyMove(1, 1);
+        assertEquals("W", session.getStatus().getStatus());
+        assertFalse(session.getStatus().isActive());
+        assertEquals(4, session.getStatus().getWinningSquare().length);
+    }
+
+    // Проверяет, что статус читается, пока писатель держит блокировку партии
+    @Test
+    void testStatusReadWithoutLock() throws Exception {
+        GameSessionStore store = new GameSessionStore(10, 1000, () -> 0);
+        SquaresGame game = new SquaresGame(1);
+        GameSession session = store.create(game);
+        game.startNewGame(5, new Player("user", 'W'), new Player("user", 'B'));
+
+        session.getLock().lock();
+        try {
+            GameSession.Status status = CompletableFuture.supplyAsync(() -> store.get(session.getId()).getStatus())
+                    .get(5, TimeUnit.SECONDS);
+            assertEquals(5, status.getSize());
+            assertEquals('W', status.getNextPlayer());
+        } finally {
+            session.getLock().unlock();
+        }
+    }
+
+    // Проверяет, что бюджет памяти вытесняет давние партии под большую и отклоняет партию больше бюджета
+    @Test
+    void testByteBudget() {
+        AtomicLong now = new AtomicLong();
+        long big = SquaresGame.estimateFootprintBytes(70);
+        GameSessionStore store = new GameSessionStore(100, big + 3 * SquaresGame.estimateFootprintBytes(8),
+                10_000, now::get);
+        GameSession[] small = new GameSession[10];
+        for (int i = 0; i < small.length; i++) {
+            now.set(i);
+            small[i] = store.create(game(8));
+        }
+        assertEquals(10 * SquaresGame.estimateFootprintBytes(8), store.getFootprintBytes());
+
+        now.set(100);
+        GameSession large = store.create(game(70));
+        assertTrue(store.getFootprintBytes() <= big + 3 * SquaresGame.estimateFootprintBytes(8));
+        assertNotNull(store.get(large.getId()));
+        assertNull(store.get(small[0].getId()));
+        assertNotNull(store.get(small[9].getId()));
+
+        assertThrows(IllegalArgumentException.class, () -> store.create(new SquaresGame(), 2 * big));
+        assertTrue(store.remove(large.getId()));
+        assertEquals(store.size() * SquaresGame.estimateFootprintBytes(8), store.getFootprintBytes());
+    }
+
+    // Проверяет, что одновременные создания не превышают ни число партий, ни бюджет памяти
+    @Test
+    void testConcurrentCreatesStayWithinLimits() throws Exception {
+        GameSessionStore store = new GameSessionStore(50, 40 * 1000L, 1_000_000, () -> 0);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        store.create(new SquaresGame(), 1000);
+                        assertTrue(store.size() <= 50);
+                        assertTrue(store.getFootprintBytes() <= 40 * 1000L);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) future.get(30, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(store.size() * 1000L, store.getFootprintBytes());
+    }
+
+    private static SquaresGame game(int size) {
+        SquaresGame game = new SquaresGame(1);
+        game.startNewGame(size, new Player("user", 'W'), new Player("user", 'B'));
+        return game;
+    }
+
+    // Проверяет, что при переполнении большого хранилища за раз вытесняется пачка самых давних сессий
+    @Test
+    void testBatchEviction() {
+        AtomicLong now = new AtomicLong();
+        GameSessionStore store = new GameSessionStore(640, 1_000_000, now::get);
+        GameSession[] sessions = new GameSession[640];
+        for (int i = 0; i < sessions.length; i++) {
+            now.set(i);
+            sessions[i] = store.create(new SquaresGame());
+        }
+        now.set(1000);
+        GameSession extra = store.create(new SquaresGame());
+
+        assertEquals(640 - 10 + 1, store.size());
+        assertEquals(10, store.getEvictions());
+        for (int i = 0; i < 10; i++) assertNull(store.get(sessions[i].getId()));
+        assertNotNull(store.get(sessions[10].getId()));
+        assertNotNull(store.get(extra.getId()));
+    }
+}
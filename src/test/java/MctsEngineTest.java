@@ -0,0 +1,89 @@
+import org.example.core.MctsEngine;
+import org.example.core.SquaresGame;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MctsEngineTest {
+
+    // Проверяет, что MCTS замыкает свой квадрат и блокирует чужой
+    @Test
+    void testForcedMoves() {
+        SquaresGame win = load(4, "WW..W...BB..B...", 'W');
+        win.setEngine(new MctsEngine(1));
+        assertArrayEquals(new int[]{1, 1}, win.findNextMove());
+
+        SquaresGame block = load(5, "BB...B.............W...W.", 'W');
+        block.setEngine(new MctsEngine(1));
+        assertArrayEquals(new int[]{1, 1}, block.findNextMove());
+    }
+
+    // Проверяет воспроизводимость при бюджете в доигрываниях и фиксированном зерне
+    @Test
+    void testDeterministicWithPlayoutBudget() {
+        String data = ".".repeat(60) + "W.B" + ".".repeat(58);
+        int first = search(data, 7);
+        for (int run = 0; run < 3; run++) assertEquals(first, search(data, 7));
+    }
+
+    // Проверяет переиспользование дерева между ходами одной партии
+    @Test
+    void testTreeReuseBetweenMoves() {
+        MctsEngine engine = new MctsEngine(1 << 16, 4, 4000, new SplittableRandom(3));
+        SquaresGame game = load(8, ".".repeat(27) + "WB" + ".".repeat(35), 'W');
+        game.setEngine(engine);
+
+        int[] move = game.findNextMove();
+        assertEquals(0, engine.getReusedVisits());
+
+        StringBuilder data = boardString(game);
+        data.setCharAt(move[0] * 8 + move[1], 'W');
+        game.loadBoard(8, data.toString(), 'B');
+        int[] reply = game.findNextMove();
+        assertTrue(engine.getReusedVisits() > 0);
+
+        data.setCharAt(reply[0] * 8 + reply[1], 'B');
+        game.loadBoard(8, data.toString(), 'W');
+        game.findNextMove();
+        assertTrue(engine.getReusedVisits() > 0);
+        assertTrue(engine.getRootVisits() >= 4000);
+    }
+
+    // Проверяет, что дерево выделяется небольшим и растёт по мере раскрытия, не выходя за предел узлов
+    @Test
+    void testTreeGrowsOnDemand() {
+        MctsEngine engine = new MctsEngine(1 << 16, 4, 4000, new SplittableRandom(5));
+        int initial = engine.getNodeCapacity();
+        assertTrue(initial < 1 << 16);
+
+        SquaresGame game = load(8, ".".repeat(27) + "WB" + ".".repeat(35), 'W');
+        game.setEngine(engine);
+        game.findNextMove();
+        assertTrue(engine.getNodeCapacity() > initial);
+        assertTrue(engine.getNodeCapacity() <= 1 << 16);
+    }
+
+    private int search(String data, long seed) {
+        SquaresGame game = load(11, data, 'W');
+        game.setEngine(new MctsEngine(1 << 16, 8, 2000, new SplittableRandom(seed)));
+        return game.findNextMoveCell();
+    }
+
+    private StringBuilder boardString(SquaresGame game) {
+        int size = game.getBoard().getSize();
+        StringBuilder data = new StringBuilder();
+        for (int x = 0; x < size; x++)
+            for (int y = 0; y < size; y++)
+                data.append(game.getBoard().getCell(x, y));
+        return data;
+    }
+
+    private SquaresGame load(int size, String data, char next) {
+        SquaresGame game = new SquaresGame(1);
+        game.loadBoard(size, data, next);
+        return game;
+    }
+}
@@ -0,0 +1,120 @@
+import org.example.core.Board;
+import org.example.core.BoardCodec;
+import org.example.core.CanonicalPosition;
+import org.example.core.SquaresGame;
+import org.example.web.cache.MoveCache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoveCacheTest {
+
+    // Проверяет попадание для отражённой позиции и перевод хода в её ориентацию
+    @Test
+    void testSymmetricHit() {
+        MoveCache cache = new MoveCache(100);
+
+        // Белым не хватает клетки (1, 1) для квадрата
+        CanonicalPosition position = position("WW.W.....");
+        assertEquals(-1, cache.get(position));
+        cache.put(position, 4);
+
+        // Та же позиция, отражённая по столбцам, попадает в запись; другая позиция — промах
+        assertEquals(4, cache.get(position(".WW..W...")));
+        assertEquals(-1, cache.get(position("W..W....W")));
+
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+        assertEquals(1, cache.size());
+    }
+
+    // Проверяет, что ход из кэша — тот же ход, отображённый в ориентацию каждой симметричной позиции
+    @Test
+    void testMoveFollowsOrientation() {
+        MoveCache cache = new MoveCache(100);
+        // Белые в углу, чёрные в соседнем углу; ход белых в клетку между ними
+        String[] images = {"W.B......", "..W.....B", "......B.W", "B.....W..",
+                "B.W......", "W.....B..", "......W.B", "..B.....W"};
+        int[] between = {1, 5, 7, 3, 1, 3, 7, 5};
+
+        cache.put(position(images[0]), between[0]);
+        for (int i = 0; i < images.length; i++) {
+            assertEquals(between[i], cache.get(position(images[i])), images[i]);
+        }
+        assertEquals(8, cache.getHits());
+    }
+
+    // Проверяет, что ключ кэша объединяет симметрии только на нечётных досках
+    @Test
+    void testKeyOfEvenBoardIsExact() {
+        MoveCache cache = new MoveCache(100);
+        Board odd = BoardCodec.parseText(3, "W.B......");
+        Board oddImage = BoardCodec.parseText(3, "B.W......");
+        assertEquals(cache.keyOf(odd, 'W'), cache.keyOf(oddImage, 'W'));
+
+        Board even = BoardCodec.parseText(4, "W.B.............");
+        Board evenImage = BoardCodec.parseText(4, ".B.W............");
+        assertEquals(CanonicalPosition.of(even, 'W'), CanonicalPosition.of(evenImage, 'W'));
+        assertNotEquals(cache.keyOf(even, 'W'), cache.keyOf(evenImage, 'W'));
+        assertEquals(cache.keyOf(even, 'W'), cache.keyOf(BoardCodec.parseText(4, "W.B............."), 'W'));
+
+        cache.put(cache.keyOf(even, 'W'), 1);
+        assertEquals(1, cache.get(cache.keyOf(even, 'W')));
+        assertEquals(-1, cache.get(cache.keyOf(evenImage, 'W')));
+    }
+
+    // Проверяет вытеснение давно не читавшейся записи при переполнении
+    @Test
+    void testEviction() {
+        MoveCache cache = new MoveCache(2);
+        cache.put(position("W........"), 4);
+        cache.put(position(".W......."), 4);
+        cache.get(position("W........"));
+        cache.put(position("....W...."), 0);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        assertEquals(4, cache.get(position("W........")));
+        assertEquals(-1, cache.get(position(".W.......")));
+    }
+
+    // Проверяет, что кэшируется только эвристика на досках с индексом квадратов
+    @Test
+    void testCacheable() {
+        MoveCache cache = new MoveCache(100);
+        assertTrue(cache.isCacheable(null, 10));
+        assertTrue(cache.isCacheable("heuristic", 10));
+        assertFalse(cache.isCacheable("alphabeta", 10));
+        assertFalse(cache.isCacheable("mcts", 10));
+        assertFalse(cache.isCacheable(null, 100));
+        assertFalse(new MoveCache(0).isCacheable(null, 10));
+    }
+
+    // Проверяет, что ход эвристики, сохранённый для одной ориентации, свободен и выигрывает в другой
+    @Test
+    void testCachedHeuristicMove() {
+        MoveCache cache = new MoveCache(100);
+        String data = "WW..W.B...B.....";
+        SquaresGame game = new SquaresGame(1);
+        game.loadBoard(4, data, 'W');
+        cache.put(position(data), game.findNextMoveCell());
+
+        // Поворот доски на 90°: (x, y) -> (y, 3 - x)
+        char[] rotated = new char[16];
+        for (int cell = 0; cell < 16; cell++) rotated[(cell % 4) * 4 + 3 - cell / 4] = data.charAt(cell);
+        String rotatedData = new String(rotated);
+        int move = cache.get(position(rotatedData));
+
+        SquaresGame check = new SquaresGame(1);
+        check.loadBoard(4, rotatedData, 'W');
+        check.applyMove(move / 4, move % 4);
+        assertEquals("W", check.getGameStatus());
+    }
+
+    private static CanonicalPosition position(String data) {
+        int size = (int) Math.sqrt(data.length());
+        Board board = BoardCodec.parseText(size, data);
+        return CanonicalPosition.of(board, 'W');
+    }
+}
@@ -0,0 +1,101 @@
+import org.example.core.AlphaBetaEngine;
+import org.example.core.MoveStage;
+import org.example.core.SquaresGame;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoveCandidatesTest {
+    // Редкая позиция 20x20 без угроз: три белые и три чёрные фишки вдали друг от друга
+    private static final int[][] WHITE = {{5, 5}, {9, 12}, {14, 7}};
+    private static final int[][] BLACK = {{6, 14}, {12, 3}, {15, 15}};
+
+    // Проверяет, что отбор кандидатов не меняет выигрыш и блокировку
+    @Test
+    void testForcedMovesDoNotDependOnPruning() {
+        String win = "WW..." + "W...." + "....." + "..B.." + "...BB";
+        String block = "BB..." + "B...." + "....." + "..W.." + "...W.";
+        for (boolean pruning : new boolean[]{true, false}) {
+            assertArrayEquals(new int[]{1, 1}, load(5, win, 'W', pruning).findNextMove());
+            assertArrayEquals(new int[]{1, 1}, load(5, block, 'W', pruning).findNextMove());
+        }
+    }
+
+    // Проверяет, что с отбором кандидатов перебор фиксированной глубины посещает меньше узлов
+    @Test
+    void testPruningReducesSearchNodes() {
+        long pruned = searchNodes(true);
+        long full = searchNodes(false);
+        assertTrue(pruned > 0);
+        assertTrue(pruned < full, "Nodes with pruning " + pruned + ", without " + full);
+    }
+
+    // Проверяет, что с отбором кандидатов каскад эвристик просматривает меньше квадратов
+    @Test
+    void testPruningReducesSquaresExamined() {
+        SquaresGame pruned = sparsePosition(true);
+        SquaresGame full = sparsePosition(false);
+        pruned.findNextMove();
+        full.findNextMove();
+        long prunedSquares = pruned.getSearchStats().getSquaresExamined();
+        long fullSquares = full.getSearchStats().getSquaresExamined();
+        assertTrue(prunedSquares < fullSquares, "Squares with pruning " + prunedSquares + ", without " + fullSquares);
+    }
+
+    // Проверяет, что стратегический ход с отбором — тот же, что лучший по оценке среди всех пустых клеток,
+    // в том числе когда фишки в углу, а лучшая клетка — пустой центр вне кандидатов
+    @Test
+    void testStrategicMoveMatchesFullScan() {
+        Random random = new Random(5);
+        int compared = 0;
+        for (int round = 0; round < 300; round++) {
+            int size = 6 + random.nextInt(20);
+            // Фишки в случайном углу доски: окно со стороной от 3 клеток до всей доски
+            int window = 3 + random.nextInt(size - 2);
+            int offsetX = random.nextBoolean() ? 0 : size - window;
+            int offsetY = random.nextBoolean() ? 0 : size - window;
+            char[] data = ".".repeat(size * size).toCharArray();
+            int pieces = 1 + random.nextInt(Math.max(1, window * window / 4));
+            for (int i = 0; i < pieces; i++) {
+                int cell = (offsetX + random.nextInt(window)) * size + offsetY + random.nextInt(window);
+                data[cell] = random.nextBoolean() ? 'W' : 'B';
+            }
+
+            SquaresGame pruned = load(size, new String(data), 'W', true);
+            SquaresGame full = load(size, new String(data), 'W', false);
+            if (!"ACTIVE".equals(pruned.getGameStatus())) continue;
+            int prunedMove = pruned.findNextMoveCell();
+            int fullMove = full.findNextMoveCell();
+            if (pruned.getSearchStats().getStage() != MoveStage.STRATEGIC
+                    || full.getSearchStats().getStage() != MoveStage.STRATEGIC) continue;
+            assertEquals(fullMove, prunedMove, "size " + size + ", board " + new String(data));
+            compared++;
+        }
+        assertTrue(compared > 100, "Compared " + compared);
+    }
+
+    private long searchNodes(boolean pruning) {
+        SquaresGame game = sparsePosition(pruning);
+        game.setEngine(new AlphaBetaEngine(AlphaBetaEngine.DEFAULT_TABLE_SIZE, 8, 3));
+        game.setTimeBudgetMs(60_000);
+        game.findNextMove();
+        return game.getSearchStats().getNodes();
+    }
+
+    private SquaresGame sparsePosition(boolean pruning) {
+        StringBuilder data = new StringBuilder(".".repeat(20 * 20));
+        for (int[] cell : WHITE) data.setCharAt(cell[0] * 20 + cell[1], 'W');
+        for (int[] cell : BLACK) data.setCharAt(cell[0] * 20 + cell[1], 'B');
+        return load(20, data.toString(), 'W', pruning);
+    }
+
+    private SquaresGame load(int size, String data, char next, boolean pruning) {
+        SquaresGame game = new SquaresGame(7);
+        game.setCandidatePruning(pruning);
+        game.loadBoard(size, data, next);
+        return game;
+    }
+}
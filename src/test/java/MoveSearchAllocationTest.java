@@ -0,0 +1,96 @@
+import com.sun.management.ThreadMXBean;
+import org.example.core.MoveStage;
+import org.example.core.SquaresGame;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoveSearchAllocationTest {
+    private static final int ITERATIONS = 2_000;
+    // Запас на служебные выделения JVM во время замера
+    private static final long TOLERANCE_BYTES = 16 * 1024;
+
+    // Проверяет отсутствие выделений памяти в установившемся режиме поиска хода (с индексом квадратов)
+    @Test
+    void testIndexedSearchDoesNotAllocate() {
+        assertSearchDoesNotAllocate(randomGame(12, 0.3, 1), ITERATIONS);
+    }
+
+    // Проверяет отсутствие выделений памяти на больших досках без индекса
+    @Test
+    void testScanningSearchDoesNotAllocate() {
+        assertSearchDoesNotAllocate(randomGame(80, 0.02, 2), ITERATIONS / 20);
+    }
+
+    // Проверяет отсутствие выделений на этапах после немедленного выигрыша: блокировка, двойная угроза,
+    // стратегический ход — с индексом квадратов и без него. Случайные доски почти всегда решаются выигрышем
+    @Test
+    void testLaterStagesDoNotAllocate() {
+        for (int size : new int[]{12, 80}) {
+            // Чёрным не хватает клетки (3, 3) для квадрата, у белых угроз нет
+            SquaresGame block = game(size, new int[][]{{1, 8}, {6, 1}}, new int[][]{{2, 2}, {2, 3}, {3, 2}});
+            assertStage(MoveStage.BLOCK, block);
+            assertSearchDoesNotAllocate(block, ITERATIONS / 10);
+
+            // Ход белых рядом с (4, 4), (4, 5), (5, 6), (6, 6) может создать две угрозы сразу
+            SquaresGame fork = game(size, new int[][]{{4, 4}, {4, 5}, {5, 6}, {6, 6}}, new int[][]{{1, 1}, {10, 1}});
+            assertStage(MoveStage.DOUBLE_THREAT, fork);
+            assertSearchDoesNotAllocate(fork, ITERATIONS / 10);
+
+            // Разрозненные фишки без угроз: ход выбирает стратегическая оценка
+            SquaresGame quiet = game(size, new int[][]{{1, 1}, {4, 9}, {9, 6}}, new int[][]{{2, 10}, {8, 2}, {10, 10}});
+            assertStage(MoveStage.STRATEGIC, quiet);
+            assertSearchDoesNotAllocate(quiet, ITERATIONS / 10);
+        }
+    }
+
+    private void assertStage(MoveStage expected, SquaresGame game) {
+        game.findNextMoveCell();
+        assertEquals(expected, game.getSearchStats().getStage());
+    }
+
+    private void assertSearchDoesNotAllocate(SquaresGame game, int iterations) {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        enableAllocationTracking(threads);
+
+        int checksum = 0;
+        for (int i = 0; i < iterations; i++) checksum += game.findNextMoveCell();
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < iterations; i++) checksum += game.findNextMoveCell();
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertTrue(checksum != Integer.MIN_VALUE);
+        assertTrue(allocated < TOLERANCE_BYTES, "Allocated " + allocated + " bytes in " + iterations + " searches");
+    }
+
+    private void enableAllocationTracking(ThreadMXBean threads) {
+        assertTrue(threads.isThreadAllocatedMemorySupported());
+        if (!threads.isThreadAllocatedMemoryEnabled()) threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    private SquaresGame randomGame(int size, double fill, long seed) {
+        Random random = new Random(seed);
+        StringBuilder data = new StringBuilder();
+        for (int i = 0; i < size * size; i++) {
+            double r = random.nextDouble();
+            data.append(r < fill / 2 ? 'W' : r < fill ? 'B' : '.');
+        }
+        SquaresGame game = new SquaresGame();
+        game.loadBoard(size, data.toString(), 'W');
+        return game;
+    }
+
+    private SquaresGame game(int size, int[][] white, int[][] black) {
+        StringBuilder data = new StringBuilder(".".repeat(size * size));
+        for (int[] cell : white) data.setCharAt(cell[0] * size + cell[1], 'W');
+        for (int[] cell : black) data.setCharAt(cell[0] * size + cell[1], 'B');
+        SquaresGame game = new SquaresGame();
+        game.loadBoard(size, data.toString(), 'W');
+        return game;
+    }
+}
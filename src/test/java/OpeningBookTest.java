@@ -0,0 +1,92 @@
+import org.example.core.Board;
+import org.example.core.BoardCodec;
+import org.example.core.HeuristicEngine;
+import org.example.core.OpeningBook;
+import org.example.core.OpeningBookEngine;
+import org.example.core.SquaresGame;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OpeningBookTest {
+
+    // Проверяет, что книга из ресурсов покрывает доски 3x3..6x6 и начальные позиции
+    @Test
+    void testBookCoversSmallBoards() throws IOException {
+        OpeningBook book = load();
+        assertTrue(book.size() > 0);
+        for (int size = 3; size <= 6; size++) {
+            assertTrue(book.covers(size));
+            for (char toMove : new char[]{'W', 'B'}) {
+                int cell = book.lookup(Board.create(size), toMove);
+                assertTrue(cell >= 0 && cell < size * size, size + "x" + size);
+            }
+        }
+        assertFalse(book.covers(7));
+        assertEquals(-1, book.lookup(Board.create(7), 'W'));
+    }
+
+    // Проверяет, что ход книги для повёрнутой позиции — повёрнутый ход исходной
+    @Test
+    void testLookupFollowsOrientation() throws IOException {
+        OpeningBook book = load();
+        String data = "W...............";
+        int cell = book.lookup(BoardCodec.parseText(4, data), 'B');
+        assertTrue(cell >= 0);
+
+        // Поворот на 90°: (x, y) -> (y, 3 - x)
+        String rotated = "...W............";
+        int rotatedCell = book.lookup(BoardCodec.parseText(4, rotated), 'B');
+        assertEquals((cell % 4) * 4 + 3 - cell / 4, rotatedCell);
+    }
+
+    // Проверяет, что в позиции 3x3 с угрозой белых книга чёрных блокирует квадрат
+    @Test
+    void testBookBlocksWin() throws IOException {
+        OpeningBook book = load();
+        assertEquals(4, book.lookup(BoardCodec.parseText(3, "WW.W..B.B"), 'B'));
+    }
+
+    // Проверяет отображение файла книги в память
+    @Test
+    void testMappedBook() throws IOException {
+        Path file = Files.createTempFile("opening-book", ".bin");
+        try (InputStream in = OpeningBookTest.class.getResourceAsStream("/opening-book.bin")) {
+            Files.write(file, in.readAllBytes());
+            OpeningBook mapped = OpeningBook.map(file);
+            OpeningBook read = load();
+            assertEquals(read.size(), mapped.size());
+            assertEquals(read.lookup(Board.create(5), 'W'), mapped.lookup(Board.create(5), 'W'));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> OpeningBook.read(InputStream.nullInputStream()));
+    }
+
+    // Проверяет, что позиция вне книги передаётся движку
+    @Test
+    void testEngineFallsBack() throws IOException {
+        OpeningBookEngine engine = new OpeningBookEngine(load(), HeuristicEngine.INSTANCE);
+        SquaresGame game = new SquaresGame(1);
+        game.loadBoard(8, ".".repeat(64), 'W');
+        int cell = engine.findMove(game, 0);
+        assertEquals(HeuristicEngine.INSTANCE.findMove(game, 0), cell);
+
+        game.loadBoard(3, ".........", 'W');
+        assertEquals(load().lookup(game.getBoard(), 'W'), engine.findMove(game, 0));
+    }
+
+    private static OpeningBook load() throws IOException {
+        try (InputStream in = OpeningBookTest.class.getResourceAsStream("/opening-book.bin")) {
+            assertNotNull(in);
+            return OpeningBook.read(in);
+        }
+    }
+}
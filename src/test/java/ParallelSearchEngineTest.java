@@ -0,0 +1,104 @@
+import org.example.core.ParallelSearchEngine;
+import org.example.core.SquaresGame;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelSearchEngineTest {
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    // Проверяет, что при ограничении глубины результат не зависит от числа потоков и повторов
+    @Test
+    void testDeterministicUnderFixedDepth() {
+        for (long seed = 1; seed <= 5; seed++) {
+            String data = randomBoard(8, 0.1, seed);
+            int expected = search(data, 1);
+            for (int run = 0; run < 3; run++) {
+                assertEquals(expected, search(data, 4), "Seed " + seed);
+            }
+        }
+    }
+
+    // Проверяет, что таблицы движков потоков, оставшиеся от прошлых поисков, не влияют на ход
+    @Test
+    void testReusedEnginesMatchFreshOnes() {
+        for (long seed = 1; seed <= 10; seed++) {
+            String data = randomBoard(8, 0.1, seed);
+            ForkJoinPool fresh = new ForkJoinPool(4);
+            try {
+                // Более глубокий поиск той же позиции оставляет в таблицах записи, годные для отсечений
+                search(data, 4, pool, 5);
+                assertEquals(search(data, 4, fresh, 3), search(data, 4, pool, 3), "Seed " + seed);
+            } finally {
+                fresh.shutdownNow();
+            }
+        }
+    }
+
+    // Проверяет, что параллельный перебор замыкает свой квадрат
+    @Test
+    void testTakesImmediateWin() {
+        SquaresGame game = new SquaresGame(1);
+        game.loadBoard(4, "WW..W...BB..B...", 'W');
+        game.setEngine(new ParallelSearchEngine(pool, 4));
+        assertArrayEquals(new int[]{1, 1}, game.findNextMove());
+    }
+
+    // Проверяет, что перебор укладывается в бюджет времени и на маленькой, и на больших досках
+    @Test
+    void testRespectsTimeBudget() {
+        for (int size : new int[]{12, 71, 100}) {
+            StringBuilder data = new StringBuilder(".".repeat(size * size));
+            data.setCharAt((size / 2) * size + size / 2, 'W');
+            data.setCharAt((size / 2 - 3) * size + size / 2 + 5, 'B');
+            data.setCharAt((size / 2 + 4) * size + size / 2 - 2, 'W');
+            data.setCharAt(size + 1, 'B');
+            for (int round = 0; round < 3; round++) {
+                SquaresGame game = new SquaresGame(round);
+                game.loadBoard(size, data.toString(), 'B');
+                game.setEngine(new ParallelSearchEngine(pool, 4));
+                game.setTimeBudgetMs(100);
+
+                long start = System.nanoTime();
+                int[] move = game.findNextMove();
+                long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+                assertNotNull(move);
+                assertEquals('.', game.getBoard().getCell(move[0], move[1]));
+                assertTrue(elapsedMs < 150, "Search on " + size + "x" + size + " took " + elapsedMs + " ms");
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    private int search(String data, int parallelism) {
+        return search(data, parallelism, pool, 3);
+    }
+
+    private int search(String data, int parallelism, ForkJoinPool pool, int maxDepth) {
+        SquaresGame game = new SquaresGame(42);
+        game.loadBoard(8, data, 'W');
+        game.setEngine(new ParallelSearchEngine(pool, parallelism, 8, maxDepth));
+        game.setTimeBudgetMs(60_000);
+        return game.findNextMoveCell();
+    }
+
+    private String randomBoard(int size, double fill, long seed) {
+        Random random = new Random(seed);
+        StringBuilder data = new StringBuilder();
+        for (int i = 0; i < size * size; i++) {
+            double r = random.nextDouble();
+            data.append(r < fill / 2 ? 'W' : r < fill ? 'B' : '.');
+        }
+        return data.toString();
+    }
+}
@@ -0,0 +1,40 @@
+import org.example.web.controller.SearchLimits;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SearchLimitsTest {
+
+    // Проверяет отказ для слишком маленькой и слишком большой доски
+    @Test
+    void testCheckSize() {
+        SearchLimits limits = new SearchLimits(100, 1000, 5000);
+
+        assertEquals("Invalid board size", limits.checkSize(2));
+        assertNull(limits.checkSize(3));
+        assertNull(limits.checkSize(100));
+        assertEquals("Board too large", limits.checkSize(101));
+    }
+
+    // Проверяет бюджет по умолчанию, ограничение сверху и отказ для отрицательного бюджета
+    @Test
+    void testTimeBudget() {
+        SearchLimits limits = new SearchLimits(100, 1000, 5000);
+
+        assertEquals(1000, limits.timeBudget(null));
+        assertEquals(1000, limits.timeBudget(0L));
+        assertEquals(200, limits.timeBudget(200L));
+        assertEquals(5000, limits.timeBudget(60_000L));
+        assertThrows(IllegalArgumentException.class, () -> limits.timeBudget(-1L));
+    }
+
+    // Проверяет валидацию параметров
+    @Test
+    void testInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new SearchLimits(2, 1000, 5000));
+        assertThrows(IllegalArgumentException.class, () -> new SearchLimits(100, 0, 5000));
+        assertThrows(IllegalArgumentException.class, () -> new SearchLimits(100, 1000, 500));
+        assertThrows(IllegalArgumentException.class, () -> new SearchLimits(100, 1000, 5000, 4000));
+    }
+}
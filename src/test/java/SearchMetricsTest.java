@@ -0,0 +1,45 @@
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.core.SquaresGame;
+import org.example.web.metrics.SearchMetrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SearchMetricsTest {
+
+    // Проверяет задержку по группе размера доски и счётчик этапа, давшего ход
+    @Test
+    void testRecordsRequestAndStage() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        SearchMetrics metrics = new SearchMetrics(registry, true);
+
+        SquaresGame game = new SquaresGame(1);
+        game.loadBoard(3, "WW.W.B.B.", 'W');
+        SearchMetrics.Sample sample = metrics.start();
+        game.findNextMoveCell();
+        metrics.recordSearch(game.getSearchStats());
+        metrics.recordRequest(sample, 3);
+
+        assertEquals(1, registry.get("squares.nextmove.latency").tag("size", "3-5").timer().count());
+        assertEquals(0, registry.get("squares.nextmove.latency").tag("size", "51+").timer().count());
+        assertEquals(1.0, registry.get("squares.nextmove.stage").tag("stage", "immediate_win").counter().count());
+        assertEquals(1, registry.get("squares.search.nodes").summary().count());
+    }
+
+    // Проверяет, что выключенные метрики ничего не регистрируют и не замеряют
+    @Test
+    void testDisabled() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        SearchMetrics metrics = new SearchMetrics(registry, false);
+
+        assertNull(metrics.start());
+        metrics.recordRequest(null, 3);
+        SquaresGame game = new SquaresGame(1);
+        game.loadBoard(3, ".........", 'W');
+        game.findNextMoveCell();
+        metrics.recordSearch(game.getSearchStats());
+        assertThrows(RuntimeException.class, () -> registry.get("squares.nextmove.stage").counter());
+    }
+}
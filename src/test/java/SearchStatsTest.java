@@ -0,0 +1,67 @@
+import org.example.core.AlphaBetaEngine;
+import org.example.core.MoveStage;
+import org.example.core.SearchStats;
+import org.example.core.SquaresGame;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SearchStatsTest {
+
+    // Проверяет, что статистика указывает этап каскада, давший ход
+    @Test
+    void testHeuristicStages() {
+        assertEquals(MoveStage.IMMEDIATE_WIN, stageOf("WW.W.B.B.", 'W'));
+        assertEquals(MoveStage.BLOCK, stageOf("WW.W.B.B.", 'B'));
+        assertEquals(MoveStage.STRATEGIC, stageOf(".........", 'W'));
+    }
+
+    // Проверяет двойную угрозу: белые на диагонали (0, 1), (1, 2), (2, 3) создают ходом две угрозы
+    @Test
+    void testDoubleThreatStage() {
+        SquaresGame game = new SquaresGame(1);
+        game.loadBoard(4, ".W.B..W....W....", 'W');
+        game.findNextMoveCell();
+        assertEquals(MoveStage.DOUBLE_THREAT, game.getSearchStats().getStage());
+    }
+
+    // Проверяет объём работы: сканирование без индекса считает квадраты, перебор — узлы
+    @Test
+    void testWorkCounters() {
+        SquaresGame large = new SquaresGame(1);
+        large.loadBoard(100, "W" + ".".repeat(100 * 100 - 1), 'B');
+        large.setTimeBudgetMs(20);
+        large.findNextMoveCell();
+        assertTrue(large.getSearchStats().getSquaresExamined() > 0);
+        assertEquals(0, large.getSearchStats().getNodes());
+
+        SquaresGame game = new SquaresGame(1);
+        game.loadBoard(5, "W...." + "....." + "..B.." + "....." + ".....", 'W');
+        game.setEngine(new AlphaBetaEngine());
+        game.setTimeBudgetMs(50);
+        game.findNextMoveCell();
+        SearchStats stats = game.getSearchStats();
+        assertEquals(MoveStage.SEARCH, stats.getStage());
+        assertTrue(stats.getNodes() > 0);
+    }
+
+    // Проверяет сброс статистики перед новым поиском
+    @Test
+    void testReset() {
+        SquaresGame game = new SquaresGame(1);
+        game.loadBoard(3, "WW.W.B.B.", 'W');
+        game.findNextMoveCell();
+        game.loadBoard(3, ".........", 'W');
+        game.findNextMoveCell();
+        assertEquals(MoveStage.STRATEGIC, game.getSearchStats().getStage());
+        assertEquals(0, game.getSearchStats().getNodes());
+    }
+
+    private static MoveStage stageOf(String data, char toMove) {
+        SquaresGame game = new SquaresGame(1);
+        game.loadBoard(3, data, toMove);
+        game.findNextMoveCell();
+        return game.getSearchStats().getStage();
+    }
+}
@@ -0,0 +1,192 @@
+import org.example.core.BitBoard;
+import org.example.core.Board;
+import org.example.core.BoardCodec;
+import org.example.core.MoveStage;
+import org.example.core.Player;
+import org.example.core.SparseBoard;
+import org.example.core.SquaresBoard;
+import org.example.core.SquaresGame;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SparseBoardTest {
+    private static final char[] VALUES = {'.', 'W', 'B'};
+
+    // Проверяет совпадение поведения SparseBoard и SquaresBoard, включая удаление фишек и заполнение доски
+    @Test
+    void testEquivalenceWithCharBoard() {
+        Random random = new Random(42);
+        for (int size = 3; size <= 40; size++) {
+            SquaresBoard expected = new SquaresBoard(size);
+            SparseBoard actual = new SparseBoard(size);
+
+            for (int step = 0; step < size * size * 3; step++) {
+                int x = random.nextInt(size);
+                int y = random.nextInt(size);
+                char value = VALUES[random.nextInt(VALUES.length)];
+                expected.setCell(x, y, value);
+                actual.setCell(x, y, value);
+                assertEquals(expected.getCell(x, y), actual.getCell(x, y));
+            }
+            assertSameCells(expected, actual);
+            assertEquals(expected.isFull(), actual.isFull());
+
+            for (int x = 0; x < size; x++)
+                for (int y = 0; y < size; y++) {
+                    expected.setCell(x, y, 'B');
+                    actual.setCell(x, y, 'B');
+                }
+            assertTrue(actual.isFull());
+            assertEquals(size * size, actual.getOccupiedCount());
+
+            for (int x = 0; x < size; x++)
+                for (int y = 0; y < size; y++)
+                    actual.setCell(x, y, '.');
+            assertEquals(0, actual.getOccupiedCount());
+            assertSameCells(new SquaresBoard(size), actual);
+        }
+    }
+
+    // Проверяет, что SparseBoard отвергает те же некорректные аргументы, что и SquaresBoard
+    @Test
+    void testValidationMatchesCharBoard() {
+        assertThrows(IllegalArgumentException.class, () -> new SparseBoard(2));
+        assertThrows(IllegalArgumentException.class, () -> new SparseBoard(50_000));
+        SparseBoard board = new SparseBoard(3);
+        assertThrows(IllegalArgumentException.class, () -> board.getCell(3, 0));
+        assertThrows(IllegalArgumentException.class, () -> board.setCell(0, -1, 'W'));
+        assertThrows(IllegalArgumentException.class, () -> board.setCell(0, 0, 'X'));
+        assertEquals('.', board.getCell(0, 0));
+    }
+
+    // Проверяет, что большие доски создаются разреженными, а маленькие остаются битовыми
+    @Test
+    void testCreateChoosesRepresentationBySize() {
+        assertTrue(Board.create(Board.SPARSE_MIN_SIZE - 1) instanceof BitBoard);
+        assertTrue(Board.create(Board.SPARSE_MIN_SIZE) instanceof SparseBoard);
+        assertTrue(BoardCodec.decodeSparse(1000, new int[]{5}, new int[]{999_999}) instanceof SparseBoard);
+    }
+
+    // Проверяет, что sparse-формат на доске 1000x1000 раскодируется и кодируется обратно по номерам клеток
+    @Test
+    void testSparseCodecRoundTrip() {
+        int[] white = {0, 1_000, 500_500, 999_999};
+        int[] black = {1, 250_000};
+        Board board = BoardCodec.decodeSparse(1000, white, black);
+        assertArrayEquals(white, BoardCodec.encodeSparse(board, 'W'));
+        assertArrayEquals(black, BoardCodec.encodeSparse(board, 'B'));
+    }
+
+    // Проверяет этапы эвристики на доске 1000x1000: выигрыш повёрнутым квадратом, блокировку и двойную угрозу
+    @Test
+    void testHeuristicStagesOnHugeBoard() {
+        // Три вершины повёрнутого квадрата (500,500), (501,502), (499,503) — четвёртая (498,501)
+        SquaresGame win = load(new int[]{500_500, 501_502, 499_503}, new int[]{10_010}, 'W');
+        assertArrayEquals(new int[]{498, 501}, win.findNextMove());
+
+        SquaresGame block = load(new int[]{10_010}, new int[]{500_500, 501_502, 499_503}, 'W');
+        assertArrayEquals(new int[]{498, 501}, block.findNextMove());
+
+        // Белые (400,400), (400,401), (401,402), (402,402): ход рядом с ними может дать две угрозы сразу
+        SquaresGame fork = load(new int[]{400_400, 400_401, 401_402, 402_402}, new int[]{100_100}, 'W');
+        int[] move = fork.findNextMove();
+        assertEquals(MoveStage.DOUBLE_THREAT, fork.getSearchStats().getStage());
+        Board board = fork.getBoard();
+        board.setCell(move[0], move[1], 'W');
+        assertTrue(countWinningCells(board, 'W', 395, 408) >= 2);
+    }
+
+    // Проверяет, что пустая доска начинается с центра, а дальше ходы идут рядом с фишками
+    @Test
+    void testMovesStayNearPieces() {
+        SquaresGame game = new SquaresGame(5);
+        game.startNewGame(1000, new Player("comp", 'W'), new Player("comp", 'B'));
+        assertEquals('W', game.getBoard().getCell(500, 500));
+        SparseBoard board = (SparseBoard) game.getBoard();
+        assertTrue(board.getOccupiedCount() >= 4);
+        assertNotEquals("ACTIVE", game.getGameStatus());
+        assertTrue(isSquare(board, game.getWinningSquare()));
+
+        for (int x = 0; x < 1000; x += 100)
+            for (int y = 0; y < 1000; y += 100)
+                if (Math.abs(x - 500) > 100 || Math.abs(y - 500) > 100) assertEquals('.', board.getCell(x, y));
+    }
+
+    // Проверяет, что копия партии на разреженной доске независима от исходной
+    @Test
+    void testCopyKeepsPieces() {
+        SquaresGame game = load(new int[]{500_500, 700_700}, new int[]{300_300}, 'B');
+        SquaresGame copy = game.copy();
+        assertTrue(copy.getBoard() instanceof SparseBoard);
+        assertEquals('W', copy.getBoard().getCell(700, 700));
+        copy.makeMove(0, 0);
+        assertEquals('.', game.getBoard().getCell(0, 0));
+        assertEquals(3, ((SparseBoard) game.getBoard()).getOccupiedCount());
+    }
+
+    // Пустые клетки окна [from, to) x [from, to), ход в которые замыкает квадрат цвета с фишками окна
+    private int countWinningCells(Board board, char color, int from, int to) {
+        int wins = 0;
+        for (int x = from; x < to; x++) {
+            for (int y = from; y < to; y++) {
+                if (board.getCell(x, y) != '.') continue;
+                board.setCell(x, y, color);
+                if (hasSquareThrough(board, color, x, y, from, to)) wins++;
+                board.setCell(x, y, '.');
+            }
+        }
+        return wins;
+    }
+
+    private boolean hasSquareThrough(Board board, char color, int x1, int y1, int from, int to) {
+        for (int x2 = from; x2 < to; x2++) {
+            for (int y2 = from; y2 < to; y2++) {
+                if ((x2 == x1 && y2 == y1) || board.getCell(x2, y2) != color) continue;
+                int vx = -(y2 - y1), vy = x2 - x1;
+                for (int sign = 1; sign >= -1; sign -= 2) {
+                    int x3 = x1 + vx * sign, y3 = y1 + vy * sign, x4 = x2 + vx * sign, y4 = y2 + vy * sign;
+                    if (board.isInside(x3, y3) && board.isInside(x4, y4)
+                            && board.getCell(x3, y3) == color && board.getCell(x4, y4) == color) return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private SquaresGame load(int[] white, int[] black, char next) {
+        SquaresGame game = new SquaresGame(1);
+        game.loadBoard(BoardCodec.decodeSparse(1000, white, black), next);
+        return game;
+    }
+
+    private boolean isSquare(Board board, int[][] square) {
+        if (square == null) return false;
+        char color = board.getCell(square[0][0], square[0][1]);
+        for (int[] corner : square) if (board.getCell(corner[0], corner[1]) != color) return false;
+        // Четыре равные стороны d и две диагонали 2d
+        long[] distances = new long[6];
+        int k = 0;
+        for (int i = 0; i < 4; i++) {
+            for (int j = i + 1; j < 4; j++) {
+                long dx = square[i][0] - square[j][0], dy = square[i][1] - square[j][1];
+                distances[k++] = dx * dx + dy * dy;
+            }
+        }
+        Arrays.sort(distances);
+        return distances[0] > 0 && distances[0] == distances[3]
+                && distances[4] == 2 * distances[0] && distances[5] == 2 * distances[0];
+    }
+
+    private void assertSameCells(Board expected, Board actual) {
+        int size = expected.getSize();
+        assertEquals(size, actual.getSize());
+        for (int x = 0; x < size; x++)
+            for (int y = 0; y < size; y++)
+                assertEquals(expected.getCell(x, y), actual.getCellUnchecked(x, y), "Cell (" + x + "," + y + ")");
+    }
+}
@@ -0,0 +1,99 @@
+import org.example.core.SquareGeometry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SquareGeometryTest {
+
+    // Проверяет, что таблица содержит каждый квадрат ровно один раз и все вершины образуют квадрат
+    @Test
+    void testSquaresAreUniqueAndValid() {
+        for (int size = 3; size <= 9; size++) {
+            SquareGeometry geometry = SquareGeometry.forSize(size);
+            assertEquals(SquareGeometry.countSquares(size), geometry.getSquareCount());
+
+            Set<String> seen = new HashSet<>();
+            for (int square = 0; square < geometry.getSquareCount(); square++) {
+                int[] xs = new int[4], ys = new int[4];
+                for (int i = 0; i < 4; i++) {
+                    xs[i] = geometry.corner(square, i) / size;
+                    ys[i] = geometry.corner(square, i) % size;
+                }
+                int side = dist(xs[0], ys[0], xs[1], ys[1]);
+                for (int i = 0; i < 4; i++)
+                    assertEquals(side, dist(xs[i], ys[i], xs[(i + 1) % 4], ys[(i + 1) % 4]));
+                assertEquals(2 * side, dist(xs[0], ys[0], xs[2], ys[2]));
+
+                int[] cells = {geometry.corner(square, 0), geometry.corner(square, 1),
+                        geometry.corner(square, 2), geometry.corner(square, 3)};
+                Arrays.sort(cells);
+                assertTrue(seen.add(Arrays.toString(cells)), "Duplicate square");
+            }
+        }
+    }
+
+    // Проверяет, что список инцидентности клетки содержит ровно квадраты с этой вершиной
+    @Test
+    void testIncidenceMatchesCorners() {
+        SquareGeometry geometry = SquareGeometry.forSize(6);
+        int total = 0;
+        for (int cell = 0; cell < 36; cell++) {
+            for (int i = geometry.incidenceStart(cell); i < geometry.incidenceEnd(cell); i++) {
+                int square = geometry.incidentSquare(i);
+                boolean found = false;
+                for (int k = 0; k < 4; k++) found |= geometry.corner(square, k) == cell;
+                assertTrue(found);
+                total++;
+            }
+        }
+        assertEquals(geometry.getSquareCount() * 4, total);
+    }
+
+    // Проверяет разделение таблицы между вызовами и оценку занимаемой памяти
+    @Test
+    void testSharedAndBounded() {
+        assertSame(SquareGeometry.forSize(10), SquareGeometry.forSize(10));
+        assertEquals(SquareGeometry.estimateFootprintBytes(10), SquareGeometry.forSize(10).getFootprintBytes());
+        assertTrue(SquareGeometry.cachedFootprintBytes() >= SquareGeometry.forSize(10).getFootprintBytes());
+        assertFalse(SquareGeometry.isSupported(200));
+        assertThrows(IllegalArgumentException.class, () -> SquareGeometry.forSize(200));
+    }
+
+    // Проверяет, что кэш разных размеров укладывается в общий бюджет и вытесняет давно не запрошенные размеры
+    @Test
+    void testCacheBudgetEvictsLeastRecentlyUsed() {
+        long budget = 4L << 20;
+        try {
+            SquareGeometry.setCacheBudgetBytes(budget);
+            SquareGeometry small = SquareGeometry.forSize(5);
+            for (int size = 3; size <= 40; size++) {
+                SquareGeometry.forSize(size);
+                // Маленькая таблица запрашивается чаще остальных и не вытесняется
+                assertSame(small, SquareGeometry.forSize(5));
+                assertTrue(SquareGeometry.cachedFootprintBytes() <= budget,
+                        "Cached " + SquareGeometry.cachedFootprintBytes() + " bytes at size " + size);
+            }
+            // Размер 20 давно вытеснен: новый запрос строит таблицу заново
+            SquareGeometry rebuilt = SquareGeometry.forSize(20);
+            assertEquals(SquareGeometry.countSquares(20), rebuilt.getSquareCount());
+            assertTrue(SquareGeometry.cachedFootprintBytes() <= budget);
+
+            // Таблица больше бюджета отдаётся, но не кэшируется
+            SquareGeometry.setCacheBudgetBytes(1024);
+            assertEquals(0, SquareGeometry.cachedFootprintBytes());
+            assertNotSame(SquareGeometry.forSize(10), SquareGeometry.forSize(10));
+            assertThrows(IllegalArgumentException.class, () -> SquareGeometry.setCacheBudgetBytes(0));
+        } finally {
+            SquareGeometry.setCacheBudgetBytes(SquareGeometry.DEFAULT_CACHE_BUDGET_BYTES);
+        }
+    }
+
+    private int dist(int x1, int y1, int x2, int y2) {
+        return (x1 - x2) * (x1 - x2) + (y1 - y2) * (y1 - y2);
+    }
+}
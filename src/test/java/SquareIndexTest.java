@@ -0,0 +1,104 @@
+import org.example.core.BitBoard;
+import org.example.core.Board;
+import org.example.core.SquareIndex;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SquareIndexTest {
+    private static final char[] VALUES = {'.', 'W', 'B'};
+
+    // Проверяет, что индекс находит победу так же, как полный перебор пар клеток
+    @Test
+    void testSquareDetectionMatchesBruteForce() {
+        Random random = new Random(7);
+        for (int size = 3; size <= 12; size++) {
+            SquareIndex index = new SquareIndex(new BitBoard(size));
+            for (int step = 0; step < size * size * 2; step++) {
+                index.set(random.nextInt(size), random.nextInt(size), VALUES[random.nextInt(VALUES.length)]);
+                for (char color : new char[]{'W', 'B'}) {
+                    assertEquals(hasSquare(index.getBoard(), color), index.hasSquare(color));
+                }
+            }
+        }
+    }
+
+    // Проверяет, что найденная выигрышная клетка действительно замыкает квадрат
+    @Test
+    void testWinningCellMatchesBruteForce() {
+        Random random = new Random(11);
+        for (int size = 3; size <= 10; size++) {
+            for (int round = 0; round < 20; round++) {
+                Board board = new BitBoard(size);
+                for (int i = 0; i < size * size / 3; i++) {
+                    board.setCell(random.nextInt(size), random.nextInt(size), random.nextBoolean() ? 'W' : 'B');
+                }
+                SquareIndex index = new SquareIndex(board);
+                for (char color : new char[]{'W', 'B'}) {
+                    if (index.hasSquare(color)) continue;
+                    int cell = index.findWinningCell(color);
+                    assertEquals(hasWinningCell(board, color), cell >= 0);
+                    if (cell >= 0) {
+                        int x = cell / size, y = cell % size;
+                        assertEquals('.', board.getCell(x, y));
+                        index.set(x, y, color);
+                        assertTrue(hasSquare(board, color));
+                        index.set(x, y, '.');
+                    }
+                }
+            }
+        }
+    }
+
+    // Проверяет, что ход двойной угрозы создаёт две угрозы с разными клетками
+    @Test
+    void testDoubleThreatCreatesTwoThreats() {
+        SquareIndex index = new SquareIndex(new BitBoard(4));
+        index.set(0, 0, 'W');
+        index.set(1, 0, 'W');
+        index.set(0, 2, 'W');
+        index.set(1, 2, 'W');
+        assertEquals(-1, index.findWinningCell('W'));
+
+        int cell = index.findDoubleThreatCell('W');
+        assertTrue(cell >= 0);
+        index.set(cell / 4, cell % 4, 'W');
+        int first = index.findWinningCell('W');
+        assertTrue(first >= 0);
+        index.set(first / 4, first % 4, 'B');
+        assertTrue(index.findWinningCell('W') >= 0, "Second threat must survive a single block");
+    }
+
+    private boolean hasWinningCell(Board board, char color) {
+        int size = board.getSize();
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                if (board.getCell(x, y) != '.') continue;
+                board.setCell(x, y, color);
+                boolean win = hasSquare(board, color);
+                board.setCell(x, y, '.');
+                if (win) return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasSquare(Board board, char color) {
+        int size = board.getSize();
+        for (int x1 = 0; x1 < size; x1++)
+            for (int y1 = 0; y1 < size; y1++)
+                for (int x2 = 0; x2 < size; x2++)
+                    for (int y2 = 0; y2 < size; y2++) {
+                        if (x1 == x2 && y1 == y2) continue;
+                        int vx = -(y2 - y1), vy = x2 - x1;
+                        int x3 = x1 + vx, y3 = y1 + vy, x4 = x2 + vx, y4 = y2 + vy;
+                        if (!board.isInside(x3, y3) || !board.isInside(x4, y4)) continue;
+                        if (board.getCell(x1, y1) == color && board.getCell(x2, y2) == color
+                                && board.getCell(x3, y3) == color && board.getCell(x4, y4) == color) return true;
+                    }
+        return false;
+    }
+}
@@ -1,4 +1,6 @@
 import org.example.console.CommandProcessor;
+import org.example.core.Board;
+import org.example.core.GameListener;
 import org.example.core.Player;
 import org.example.core.SquaresBoard;
 import org.example.core.SquaresGame;
@@ -9,6 +11,10 @@ import org.junit.jupiter.api.AfterEach;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.random.RandomGenerator;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -175,7 +181,7 @@ Winning square coordinates: (0,0) (0,1) (1,0) (1,1)
         String output = normalizeOutput(outContent.toString());
         assertTrue(output.startsWith("New game started\nW ("));
         boolean hasW = false;
-        SquaresBoard board = game.getBoard();
+        Board board = game.getBoard();
         for (int i = 0; i < 3; i++) {
             for (int j = 0; j < 3; j++) {
                 if (board.getCell(i, j) == 'W') {
@@ -236,6 +242,55 @@ Winning square coordinates: (0,0) (0,1) (1,0) (1,1)
         assertEquals('W', board.getCell(0, 0));
     }
 
+    // Проверяет ход без вывода в консоль и завершение партии
+    @Test
+    void testApplyMoveFinishesGame() {
+        game.loadBoard(3, "WW.W.....", 'W');
+        game.applyMove(1, 1);
+
+        assertEquals("", outContent.toString());
+        assertFalse(game.isGameStarted());
+        assertEquals("W", game.getGameStatus());
+        assertNotNull(game.getWinningSquare());
+        assertThrows(IllegalStateException.class, () -> game.applyMove(2, 2));
+    }
+
+    // Проверяет, что эвристика на доске без индекса квадратов укладывается в бюджет и отдаёт свободную клетку
+    @Test
+    void testHeuristicStopsAtDeadline() {
+        int size = 150;
+        game.loadBoard(size, "W" + ".".repeat(size * size - 1), 'B');
+        game.setTimeBudgetMs(50);
+
+        long start = System.nanoTime();
+        int[] move = game.findNextMove();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertNotNull(move);
+        assertEquals('.', game.getBoard().getCell(move[0], move[1]));
+        assertTrue(elapsedMs < 2000, "Search took " + elapsedMs + " ms");
+    }
+
+    // Проверяет, что партии компьютера с одним зерном совпадают ход в ход, в том числе с генератором java.util.Random
+    @Test
+    void testSeededGamesAreReproducible() {
+        assertEquals(selfPlay(new SquaresGame(7)), selfPlay(new SquaresGame(7)));
+        assertEquals(selfPlay(new SquaresGame(new Random(7))), selfPlay(new SquaresGame(new Random(7))));
+        assertThrows(IllegalArgumentException.class, () -> new SquaresGame((RandomGenerator) null));
+    }
+
+    private static List<String> selfPlay(SquaresGame game) {
+        List<String> moves = new ArrayList<>();
+        game.addListener(new GameListener() {
+            @Override
+            public void movePlaced(SquaresGame g, char color, int x, int y) {
+                moves.add(color + " " + x + "," + y);
+            }
+        });
+        game.startNewGame(8, new Player("comp", 'W'), new Player("comp", 'B'));
+        return moves;
+    }
+
     @AfterEach
     void tearDown() {
         System.setOut(originalOut);
@@ -0,0 +1,47 @@
+import org.example.console.Tournament;
+import org.example.core.OpeningBook;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TournamentTest {
+
+    // Проверяет, что при одном зерне итоги партий совпадают независимо от числа потоков
+    @Test
+    void testSameSeedGivesSameResults() throws Exception {
+        List<int[]> sequential = tournament(1, 7).run().getOutcomes();
+        List<int[]> parallel = tournament(3, 7).run().getOutcomes();
+
+        assertEquals(sequential.size(), parallel.size());
+        for (int i = 0; i < sequential.size(); i++) assertArrayEquals(sequential.get(i), parallel.get(i));
+    }
+
+    // Проверяет, что каждая пара движков играет заданное число партий на каждом размере
+    @Test
+    void testReportCountsGames() throws Exception {
+        Tournament.Report report = tournament(2, 1).run();
+
+        assertEquals(2 * 3 * 6, report.getGames());
+        assertTrue(report.getMoves() >= report.getGames() * 7L);
+        String json = report.toJson();
+        assertTrue(json.contains("\"gamesPerSec\""));
+        assertTrue(json.contains("\"first\": \"alphabeta:2\", \"second\": \"mcts:300\""));
+    }
+
+    // Проверяет, что неизвестный движок и ограничение эвристики отклоняются
+    @Test
+    void testRejectsInvalidEngine() {
+        assertThrows(IllegalArgumentException.class, () -> Tournament.EngineSpec.parse("random"));
+        assertThrows(IllegalArgumentException.class, () -> Tournament.EngineSpec.parse("heuristic:3"));
+        assertThrows(IllegalArgumentException.class, () -> Tournament.EngineSpec.parse("mcts:-1"));
+    }
+
+    private static Tournament tournament(int threads, long seed) {
+        List<Tournament.EngineSpec> engines = List.of(Tournament.EngineSpec.parse("heuristic"),
+                Tournament.EngineSpec.parse("alphabeta:2"), Tournament.EngineSpec.parse("mcts:300"));
+        return new Tournament(engines, new int[]{4, 6}, 6, threads, seed, 100, OpeningBook.EMPTY);
+    }
+}
@@ -0,0 +1,191 @@
+import org.example.core.Board;
+import org.example.core.SquaresGame;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Доски больше 70x70: индекс квадратов на них не строится, победу ищет сканирование битовых масок
+public class WinDetectionTest {
+
+    // Проверяет, что статус больших досок совпадает с прежним перебором пар клеток
+    @Test
+    void testStatusMatchesPairwiseSearch() {
+        Random random = new Random(23);
+        for (int size : new int[]{25, 64, 71, 100, 150, 200}) {
+            for (double fill : new double[]{0.02, 0.1, 0.5, 0.95}) {
+                Board board = randomBoard(size, fill, random);
+                SquaresGame game = new SquaresGame(1);
+                game.loadBoard(board, 'W');
+                assertEquals(pairwiseStatus(board), game.getGameStatus(), "size " + size + ", fill " + fill);
+            }
+        }
+        for (int size : new int[]{40, 80}) {
+            Board board = squareFreeBoard(size, random);
+            SquaresGame game = new SquaresGame(1);
+            game.loadBoard(board, 'W');
+            assertEquals("ACTIVE", pairwiseStatus(board));
+            assertEquals("ACTIVE", game.getGameStatus(), "size " + size);
+        }
+    }
+
+    // Проверяет, что ход находит квадрат через последнюю клетку и сохраняет его вершины
+    @Test
+    void testMoveDetectsSquareThroughLastCell() {
+        Random random = new Random(29);
+        int size = 80;
+        Board board = squareFreeBoard(size, random);
+        int wins = 0;
+        for (int round = 0; round < 300; round++) {
+            int x = random.nextInt(size), y = random.nextInt(size);
+            if (board.getCellUnchecked(x, y) != '.') continue;
+            char color = random.nextBoolean() ? 'W' : 'B';
+            Board copy = copyBoard(board);
+            SquaresGame game = new SquaresGame(1);
+            game.loadBoard(copy, color);
+            game.applyMove(x, y);
+
+            // До хода квадратов не было: победа возможна только квадратом через (x, y)
+            boolean expected = hasSquareThrough(copy, x, y, color);
+            assertEquals(expected, !game.isGameStarted());
+            if (!expected) continue;
+            wins++;
+            assertEquals(String.valueOf(color), game.getGameStatus());
+            int[][] square = game.getWinningSquare();
+            assertTrue(isSquare(copy, square, color));
+            assertTrue(containsCell(square, x, y));
+        }
+        assertTrue(wins > 0);
+    }
+
+    // Проверяет, что почти заполненная доска 200x200 проверяется минимум в 10 раз быстрее перебора пар
+    @Test
+    void testNearFullBoardIsTenTimesFaster() {
+        Board board = randomBoard(200, 0.95, new Random(31));
+        SquaresGame game = new SquaresGame(1);
+        game.loadBoard(board, 'W');
+        String expected = pairwiseStatus(board);
+
+        long pairwise = Long.MAX_VALUE, scan = Long.MAX_VALUE;
+        for (int round = 0; round < 20; round++) {
+            long start = System.nanoTime();
+            assertEquals(expected, pairwiseStatus(board));
+            pairwise = Math.min(pairwise, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            assertEquals(expected, game.getGameStatus());
+            scan = Math.min(scan, System.nanoTime() - start);
+        }
+        assertTrue(pairwise >= 10 * scan, "pairwise " + pairwise + " ns, scan " + scan + " ns");
+    }
+
+    private static Board randomBoard(int size, double fill, Random random) {
+        Board board = Board.create(size);
+        for (int x = 0; x < size; x++)
+            for (int y = 0; y < size; y++)
+                if (random.nextDouble() < fill) board.setCellUnchecked(x, y, random.nextBoolean() ? 'W' : 'B');
+        return board;
+    }
+
+    // Клетки в случайном порядке получают цвет, если он не замыкает квадрат; иначе другой цвет или пусто
+    private static Board squareFreeBoard(int size, Random random) {
+        Board board = Board.create(size);
+        List<Integer> cells = new ArrayList<>();
+        for (int cell = 0; cell < size * size; cell++) cells.add(cell);
+        Collections.shuffle(cells, random);
+        for (int cell : cells) {
+            int x = cell / size, y = cell % size;
+            char first = random.nextBoolean() ? 'W' : 'B';
+            for (char color : new char[]{first, first == 'W' ? 'B' : 'W'}) {
+                board.setCellUnchecked(x, y, color);
+                if (!hasSquareThrough(board, x, y, color)) break;
+                board.setCellUnchecked(x, y, '.');
+            }
+        }
+        return board;
+    }
+
+    private static Board copyBoard(Board board) {
+        int size = board.getSize();
+        Board copy = Board.create(size);
+        for (int x = 0; x < size; x++)
+            for (int y = 0; y < size; y++)
+                copy.setCellUnchecked(x, y, board.getCellUnchecked(x, y));
+        return copy;
+    }
+
+    // Прежняя проверка победы: все пары клеток цвета как сторона квадрата
+    private static String pairwiseStatus(Board board) {
+        if (hasSquare(board, 'W')) return "W";
+        if (hasSquare(board, 'B')) return "B";
+        return board.isFull() ? "DRAW" : "ACTIVE";
+    }
+
+    private static boolean hasSquare(Board board, char color) {
+        int size = board.getSize();
+        int[] cells = new int[size * size];
+        int count = 0;
+        for (int x = 0; x < size; x++)
+            for (int y = 0; y < size; y++)
+                if (board.getCellUnchecked(x, y) == color) cells[count++] = x * size + y;
+
+        for (int i = 0; i < count; i++) {
+            for (int j = i + 1; j < count; j++) {
+                int x1 = cells[i] / size, y1 = cells[i] % size;
+                int x2 = cells[j] / size, y2 = cells[j] % size;
+                if (closesSquare(board, x1, y1, x2, y2, color)) return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasSquareThrough(Board board, int x1, int y1, char color) {
+        int size = board.getSize();
+        for (int x2 = 0; x2 < size; x2++)
+            for (int y2 = 0; y2 < size; y2++)
+                if ((x2 != x1 || y2 != y1) && board.getCellUnchecked(x2, y2) == color
+                        && closesSquare(board, x1, y1, x2, y2, color)) return true;
+        return false;
+    }
+
+    private static boolean closesSquare(Board board, int x1, int y1, int x2, int y2, char color) {
+        int dx = x2 - x1, dy = y2 - y1;
+        for (int sign = 1; sign >= -1; sign -= 2) {
+            int x3 = x1 - dy * sign, y3 = y1 + dx * sign;
+            int x4 = x2 - dy * sign, y4 = y2 + dx * sign;
+            if (board.isInside(x3, y3) && board.isInside(x4, y4)
+                    && board.getCellUnchecked(x3, y3) == color && board.getCellUnchecked(x4, y4) == color) return true;
+        }
+        return false;
+    }
+
+    private static boolean isSquare(Board board, int[][] square, char color) {
+        if (square == null || square.length != 4) return false;
+        for (int[] corner : square) {
+            if (!board.isInside(corner[0], corner[1]) || board.getCellUnchecked(corner[0], corner[1]) != color) return false;
+        }
+        // Шесть попарных расстояний квадрата: четыре стороны d и две диагонали 2d
+        long[] distances = new long[6];
+        int k = 0;
+        for (int i = 0; i < 4; i++) {
+            for (int j = i + 1; j < 4; j++) {
+                long dx = square[i][0] - square[j][0], dy = square[i][1] - square[j][1];
+                distances[k++] = dx * dx + dy * dy;
+            }
+        }
+        Arrays.sort(distances);
+        return distances[0] > 0 && distances[0] == distances[3]
+                && distances[4] == 2 * distances[0] && distances[5] == 2 * distances[0];
+    }
+
+    private static boolean containsCell(int[][] square, int x, int y) {
+        for (int[] corner : square) if (corner[0] == x && corner[1] == y) return true;
+        return false;
+    }
+}